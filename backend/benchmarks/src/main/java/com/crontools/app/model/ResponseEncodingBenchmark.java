@@ -0,0 +1,140 @@
+package com.crontools.app.model;
+
+import com.crontools.app.service.TimeFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * next-times 与 parse 响应在 JSON 与 CBOR 紧凑形式下的序列化、反序列化开销。
+ * JSON_TEXT 是接口默认的响应（格式化的时间字符串），JSON_EPOCH_MILLIS 对应 format=EPOCH_MILLIS，
+ * CBOR 为 Accept: application/cbor 时的差分编码 epoch 秒；每种编码的字节数在 setUp 中打印。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper CBOR = new CBORMapper();
+
+    public enum NextTimesEncoding { JSON_TEXT, JSON_EPOCH_MILLIS, CBOR }
+
+    public enum ParseEncoding { JSON, CBOR }
+
+    @State(Scope.Benchmark)
+    public static class NextTimesPayload {
+
+        @Param({"JSON_TEXT", "JSON_EPOCH_MILLIS", "CBOR"})
+        public NextTimesEncoding encoding;
+
+        @Param({"5", "20"})
+        public int count;
+
+        private ObjectMapper mapper;
+        private Object response;
+        private Class<?> responseType;
+        private byte[] bytes;
+
+        @Setup
+        public void setUp() throws IOException {
+            // 工作日 09:30，差值在 1 天与 3 天之间交替，接近真实的调度
+            long[] epochSeconds = new long[count];
+            ZonedDateTime time = ZonedDateTime.of(2024, 1, 1, 9, 30, 0, 0, ZONE);
+            for (int i = 0; i < count; i++) {
+                epochSeconds[i] = time.toEpochSecond();
+                time = time.plusDays(time.getDayOfWeek().getValue() == 5 ? 3 : 1);
+            }
+            switch (encoding) {
+                case JSON_TEXT -> {
+                    mapper = JSON;
+                    response = new NextTimesResponse(TimeFormat.TEXT.format(epochSeconds, ZONE), true, "");
+                    responseType = NextTimesResponse.class;
+                }
+                case JSON_EPOCH_MILLIS -> {
+                    mapper = JSON;
+                    response = new NextTimesResponse(null, TimeFormat.toEpochMillis(epochSeconds), true, "");
+                    responseType = NextTimesResponse.class;
+                }
+                case CBOR -> {
+                    mapper = CBOR;
+                    response = CompactNextTimes.of(ZONE.getId(), epochSeconds);
+                    responseType = CompactNextTimes.class;
+                }
+            }
+            bytes = mapper.writeValueAsBytes(response);
+            System.out.println("payload " + encoding + " count=" + count + ": " + bytes.length + " bytes");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ParsePayload {
+
+        @Param({"JSON", "CBOR"})
+        public ParseEncoding encoding;
+
+        private ObjectMapper mapper;
+        private Object response;
+        private Class<?> responseType;
+        private byte[] bytes;
+
+        @Setup
+        public void setUp() throws IOException {
+            String humanReadable = "周一至周五 09:30 执行";
+            String canonical = "0 30 9 ? * MON-FRI";
+            long fingerprint = 0x1f2e3d4c5b6a7988L;
+            if (encoding == ParseEncoding.JSON) {
+                CronParseResponse json = new CronParseResponse(canonical, "QUARTZ", ZONE.getId(), humanReadable, true, "");
+                json.setCanonical(canonical);
+                json.setFingerprint(Long.toHexString(fingerprint));
+                mapper = JSON;
+                response = json;
+                responseType = CronParseResponse.class;
+            } else {
+                mapper = CBOR;
+                response = new CompactParseResult(true, "", humanReadable, canonical, fingerprint);
+                responseType = CompactParseResult.class;
+            }
+            bytes = mapper.writeValueAsBytes(response);
+            System.out.println("payload parse " + encoding + ": " + bytes.length + " bytes");
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeNextTimes(NextTimesPayload payload) throws IOException {
+        return payload.mapper.writeValueAsBytes(payload.response);
+    }
+
+    @Benchmark
+    public Object deserializeNextTimes(NextTimesPayload payload) throws IOException {
+        return payload.mapper.readValue(payload.bytes, payload.responseType);
+    }
+
+    @Benchmark
+    public byte[] serializeParse(ParsePayload payload) throws IOException {
+        return payload.mapper.writeValueAsBytes(payload.response);
+    }
+
+    @Benchmark
+    public Object deserializeParse(ParsePayload payload) throws IOException {
+        return payload.mapper.readValue(payload.bytes, payload.responseType);
+    }
+}
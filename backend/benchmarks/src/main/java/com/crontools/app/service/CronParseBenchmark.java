@@ -0,0 +1,63 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.Cron;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * parseCronToHuman（命中编译缓存）与 CronDescriber 直接生成描述的吞吐量。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class CronParseBenchmark {
+
+    // 常见表达式 + 匹配稀少的病态表达式（闰年 2 月 29 日、2 月第五个周一、远期年份）
+    @Param({
+            "0 0 4 * * ?",
+            "0 30 9 ? * MON-FRI",
+            "0 */5 * * * ?",
+            "* * * * * ?",
+            "0 15 10 ? * 6L",
+            "0 0 12 LW * ?",
+            "0 0 0 L 2 ?",
+            "0 0 0 29 2 ?",
+            "0 0 0 ? 2 2#5",
+            "0 0 0 1 1 ? 2098-2099"
+    })
+    public String expression;
+
+    private CronService cronService;
+    private Cron cron;
+
+    @Setup
+    public void setUp() {
+        cronService = new CronService();
+        cronService.parseCronToHuman(expression);
+        cron = cronService.compile(expression).getCron();
+    }
+
+    @Benchmark
+    public String parseCronToHuman() {
+        return cronService.parseCronToHuman(expression);
+    }
+
+    @Benchmark
+    public String describe() {
+        return CronDescriber.describe(cron, expression, DescriptionLanguage.ZH);
+    }
+}
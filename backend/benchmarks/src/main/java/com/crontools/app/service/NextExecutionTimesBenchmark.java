@@ -0,0 +1,64 @@
+package com.crontools.app.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getNextExecutionTimes 在不同条数与计算引擎下的吞吐量。
+ * 使用有夏令时的时区，覆盖偏移切换的开销。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class NextExecutionTimesBenchmark {
+
+    private static final String TIMEZONE = "America/New_York";
+
+    @Param({
+            "0 0 4 * * ?",
+            "0 30 9 ? * MON-FRI",
+            "0 */5 * * * ?",
+            "* * * * * ?",
+            "0 15 10 ? * 6L",
+            "0 0 12 LW * ?",
+            "0 0 0 L 2 ?",
+            "0 0 0 29 2 ?",
+            "0 0 0 ? 2 2#5",
+            "0 0 0 1 1 ? 2098-2099"
+    })
+    public String expression;
+
+    @Param({"1", "5", "20"})
+    public int count;
+
+    @Param({"CRON_UTILS", "BITSET"})
+    public String engine;
+
+    private CronService cronService;
+
+    @Setup
+    public void setUp() {
+        cronService = new CronService();
+        cronService.getNextExecutionTimes(expression, TIMEZONE, count, engine);
+    }
+
+    @Benchmark
+    public List<String> getNextExecutionTimes() {
+        return cronService.getNextExecutionTimes(expression, TIMEZONE, count, engine);
+    }
+}
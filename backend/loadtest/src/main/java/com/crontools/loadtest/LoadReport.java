@@ -0,0 +1,91 @@
+package com.crontools.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 一轮压测的结果，同时也是基线文件的格式（JSON）。延迟单位为毫秒，吞吐量为每秒成功请求数。
+ */
+record LoadReport(String target, int rps, int durationSeconds, int warmupSeconds, long sent,
+                  double maxSchedulerLagMs, EndpointReport overall, List<EndpointReport> endpoints) {
+
+    record EndpointReport(String name, long requests, long errors, double errorRate, double throughput,
+                          double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs,
+                          Map<String, Long> errorKinds) {}
+
+    static LoadReport from(String target, int rps, int durationSeconds, int warmupSeconds, OpenLoopDriver.Stats stats) {
+        double seconds = stats.elapsedNanos() / 1e9;
+        Histogram all = null;
+        long successes = 0;
+        Map<String, Long> allErrors = new LinkedHashMap<>();
+        List<EndpointReport> endpoints = new ArrayList<>();
+        for (Map.Entry<String, OpenLoopDriver.Endpoint> entry : stats.endpoints().entrySet()) {
+            OpenLoopDriver.Endpoint endpoint = entry.getValue();
+            Histogram histogram = endpoint.latencyMicros().copy();
+            all = all == null ? histogram.copy() : add(all, histogram);
+            successes += endpoint.successes();
+            endpoint.errors().forEach((kind, count) -> allErrors.merge(kind, count, Long::sum));
+            endpoints.add(endpoint(entry.getKey(), histogram, endpoint.successes(), endpoint.errors(), seconds));
+        }
+        EndpointReport overall = endpoint("overall", all, successes, allErrors, seconds);
+        return new LoadReport(target, rps, durationSeconds, warmupSeconds, stats.sent(),
+                round(stats.maxSchedulerLagNanos() / 1e6), overall, endpoints);
+    }
+
+    private static Histogram add(Histogram total, Histogram histogram) {
+        total.add(histogram);
+        return total;
+    }
+
+    private static EndpointReport endpoint(String name, Histogram latencyMicros, long successes,
+                                           Map<String, Long> errorKinds, double seconds) {
+        long errors = errorKinds.values().stream().mapToLong(Long::longValue).sum();
+        long requests = successes + errors;
+        return new EndpointReport(name, requests, errors,
+                requests > 0 ? round6((double) errors / requests) : 0,
+                round(successes / seconds),
+                millis(latencyMicros, 50), millis(latencyMicros, 90), millis(latencyMicros, 99), millis(latencyMicros, 99.9),
+                round(latencyMicros.getMaxValue() / 1000.0),
+                errorKinds);
+    }
+
+    private static double millis(Histogram latencyMicros, double percentile) {
+        return latencyMicros.getTotalCount() == 0 ? 0 : round(latencyMicros.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static double round6(double value) {
+        return Math.round(value * 1_000_000) / 1_000_000.0;
+    }
+
+    /** 供终端阅读的表格 */
+    String render() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "目标 %s，%d RPS × %d s（预热 %d s），共发送 %d 个请求，发压线程最大落后 %.1f ms%n",
+                target, rps, durationSeconds, warmupSeconds, sent, maxSchedulerLagMs));
+        sb.append(String.format(Locale.ROOT, "%-20s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "name", "requests", "ok/s", "err%", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+        for (EndpointReport endpoint : endpoints) {
+            appendRow(sb, endpoint);
+        }
+        appendRow(sb, overall);
+        if (!overall.errorKinds().isEmpty()) {
+            sb.append("错误分类: ").append(overall.errorKinds()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, EndpointReport endpoint) {
+        sb.append(String.format(Locale.ROOT, "%-20s %9d %9.1f %8.3f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint.name(), endpoint.requests(), endpoint.throughput(), endpoint.errorRate() * 100,
+                endpoint.p50Ms(), endpoint.p90Ms(), endpoint.p99Ms(), endpoint.p999Ms(), endpoint.maxMs()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.crontools.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 针对完整 HTTP 链路（Tomcat、Spring MVC、序列化，经 nginx 时还包括代理缓存）的压测与回归门禁。
+ *
+ * <p>等待目标健康检查通过后先预热，再以固定速率发压并统计吞吐量、延迟分位数与错误率，
+ * 结果写入 JSON 报告并与基线比较，超出容差时以退出码 1 结束，可直接用于 CI。</p>
+ *
+ * <pre>
+ * java -jar target/loadtest.jar --target=http://localhost:8080 --rps=100 --duration=60
+ * java -jar target/loadtest.jar --update-baseline   # 以本次结果覆盖基线
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("target", "http://localhost:8080"),
+            Map.entry("rps", "100"),
+            Map.entry("duration", "60"),
+            Map.entry("warmup", "30"),
+            Map.entry("timeout", "5"),
+            Map.entry("max-in-flight", "2000"),
+            Map.entry("wait", "120"),
+            Map.entry("seed", "20240101"),
+            Map.entry("baseline", "baseline/loadtest-baseline.json"),
+            Map.entry("report", "target/loadtest-report.json"),
+            Map.entry("latency-tolerance", "0.25"),
+            Map.entry("latency-slack-ms", "1"),
+            Map.entry("throughput-tolerance", "0.05"),
+            Map.entry("error-tolerance", "0.001"));
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("help")) {
+            System.out.println("参数（--名称=值）及默认值: " + DEFAULTS
+                    + "，另有 --mix=文件 指定请求组合，--update-baseline 以本次结果覆盖基线");
+            return;
+        }
+        System.exit(run(options));
+    }
+
+    static int run(Map<String, String> options) throws Exception {
+        URI target = URI.create(options.get("target"));
+        int rps = Integer.parseInt(options.get("rps"));
+        int duration = Integer.parseInt(options.get("duration"));
+        int warmup = Integer.parseInt(options.get("warmup"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.get("timeout")));
+        if (rps <= 0 || duration <= 0 || warmup < 0) {
+            throw new IllegalArgumentException("rps 与 duration 必须为正数，warmup 不能为负数");
+        }
+
+        RequestMix mix = RequestMix.load(options.get("mix"));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        awaitHealthy(client, target, Duration.ofSeconds(Long.parseLong(options.get("wait"))));
+
+        OpenLoopDriver driver = new OpenLoopDriver(client, target, timeout, Integer.parseInt(options.get("max-in-flight")));
+        SplittableRandom random = new SplittableRandom(Long.parseLong(options.get("seed")));
+        if (warmup > 0) {
+            System.out.printf("预热 %d s ...%n", warmup);
+            driver.run(mix, rps, Duration.ofSeconds(warmup), random);
+        }
+        System.out.printf("压测 %d RPS × %d s ...%n", rps, duration);
+        OpenLoopDriver.Stats stats = driver.run(mix, rps, Duration.ofSeconds(duration), random);
+        LoadReport report = LoadReport.from(target.toString(), rps, duration, warmup, stats);
+        System.out.print(report.render());
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        write(mapper, Path.of(options.get("report")), report);
+
+        Path baselinePath = Path.of(options.get("baseline"));
+        if (options.containsKey("update-baseline")) {
+            write(mapper, baselinePath, report);
+            System.out.println("已更新基线: " + baselinePath);
+            return 0;
+        }
+        if (!Files.exists(baselinePath)) {
+            System.out.println("未找到基线 " + baselinePath + "，跳过回归检查");
+            return 0;
+        }
+        LoadReport baseline = mapper.readValue(baselinePath.toFile(), LoadReport.class);
+        if (baseline.rps() != rps || !baseline.target().equals(report.target())) {
+            System.out.printf("注意: 基线在 %s 以 %d RPS 测得，本次为 %s 以 %d RPS，比较结果仅供参考%n",
+                    baseline.target(), baseline.rps(), report.target(), rps);
+        }
+        RegressionGate gate = new RegressionGate(
+                Double.parseDouble(options.get("latency-tolerance")),
+                Double.parseDouble(options.get("latency-slack-ms")),
+                Double.parseDouble(options.get("throughput-tolerance")),
+                Double.parseDouble(options.get("error-tolerance")));
+        List<String> violations = gate.check(baseline, report);
+        if (violations.isEmpty()) {
+            System.out.println("与基线 " + baselinePath + " 相比没有回归");
+            return 0;
+        }
+        System.out.println("相对基线 " + baselinePath + " 出现回归:");
+        violations.forEach(violation -> System.out.println("  - " + violation));
+        return 1;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("参数应为 --名称=值 的形式: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    // 后端刚启动时连接会被拒绝，轮询健康检查直到返回 200
+    private static void awaitHealthy(HttpClient client, URI target, Duration wait) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(target.resolve("/api/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + wait.toNanos();
+        while (true) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // 尚未监听端口，继续等待
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IOException("等待 " + wait.toSeconds() + " s 后 " + target + " 仍未就绪");
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    private static void write(ObjectMapper mapper, Path path, LoadReport report) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        mapper.writeValue(path.toFile(), report);
+    }
+}
@@ -0,0 +1,198 @@
+package com.crontools.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开环压测：按固定速率在预定时刻发出请求，不等待前一个请求返回。
+ *
+ * <p>延迟从请求的预定发送时刻算起而不是实际发送时刻，服务端变慢导致的排队（以及发压线程自身的落后）
+ * 都计入延迟，避免闭环压测的协同遗漏（coordinated omission）低估尾延迟。在途请求达到上限时不再发送，
+ * 直接记为错误，防止服务端停顿时客户端无限堆积连接。</p>
+ */
+final class OpenLoopDriver {
+
+    // 延迟直方图的上限（微秒），超过的值按上限记录
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final URI target;
+    private final Duration timeout;
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoopDriver(HttpClient client, URI target, Duration timeout, int maxInFlight) {
+        this.client = client;
+        this.target = target;
+        this.timeout = timeout;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * 以 rps 的速率发送 duration 时长的请求，等待在途请求结束（最多一个超时时间）后返回统计结果。
+     */
+    Stats run(RequestMix mix, int rps, Duration duration, SplittableRandom random) throws InterruptedException {
+        Stats stats = new Stats(mix.names());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        while (true) {
+            // 用乘法而不是累加周期，速率不受整数舍入影响
+            long intended = start + sent * 1_000_000_000L / rps;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                stats.recordSchedulerLag(-wait);
+            }
+            send(mix.next(random), intended, stats);
+            sent++;
+        }
+        long drainDeadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        stats.finish(System.nanoTime() - start, sent);
+        return stats;
+    }
+
+    private void send(RequestMix.Request request, long intended, Stats stats) {
+        Endpoint endpoint = stats.endpoint(request.name());
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            endpoint.error("client-saturated", System.nanoTime() - intended);
+            return;
+        }
+        HttpRequest httpRequest;
+        try {
+            httpRequest = HttpRequest.newBuilder(target.resolve(request.pathAndQuery()))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException e) {
+            inFlight.decrementAndGet();
+            endpoint.error("bad-request-uri", 0);
+            return;
+        }
+        client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - intended;
+                    inFlight.decrementAndGet();
+                    if (failure != null) {
+                        endpoint.error(errorKind(failure), latency);
+                    } else if (response.statusCode() != request.expectedStatus()) {
+                        endpoint.error("status-" + response.statusCode(), latency);
+                    } else {
+                        endpoint.success(latency);
+                    }
+                });
+    }
+
+    private static String errorKind(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+
+    /** 一轮压测的统计：每个统计项一个延迟直方图与错误计数 */
+    static final class Stats {
+
+        private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        // 只由发压线程写入
+        private long maxSchedulerLagNanos;
+        private long elapsedNanos;
+        private long sent;
+
+        private Stats(List<String> names) {
+            for (String name : names) {
+                endpoints.put(name, new Endpoint());
+            }
+        }
+
+        private Endpoint endpoint(String name) {
+            return endpoints.get(name);
+        }
+
+        private void recordSchedulerLag(long nanos) {
+            maxSchedulerLagNanos = Math.max(maxSchedulerLagNanos, nanos);
+        }
+
+        private void finish(long elapsedNanos, long sent) {
+            this.elapsedNanos = elapsedNanos;
+            this.sent = sent;
+        }
+
+        Map<String, Endpoint> endpoints() {
+            return endpoints;
+        }
+
+        long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        long sent() {
+            return sent;
+        }
+
+        /** 发压线程晚于预定时刻的最大值；持续偏大说明客户端本身成了瓶颈 */
+        long maxSchedulerLagNanos() {
+            return maxSchedulerLagNanos;
+        }
+    }
+
+    /** 单个统计项：成功请求与失败请求都记录延迟，失败按原因分类计数 */
+    static final class Endpoint {
+
+        private final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder successes = new LongAdder();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        private void success(long latencyNanos) {
+            successes.increment();
+            record(latencyNanos);
+        }
+
+        private void error(String kind, long latencyNanos) {
+            errors.computeIfAbsent(kind, k -> new LongAdder()).increment();
+            record(latencyNanos);
+        }
+
+        private void record(long latencyNanos) {
+            latencyMicros.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(0, latencyNanos / 1000)));
+        }
+
+        Histogram latencyMicros() {
+            return latencyMicros;
+        }
+
+        long successes() {
+            return successes.sum();
+        }
+
+        Map<String, Long> errors() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            errors.forEach((kind, count) -> counts.put(kind, count.sum()));
+            return counts;
+        }
+    }
+}
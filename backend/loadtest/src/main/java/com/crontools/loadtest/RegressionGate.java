@@ -0,0 +1,71 @@
+package com.crontools.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 与基线比较，返回所有超出容差的项；为空表示没有回归。
+ *
+ * <p>逐个统计项（以及汇总）比较 p50、p99 与错误率，汇总另外比较吞吐量。p99.9 与最大值受单次停顿影响太大，
+ * 只报告不判定。延迟允许按比例放宽后再加一个绝对余量，避免亚毫秒级的抖动触发失败。
+ * 样本太少的统计项 p99 近似于最大值，不单独判定，只计入汇总。</p>
+ */
+final class RegressionGate {
+
+    static final long MIN_SAMPLES = 1000;
+
+    private final double latencyTolerance;
+    private final double latencySlackMs;
+    private final double throughputTolerance;
+    private final double errorRateTolerance;
+
+    RegressionGate(double latencyTolerance, double latencySlackMs, double throughputTolerance, double errorRateTolerance) {
+        this.latencyTolerance = latencyTolerance;
+        this.latencySlackMs = latencySlackMs;
+        this.throughputTolerance = throughputTolerance;
+        this.errorRateTolerance = errorRateTolerance;
+    }
+
+    List<String> check(LoadReport baseline, LoadReport current) {
+        List<String> violations = new ArrayList<>();
+        checkEndpoint(baseline.overall(), current.overall(), violations);
+        double minThroughput = baseline.overall().throughput() * (1 - throughputTolerance);
+        if (current.overall().throughput() < minThroughput) {
+            violations.add(String.format(Locale.ROOT, "overall 吞吐量 %.1f/s 低于基线 %.1f/s 的下限 %.1f/s",
+                    current.overall().throughput(), baseline.overall().throughput(), minThroughput));
+        }
+
+        Map<String, LoadReport.EndpointReport> currentByName = new HashMap<>();
+        for (LoadReport.EndpointReport endpoint : current.endpoints()) {
+            currentByName.put(endpoint.name(), endpoint);
+        }
+        for (LoadReport.EndpointReport expected : baseline.endpoints()) {
+            LoadReport.EndpointReport actual = currentByName.get(expected.name());
+            if (actual != null && expected.requests() >= MIN_SAMPLES && actual.requests() >= MIN_SAMPLES) {
+                checkEndpoint(expected, actual, violations);
+            }
+        }
+        return violations;
+    }
+
+    private void checkEndpoint(LoadReport.EndpointReport expected, LoadReport.EndpointReport actual, List<String> violations) {
+        checkLatency(actual.name(), "p50", expected.p50Ms(), actual.p50Ms(), violations);
+        checkLatency(actual.name(), "p99", expected.p99Ms(), actual.p99Ms(), violations);
+        double maxErrorRate = expected.errorRate() + errorRateTolerance;
+        if (actual.errorRate() > maxErrorRate) {
+            violations.add(String.format(Locale.ROOT, "%s 错误率 %.3f%% 超过基线 %.3f%% 的上限 %.3f%%，错误分类 %s",
+                    actual.name(), actual.errorRate() * 100, expected.errorRate() * 100, maxErrorRate * 100, actual.errorKinds()));
+        }
+    }
+
+    private void checkLatency(String name, String percentile, double expectedMs, double actualMs, List<String> violations) {
+        double limit = expectedMs * (1 + latencyTolerance) + latencySlackMs;
+        if (actualMs > limit) {
+            violations.add(String.format(Locale.ROOT, "%s %s %.2f ms 超过基线 %.2f ms 的上限 %.2f ms",
+                    name, percentile, actualMs, expectedMs, limit));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.crontools.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 按权重抽取请求的组合。每行格式为 {@code 名称 | 权重 | 期望状态码 | 路径?查询参数}，
+ * 查询参数写成未编码的形式，加载时逐个编码；占位符在每次抽取时替换为随机值。
+ */
+final class RequestMix {
+
+    private static final long FROM_START = Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+
+    private final List<Entry> entries;
+    private final long[] cumulativeWeights;
+    private final long totalWeight;
+
+    private RequestMix(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("请求组合为空");
+        }
+        this.entries = entries;
+        this.cumulativeWeights = new long[entries.size()];
+        long total = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            total += entries.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * file 为空时读取 jar 内的默认组合 mix.txt。
+     */
+    static RequestMix load(String file) throws IOException {
+        if (file == null) {
+            try (InputStream in = RequestMix.class.getResourceAsStream("/mix.txt")) {
+                return parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            }
+        }
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    static RequestMix parse(BufferedReader reader) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("第 " + lineNumber + " 行应为 名称 | 权重 | 状态码 | 请求: " + line);
+            }
+            try {
+                int weight = Integer.parseInt(parts[1].trim());
+                int status = Integer.parseInt(parts[2].trim());
+                if (weight <= 0) {
+                    throw new IllegalArgumentException("第 " + lineNumber + " 行的权重必须为正数");
+                }
+                entries.add(new Entry(parts[0].trim(), weight, status, encode(parts[3].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("第 " + lineNumber + " 行的权重或状态码不是整数: " + line);
+            }
+        }
+        return new RequestMix(entries);
+    }
+
+    /** 按出现顺序去重后的统计项名称 */
+    List<String> names() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Entry entry : entries) {
+            names.add(entry.name());
+        }
+        return new ArrayList<>(names);
+    }
+
+    Request next(SplittableRandom random) {
+        long pick = random.nextLong(totalWeight);
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] > pick) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        Entry entry = entries.get(low);
+        return new Request(entry.name(), entry.status(), fill(entry.pathAndQuery(), random));
+    }
+
+    // 占位符只含 ASCII 字母与数字，编码后保持原样，可以在编码后的字符串上替换
+    private static String fill(String template, SplittableRandom random) {
+        if (template.indexOf('{') < 0) {
+            return template;
+        }
+        return template
+                .replace("{minute}", Integer.toString(random.nextInt(60)))
+                .replace("{hour}", Integer.toString(random.nextInt(24)))
+                .replace("{dom}", Integer.toString(1 + random.nextInt(28)))
+                .replace("{from}", URLEncoder.encode(
+                        Instant.ofEpochSecond(FROM_START + random.nextInt(366 * 24) * 3600L)
+                                .atOffset(ZoneOffset.UTC).toString(), StandardCharsets.UTF_8));
+    }
+
+    private static String encode(String pathAndQuery) {
+        int question = pathAndQuery.indexOf('?');
+        if (question < 0) {
+            return pathAndQuery;
+        }
+        StringBuilder sb = new StringBuilder(pathAndQuery.substring(0, question + 1));
+        String[] params = pathAndQuery.substring(question + 1).split("&");
+        for (int i = 0; i < params.length; i++) {
+            int equals = params[i].indexOf('=');
+            if (i > 0) {
+                sb.append('&');
+            }
+            if (equals < 0) {
+                sb.append(params[i]);
+                continue;
+            }
+            // 保留占位符的花括号，其余字符按表单编码（空格为 %20）
+            sb.append(params[i], 0, equals + 1)
+                    .append(URLEncoder.encode(params[i].substring(equals + 1), StandardCharsets.UTF_8)
+                            .replace("+", "%20").replace("%7B", "{").replace("%7D", "}"));
+        }
+        return sb.toString();
+    }
+
+    private record Entry(String name, int weight, int status, String pathAndQuery) {}
+
+    /** 一次请求：统计项名称、期望状态码与已编码的路径 */
+    record Request(String name, int expectedStatus, String pathAndQuery) {}
+}
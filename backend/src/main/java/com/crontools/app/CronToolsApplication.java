@@ -1,11 +1,18 @@
 package com.crontools.app;
 
+import com.crontools.app.cli.ValidateFileCommand;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class CronToolsApplication {
     public static void main(String[] args) {
+        // java -jar app.jar validate ...：不启动 Web 服务，校验文件后退出
+        if (args.length > 0 && ValidateFileCommand.NAME.equals(args[0])) {
+            System.exit(ValidateFileCommand.run(Arrays.copyOfRange(args, 1, args.length), System.out, System.err));
+        }
         SpringApplication.run(CronToolsApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+package com.crontools.app.cli;
+
+import com.crontools.app.service.CronService;
+import com.crontools.app.service.ExpressionFileValidator;
+import com.crontools.app.service.FileValidationSummary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 命令行校验表达式文件，不启动 Web 服务，规则与 {@code POST /api/validate-file} 相同：
+ *
+ * <pre>
+ * java -jar cron-parser-api-1.0.0.jar validate [--type=UNIX] [--lang=en] [--errors-only] [--threads=4] [--output=report.tsv] 文件|-
+ * </pre>
+ *
+ * <p>报告写到标准输出或 --output 指定的文件，汇总另写到标准错误。文件为 {@code -} 时读取标准输入。
+ * 全部有效时退出码为 0，存在无效表达式时为 1，参数或读写错误时为 2，便于在 CI 中直接使用。</p>
+ */
+public final class ValidateFileCommand {
+
+    public static final String NAME = "validate";
+
+    private static final String USAGE = "用法: validate [--type=QUARTZ|UNIX|SPRING|SPRING53|CRON4J] [--lang=zh|en] "
+            + "[--errors-only] [--threads=N] [--output=文件] 文件|-";
+
+    private ValidateFileCommand() {
+    }
+
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        String type = "QUARTZ";
+        String lang = null;
+        boolean errorsOnly = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String output = null;
+        String input = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--type=")) {
+                    type = arg.substring("--type=".length());
+                } else if (arg.startsWith("--lang=")) {
+                    lang = arg.substring("--lang=".length());
+                } else if (arg.equals("--errors-only")) {
+                    errorsOnly = true;
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(arg.substring("--threads=".length()));
+                } else if (arg.startsWith("--output=")) {
+                    output = arg.substring("--output=".length());
+                } else if (input == null && (arg.equals("-") || !arg.startsWith("--"))) {
+                    input = arg;
+                } else {
+                    throw new IllegalArgumentException("无法识别的参数: " + arg);
+                }
+            }
+            if (input == null) {
+                throw new IllegalArgumentException("缺少要校验的文件");
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("--threads 必须为正数");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "cron-validate");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExpressionFileValidator validator = new ExpressionFileValidator(new CronService(), executor);
+        Path spooled = null;
+        try {
+            validator.checkOptions(type, lang);
+            if (input.equals("-")) {
+                spooled = validator.spool(System.in, Long.MAX_VALUE);
+            }
+            Path file = spooled != null ? spooled : Path.of(input);
+            FileValidationSummary summary;
+            if (output != null) {
+                try (Writer writer = Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)) {
+                    summary = validator.validate(file, type, lang, errorsOnly, writer);
+                }
+            } else {
+                // validate 每块之后都会 flush，标准输出不关闭
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                summary = validator.validate(file, type, lang, errorsOnly, writer);
+            }
+            err.println(summary.toReportLine());
+            return summary.getInvalid() > 0 ? 1 : 0;
+        } catch (IOException | RuntimeException e) {
+            err.println("校验失败: " + e.getMessage());
+            return 2;
+        } finally {
+            executor.shutdownNow();
+            if (spooled != null) {
+                try {
+                    Files.deleteIfExists(spooled);
+                } catch (IOException ignored) {
+                    // 临时文件删除失败不影响结果
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.crontools.app.config;
+
+import com.crontools.app.service.CronService;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheMetricsConfig {
+
+    // cache.gets{result=hit|miss}、cache.evictions 等指标通过 /actuator/metrics 暴露
+    @Bean
+    public MeterBinder compiledCronCacheMetrics(CronService cronService) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, cronService.getCompiledCache(), "cron.compiled");
+    }
+
+    // 命中率即等价写法复用 ExecutionTime 与位图的比例
+    @Bean
+    public MeterBinder canonicalCronCacheMetrics(CronService cronService) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, cronService.getCanonicalCache(), "cron.canonical");
+    }
+}
@@ -0,0 +1,103 @@
+package com.crontools.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * AppCDS 训练运行：应用启动后对本机端口发出一组有代表性的请求，覆盖各 Cron 方言、描述语言、
+ * 两种计算引擎以及批量、反向查询、范围、密度、冲突接口，然后退出。
+ *
+ * <p>配合 {@code -XX:ArchiveClassesAtExit} 使用时，Tomcat、Spring MVC、Jackson 与 cron-utils
+ * 在这些请求中加载的类都会进入归档，正式启动时直接从归档映射，首批请求不再承担类加载开销。
+ * 只在 profile {@code cds-training} 下启用，见 backend/Dockerfile 的 cds 阶段。</p>
+ */
+@Component
+@Profile("cds-training")
+public class CdsTrainingRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CdsTrainingRunner.class);
+
+    private static final String[][] EXPRESSIONS = {
+            {"0 0 4 * * ?", "QUARTZ"},
+            {"0 */5 * * * ?", "QUARTZ"},
+            {"0 15 10 ? * MON-FRI", "QUARTZ"},
+            {"0 0 12 L * ?", "QUARTZ"},
+            {"0 0 0 29 2 ?", "QUARTZ"},
+            {"*/10 * * * *", "UNIX"},
+            {"0 9 * * 1-5", "CRON4J"},
+            {"0 0 9-17 * * MON-FRI", "SPRING"},
+            {"invalid", "QUARTZ"}
+    };
+
+    private final ConfigurableApplicationContext context;
+    private final Environment environment;
+
+    public CdsTrainingRunner(ConfigurableApplicationContext context, Environment environment) {
+        this.context = context;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String base = "http://localhost:" + environment.getProperty("local.server.port", "8080") + "/api";
+        HttpClient client = HttpClient.newHttpClient();
+        String today = LocalDate.now().toString();
+        int requests = 0;
+
+        for (String[] entry : EXPRESSIONS) {
+            String expr = URLEncoder.encode(entry[0], StandardCharsets.UTF_8);
+            String type = entry[1];
+            for (String lang : new String[]{"zh", "en"}) {
+                requests += get(client, base + "/parse?expr=" + expr + "&type=" + type + "&lang=" + lang);
+            }
+            for (String engine : new String[]{"CRON_UTILS", "BITSET"}) {
+                requests += get(client, base + "/next-times?expr=" + expr + "&type=" + type + "&count=20&engine=" + engine);
+                requests += get(client, base + "/previous-times?expr=" + expr + "&type=" + type + "&count=5&engine=" + engine);
+            }
+            requests += get(client, base + "/matches?expr=" + expr + "&type=" + type + "&at=" + today + "T04:00:00");
+        }
+        String daily = URLEncoder.encode("0 0 4 * * ?", StandardCharsets.UTF_8);
+        String everyFiveMinutes = URLEncoder.encode("0 */5 * * * ?", StandardCharsets.UTF_8);
+        requests += get(client, base + "/range?expr=" + everyFiveMinutes + "&from=" + today + "T00:00:00&to=" + today + "T23:59:59&limit=100");
+        requests += get(client, base + "/density?expr=" + daily + "&days=30&bucket=DAY");
+        requests += get(client, base + "/next-times?expr=" + daily + "&from=" + today + "T00:00:00&format=ISO");
+        requests += get(client, base + "/next-times/zones?expr=" + daily + "&tz=Asia/Shanghai,UTC,America/New_York&format=EPOCH_MILLIS");
+        requests += post(client, base + "/batch",
+                "[{\"expr\":\"0 0 4 * * ?\"},{\"expr\":\"*/10 * * * *\",\"type\":\"UNIX\",\"count\":3},{\"expr\":\"invalid\"}]");
+        requests += post(client, base + "/lookup",
+                "[{\"expr\":\"0 17 3 * * ?\",\"at\":\"" + today + " 03:17:00\",\"previous\":3},{\"expr\":\"invalid\",\"at\":\"" + today + " 03:17:00\"}]");
+        requests += post(client, base + "/collisions",
+                "{\"jobs\":[{\"name\":\"a\",\"expr\":\"0 0 4 * * ?\"},{\"name\":\"b\",\"expr\":\"0 0 */2 * * ?\",\"durationSeconds\":600}],\"days\":7}");
+
+        log.info("CDS 训练完成，共发送 {} 个请求，应用即将退出", requests);
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private static int get(HttpClient client, String url) throws Exception {
+        client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.discarding());
+        return 1;
+    }
+
+    private static int post(HttpClient client, String url, String json) throws Exception {
+        client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        return 1;
+    }
+}
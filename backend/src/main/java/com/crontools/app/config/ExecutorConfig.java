@@ -0,0 +1,74 @@
+package com.crontools.app.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Spring MVC 异步请求（StreamingResponseBody、SseEmitter）使用的线程池。下面两个线程池都是 Executor，
+     * Spring Boot 发现已有 Executor 时不再创建 applicationTaskExecutor，MVC 会退回到每个请求新建一个线程的
+     * SimpleAsyncTaskExecutor，因此在这里按 Spring Boot 的方式显式声明：默认是按 spring.task.execution.*
+     * 配置的线程池，启用虚拟线程（spring.threads.virtual.enabled）时改为虚拟线程。
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(
+            Environment environment,
+            ObjectProvider<ThreadPoolTaskExecutorBuilder> threadPoolBuilder,
+            ObjectProvider<SimpleAsyncTaskExecutorBuilder> simpleBuilder) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return simpleBuilder.getIfAvailable(SimpleAsyncTaskExecutorBuilder::new).build();
+        }
+        return threadPoolBuilder.getIfAvailable(ThreadPoolTaskExecutorBuilder::new).build();
+    }
+
+    /**
+     * 计算密集型任务（批量解析、执行时间计算）使用的有界线程池，线程数默认等于 CPU 核数。
+     * 队列满时由提交线程自行执行，起到背压作用。
+     */
+    @Bean(name = "cronExecutor")
+    public ThreadPoolTaskExecutor cronExecutor(
+            @Value("${app.executor.threads:0}") int threads,
+            @Value("${app.executor.queue-capacity:1000}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cron-exec-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 执行时间推送（SSE 写入）使用的线程池。每个连接至多一个排空任务，写入可能阻塞在接收过慢的客户端上，
+     * 因此与计算线程池分开，默认线程数为 CPU 核数的 2 倍且不少于 8；排队的任务数不超过连接数。
+     * 队列满时直接拒绝，由 WatchService 关闭对应的连接，不会退回到提交推送的定时线程上执行。
+     */
+    @Bean(name = "watchExecutor")
+    public ThreadPoolTaskExecutor watchExecutor(
+            @Value("${app.watch.dispatch-threads:0}") int threads,
+            @Value("${app.watch.dispatch-queue-capacity:100000}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cron-watch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
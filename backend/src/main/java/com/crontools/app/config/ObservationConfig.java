@@ -0,0 +1,18 @@
+package com.crontools.app.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+@Configuration
+public class ObservationConfig {
+
+    // /api/watch 是以小时计的长连接，计入 http.server.requests 只会拉偏耗时直方图；而且客户端断开时
+    // Spring 6.1 不会结束这类异步请求的观测，http.server.requests.active 会持续累积
+    @Bean
+    public ObservationPredicate skipWatchStreamObservation() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+                && request.getCarrier().getRequestURI().startsWith("/api/watch"));
+    }
+}
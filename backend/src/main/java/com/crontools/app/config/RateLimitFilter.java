@@ -0,0 +1,169 @@
+package com.crontools.app.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 解析与执行时间接口（CronController）前的按客户端令牌桶限流。
+ *
+ * <p>每个客户端地址一个令牌桶，容量为 burst，按 requests-per-second 的速率补充；取不到令牌时直接返回 429 和
+ * Retry-After，请求不会进入解析与计算。客户端地址取 {@code getRemoteAddr()}，经 nginx 访问时由
+ * {@code server.forward-headers-strategy=native} 按 X-Forwarded-For 还原。令牌桶按最近访问时间过期且数量有上限，
+ * 伪造大量地址也不会耗尽内存。</p>
+ *
+ * <p>批量接口（/api/batch、/api/lookup、/api/collisions）在过滤器中先扣一个令牌，解析请求体后由控制器调用
+ * {@link #charge} 按条目数补扣，避免用一次请求携带上千条绕过每秒的额度。</p>
+ *
+ * <p>路径按 Spring MVC 匹配处理器时的方式比较：先去掉分号参数再解码，{@code /api/parse;x=1} 与
+ * {@code /api/%70arse} 同样计入 {@code /api/parse} 的限流。</p>
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long MAX_CLIENTS = 100_000;
+
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    static {
+        PATH_HELPER.setUrlDecode(true);
+        PATH_HELPER.setRemoveSemicolonContent(true);
+    }
+
+    public static final String REJECTED_MESSAGE = "请求过于频繁，请稍后重试";
+
+    private static final String REJECTED_BODY = "{\"valid\":false,\"message\":\"" + REJECTED_MESSAGE + "\"}";
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.rate-limit.requests-per-second:200}")
+    private double requestsPerSecond = 200;
+
+    @Value("${app.rate-limit.burst:400}")
+    private double burst = 400;
+
+    @Value("${app.rate-limit.paths:/api/parse,/api/next-times,/api/next-times/zones,/api/batch,/api/lookup,"
+            + "/api/collisions,/api/matches,/api/previous-times,/api/range,/api/density}")
+    private String[] paths = {"/api/parse", "/api/next-times", "/api/next-times/zones", "/api/batch", "/api/lookup",
+            "/api/collisions", "/api/matches", "/api/previous-times", "/api/range", "/api/density"};
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_CLIENTS)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        Gauge.builder("cron.ratelimit.clients", buckets, Cache::estimatedSize)
+                .description("限流器当前跟踪的客户端数")
+                .register(this.meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !Arrays.asList(paths).contains(PATH_HELPER.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long waitNanos = acquire(request, 1);
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds(waitNanos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(REJECTED_BODY);
+    }
+
+    /**
+     * 批量接口按条目数补扣令牌（过滤器已为请求本身扣过一个），超过 burst 的部分按 burst 计。
+     * 令牌不足时一个也不扣，返回 429 响应的构建器（已带 Retry-After），由调用方补上响应体；放行时返回 null。
+     */
+    public ResponseEntity.BodyBuilder charge(HttpServletRequest request, int items) {
+        if (!enabled || items <= 1) {
+            return null;
+        }
+        long waitNanos = acquire(request, items - 1);
+        return waitNanos == 0 ? null : ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(waitNanos));
+    }
+
+    private long acquire(HttpServletRequest request, double permits) {
+        TokenBucket bucket = buckets.get(request.getRemoteAddr(), key -> new TokenBucket(burst, System.nanoTime()));
+        long waitNanos = bucket.tryAcquire(permits, requestsPerSecond, burst, System.nanoTime());
+        if (waitNanos != 0) {
+            Counter.builder("cron.ratelimit.rejected")
+                    .description("被限流拒绝的请求次数")
+                    .tag("uri", PATH_HELPER.getPathWithinApplication(request))
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return waitNanos;
+    }
+
+    private static String retryAfterSeconds(long waitNanos) {
+        return Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+    }
+
+    static final class TokenBucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double burst, long nowNanos) {
+            this.tokens = burst;
+            this.refilledAt = nowNanos;
+        }
+
+        /**
+         * 取一个令牌；成功返回 0，否则返回还需等待的纳秒数。
+         */
+        long tryAcquire(double requestsPerSecond, double burst, long nowNanos) {
+            return tryAcquire(1, requestsPerSecond, burst, nowNanos);
+        }
+
+        /**
+         * 一次取 permits 个令牌（最多按 burst 个计），不足时一个也不取，返回还需等待的纳秒数。
+         */
+        synchronized long tryAcquire(double permits, double requestsPerSecond, double burst, long nowNanos) {
+            double needed = Math.min(permits, burst);
+            tokens = Math.min(burst, tokens + (nowNanos - refilledAt) * requestsPerSecond / 1e9);
+            refilledAt = nowNanos;
+            if (tokens >= needed) {
+                tokens -= needed;
+                return 0;
+            }
+            return (long) Math.ceil((needed - tokens) * 1e9 / requestsPerSecond);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.config.RateLimitFilter;
+import com.crontools.app.model.BatchItemRequest;
+import com.crontools.app.model.BatchItemResponse;
+import com.crontools.app.service.BatchService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class BatchController {
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 过滤器只为请求本身扣一个令牌，这里按条目数补扣
+    @Autowired(required = false)
+    private RateLimitFilter rateLimitFilter;
+
+    /**
+     * 批量解析并预测执行时间。条目在线程池中并行计算，结果按输入顺序逐条写出。
+     */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> batch(@RequestBody List<BatchItemRequest> items,
+                                                       HttpServletRequest request) {
+        ResponseEntity.BodyBuilder limited = rateLimitFilter != null ? rateLimitFilter.charge(request, items.size()) : null;
+        if (limited != null) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("valid", false);
+            error.put("message", RateLimitFilter.REJECTED_MESSAGE);
+            return limited.contentType(MediaType.APPLICATION_JSON).body(out -> objectMapper.writeValue(out, error));
+        }
+        List<CompletableFuture<BatchItemResponse>> futures;
+        try {
+            futures = batchService.evaluate(items);
+        } catch (Exception e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("valid", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (CompletableFuture<BatchItemResponse> future : futures) {
+                objectMapper.writeValue(generator, future.join());
+                generator.flush();
+            }
+            generator.writeEndArray();
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,47 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.config.RateLimitFilter;
+import com.crontools.app.model.CollisionRequest;
+import com.crontools.app.model.CollisionResponse;
+import com.crontools.app.service.CollisionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class CollisionController {
+
+    @Autowired
+    private CollisionService collisionService;
+
+    // 过滤器只为请求本身扣一个令牌，这里按条目数补扣
+    @Autowired(required = false)
+    private RateLimitFilter rateLimitFilter;
+
+    /**
+     * 分析一组任务在窗口内的并发冲突：超过阈值的时段、全局峰值与最常见的冲突组。
+     */
+    @PostMapping("/collisions")
+    public ResponseEntity<CollisionResponse> collisions(@RequestBody CollisionRequest request,
+                                                        HttpServletRequest httpRequest) {
+        int jobs = request.getJobs() != null ? request.getJobs().size() : 0;
+        ResponseEntity.BodyBuilder limited = rateLimitFilter != null ? rateLimitFilter.charge(httpRequest, jobs) : null;
+        if (limited != null) {
+            CollisionResponse response = new CollisionResponse();
+            response.setValid(false);
+            response.setMessage(RateLimitFilter.REJECTED_MESSAGE);
+            return limited.body(response);
+        }
+        try {
+            return ResponseEntity.ok(collisionService.analyze(request));
+        } catch (Exception e) {
+            CollisionResponse response = new CollisionResponse();
+            response.setValid(false);
+            response.setMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
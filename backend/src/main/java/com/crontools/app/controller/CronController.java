@@ -1,14 +1,34 @@
 package com.crontools.app.controller;
 
+import com.crontools.app.model.CompactNextTimes;
+import com.crontools.app.model.CompactNextTimesByZone;
+import com.crontools.app.model.CompactParseResult;
 import com.crontools.app.model.CronParseResponse;
+import com.crontools.app.model.NextTimesByZoneResponse;
 import com.crontools.app.model.NextTimesResponse;
+import com.crontools.app.model.ZoneNextTimes;
+import com.crontools.app.service.CanonicalForm;
 import com.crontools.app.service.CronService;
+import com.crontools.app.service.TimeFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api")
@@ -21,48 +41,207 @@ public class CronController {
     @Value("${app.default.timezone:Asia/Shanghai}")
     private String defaultTimezone;
 
+    // 虚拟线程模式下把 CPU 密集的执行时间计算交给按核数限定的 cronExecutor，请求线程只负责等待
+    @Value("${app.cron.offload-next-times:false}")
+    private boolean offloadNextTimes;
+
+    @Autowired(required = false)
+    @Qualifier("cronExecutor")
+    private Executor cronExecutor;
+
+    // parse 结果只取决于请求参数，可长期缓存；next-times 的缓存时间同样以此为上限
+    @Value("${app.http.cache.max-age:86400}")
+    private long cacheMaxAgeSeconds = 86400;
+
+    @Value("${app.next-times.max-zones:50}")
+    private int maxZones = 50;
+
+    /**
+     * Accept 明确要求 application/cbor 时返回 {@link CompactParseResult}，否则返回 JSON。
+     */
     @GetMapping("/parse")
-    public ResponseEntity<CronParseResponse> parseCron(
+    public ResponseEntity<?> parseCron(
             @RequestParam String expr,
             @RequestParam(defaultValue = "QUARTZ") String type,
-            @RequestParam(required = false) String tz) {
+            @RequestParam(required = false) String tz,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
+        boolean cbor = ResponseFormat.prefersCbor(accept);
         try {
             String timezone = tz != null ? tz : defaultTimezone;
-            String humanReadable = cronService.parseCronToHuman(expr);
+            String humanReadable = cronService.parseCronToHuman(expr, type, lang);
+            CanonicalForm canonicalForm = cronService.canonicalize(expr, type);
+            String etag = HttpCaching.etag(expr, type, timezone, humanReadable, canonicalForm.getFingerprintHex());
+            if (cbor) {
+                return negotiated(ResponseEntity.ok(), true)
+                        .eTag(cborEtag(etag))
+                        .cacheControl(CacheControl.maxAge(cacheMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                        .body(new CompactParseResult(true, "", humanReadable,
+                                canonicalForm.getExpression(), canonicalForm.getFingerprint()));
+            }
             
             CronParseResponse response = new CronParseResponse(
                 expr, type, timezone, humanReadable, true, ""
             );
+            response.setCanonical(canonicalForm.getExpression());
+            response.setFingerprint(canonicalForm.getFingerprintHex());
             
-            return ResponseEntity.ok(response);
+            return negotiated(ResponseEntity.ok(), false)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.maxAge(cacheMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                    .body(response);
         } catch (Exception e) {
+            if (cbor) {
+                return negotiated(ResponseEntity.badRequest(), true)
+                        .body(new CompactParseResult(false, e.getMessage(), "", null, null));
+            }
             CronParseResponse response = new CronParseResponse(
                 expr, type, tz != null ? tz : defaultTimezone, "", false, e.getMessage()
             );
-            return ResponseEntity.badRequest().body(response);
+            return negotiated(ResponseEntity.badRequest(), false).body(response);
         }
     }
 
+    /**
+     * from 为空时从当前时间开始，否则返回严格晚于 from 的执行时间；format 为 TEXT（默认）、ISO 或 EPOCH_MILLIS。
+     * Accept 明确要求 application/cbor 时忽略 format，返回差分编码 epoch 秒的 {@link CompactNextTimes}。
+     */
     @GetMapping("/next-times")
-    public ResponseEntity<NextTimesResponse> getNextTimes(
+    public ResponseEntity<?> getNextTimes(
             @RequestParam String expr,
             @RequestParam(defaultValue = "QUARTZ") String type,
             @RequestParam(required = false) String tz,
-            @RequestParam(defaultValue = "5") int count) {
+            @RequestParam(defaultValue = "5") int count,
+            @RequestParam(required = false) String engine,
+            @RequestParam(required = false) String from,
+            @RequestParam(defaultValue = "TEXT") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
+        boolean cbor = ResponseFormat.prefersCbor(accept);
         try {
             if (count > 20) count = 20;
             if (count < 1) count = 1;
             
+            TimeFormat timeFormat = TimeFormat.from(format);
             String timezone = tz != null ? tz : defaultTimezone;
-            List<String> nextTimes = cronService.getNextExecutionTimes(expr, timezone, count);
+            int limit = count;
+            long[] epochSeconds = compute(() -> cronService.nextEpochSeconds(expr, type, List.of(timezone), from, limit, engine))[0];
+            ZoneId zoneId = cronService.zone(timezone);
+            if (cbor) {
+                return negotiated(ResponseEntity.ok(), true)
+                        .eTag(cborEtag(HttpCaching.etag(zoneId.getId(), Arrays.toString(epochSeconds))))
+                        .cacheControl(CacheControl.maxAge(maxAge(epochSeconds, from), TimeUnit.SECONDS).cachePublic())
+                        .body(CompactNextTimes.of(zoneId.getId(), epochSeconds));
+            }
             
-            NextTimesResponse response = new NextTimesResponse(nextTimes, true, "");
-            return ResponseEntity.ok(response);
+            NextTimesResponse response = timeFormat == TimeFormat.EPOCH_MILLIS
+                    ? new NextTimesResponse(null, TimeFormat.toEpochMillis(epochSeconds), true, "")
+                    : new NextTimesResponse(timeFormat.format(epochSeconds, zoneId), true, "");
+            return negotiated(ResponseEntity.ok(), false)
+                    .eTag(HttpCaching.etag(timeFormat.name(), zoneId.getId(), Arrays.toString(epochSeconds)))
+                    .cacheControl(CacheControl.maxAge(maxAge(epochSeconds, from), TimeUnit.SECONDS).cachePublic())
+                    .body(response);
         } catch (Exception e) {
+            if (cbor) {
+                return negotiated(ResponseEntity.badRequest(), true).body(CompactNextTimes.error(e.getMessage()));
+            }
             NextTimesResponse response = new NextTimesResponse(null, false, e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return negotiated(ResponseEntity.badRequest(), false).body(response);
+        }
+    }
+
+    /**
+     * 同一表达式在多个时区（逗号分隔）下的执行时间，表达式只编译一次。
+     * Accept 明确要求 application/cbor 时返回 {@link CompactNextTimesByZone}。
+     */
+    @GetMapping("/next-times/zones")
+    public ResponseEntity<?> getNextTimesByZone(
+            @RequestParam String expr,
+            @RequestParam(defaultValue = "QUARTZ") String type,
+            @RequestParam String tz,
+            @RequestParam(defaultValue = "5") int count,
+            @RequestParam(required = false) String engine,
+            @RequestParam(required = false) String from,
+            @RequestParam(defaultValue = "TEXT") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        boolean cbor = ResponseFormat.prefersCbor(accept);
+        try {
+            if (count > 20) count = 20;
+            if (count < 1) count = 1;
+
+            TimeFormat timeFormat = TimeFormat.from(format);
+            List<String> timezones = new ArrayList<>();
+            for (String zone : tz.split(",")) {
+                if (!zone.isBlank()) {
+                    timezones.add(zone.trim());
+                }
+            }
+            if (timezones.isEmpty() || timezones.size() > maxZones) {
+                throw new IllegalArgumentException("时区数量必须在 1 到 " + maxZones + " 之间");
+            }
+            int limit = count;
+            long[][] epochSeconds = compute(() -> cronService.nextEpochSeconds(expr, type, timezones, from, limit, engine));
+
+            List<ZoneNextTimes> results = new ArrayList<>(timezones.size());
+            List<CompactNextTimes> compactResults = new ArrayList<>(timezones.size());
+            String[] etagParts = new String[timezones.size() * 2 + 1];
+            etagParts[0] = timeFormat.name();
+            long maxAge = cacheMaxAgeSeconds;
+            for (int i = 0; i < timezones.size(); i++) {
+                ZoneId zoneId = cronService.zone(timezones.get(i));
+                if (cbor) {
+                    compactResults.add(CompactNextTimes.of(zoneId.getId(), epochSeconds[i]));
+                } else {
+                    results.add(timeFormat == TimeFormat.EPOCH_MILLIS
+                            ? new ZoneNextTimes(zoneId.getId(), null, TimeFormat.toEpochMillis(epochSeconds[i]))
+                            : new ZoneNextTimes(zoneId.getId(), timeFormat.format(epochSeconds[i], zoneId), null));
+                }
+                etagParts[i * 2 + 1] = zoneId.getId();
+                etagParts[i * 2 + 2] = Arrays.toString(epochSeconds[i]);
+                maxAge = Math.min(maxAge, maxAge(epochSeconds[i], from));
+            }
+            String etag = HttpCaching.etag(etagParts);
+            return negotiated(ResponseEntity.ok(), cbor)
+                    .eTag(cbor ? cborEtag(etag) : etag)
+                    .cacheControl(CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePublic())
+                    .body(cbor ? new CompactNextTimesByZone(true, "", compactResults) : new NextTimesByZoneResponse(results, true, ""));
+        } catch (Exception e) {
+            return negotiated(ResponseEntity.badRequest(), cbor)
+                    .body(cbor ? new CompactNextTimesByZone(false, e.getMessage(), null) : new NextTimesByZoneResponse(null, false, e.getMessage()));
+        }
+    }
+
+    // JSON 与 CBOR 共用同一个 URL：Vary 让浏览器与 nginx 按 Accept 分开缓存，两种表示的 ETag 也互不相同
+    private static ResponseEntity.BodyBuilder negotiated(ResponseEntity.BodyBuilder builder, boolean cbor) {
+        builder.varyBy(HttpHeaders.ACCEPT);
+        return cbor ? builder.contentType(MediaType.APPLICATION_CBOR) : builder;
+    }
+
+    private static String cborEtag(String etag) {
+        return HttpCaching.etag("cbor", etag);
+    }
+
+    // 指定了 from 时结果完全由参数决定；从当前时间开始时，结果在第一个执行时间到来之前不会变化
+    private long maxAge(long[] epochSeconds, String from) {
+        if (from != null && !from.isBlank()) {
+            return cacheMaxAgeSeconds;
+        }
+        return HttpCaching.secondsUntilFirst(epochSeconds, Instant.now(), cacheMaxAgeSeconds);
+    }
+
+    private <T> T compute(Supplier<T> task) {
+        if (!offloadNextTimes || cronExecutor == null) {
+            return task.get();
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, cronExecutor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
 
@@ -0,0 +1,39 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.model.DensityResponse;
+import com.crontools.app.service.DensityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class DensityController {
+
+    @Autowired
+    private DensityService densityService;
+
+    @Value("${app.default.timezone:Asia/Shanghai}")
+    private String defaultTimezone;
+
+    @GetMapping("/density")
+    public ResponseEntity<DensityResponse> density(
+            @RequestParam String expr,
+            @RequestParam(required = false) String tz,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(defaultValue = "DAY") String bucket) {
+
+        try {
+            return ResponseEntity.ok(densityService.density(expr, tz, from, to, days, bucket));
+        } catch (Exception e) {
+            DensityResponse response = new DensityResponse(
+                expr, tz != null ? tz : defaultTimezone, bucket, from, to, 0, null, false, e.getMessage()
+            );
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.service.ExpressionFileValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class FileValidationController {
+
+    static final MediaType TEXT_TSV = new MediaType("text", "tab-separated-values", StandardCharsets.UTF_8);
+
+    @Autowired
+    private ExpressionFileValidator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.validate-file.max-bytes:1073741824}")
+    private long maxBytes = 1L << 30;
+
+    /**
+     * 校验上传的 crontab/Quartz 导出文件（请求体即文件内容），逐行流式返回 TSV 报告，最后一行为汇总。
+     * 请求体先写入临时文件再内存映射处理，处理完成后删除。
+     */
+    @PostMapping("/validate-file")
+    public ResponseEntity<StreamingResponseBody> validateFile(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "QUARTZ") String type,
+            @RequestParam(required = false) String lang,
+            @RequestParam(defaultValue = "false") boolean errorsOnly) {
+
+        Path file;
+        try {
+            validator.checkOptions(type, lang);
+            file = validator.spool(request.getInputStream(), maxBytes);
+        } catch (Exception e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("valid", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                validator.validate(file, type, lang, errorsOnly, writer);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        // 关闭 nginx 的响应缓冲，让客户端边算边收
+        return ResponseEntity.ok()
+                .contentType(TEXT_TSV)
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+}
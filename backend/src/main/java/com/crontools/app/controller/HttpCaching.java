@@ -0,0 +1,50 @@
+package com.crontools.app.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 确定性响应的 ETag 与 max-age 计算。
+ *
+ * <p>ETag 是响应内容各字段的 SHA-256 前 16 字节：内容相同则 ETag 相同，可安全作为强校验器。
+ * 304 由 Spring MVC 在 {@code ResponseEntity} 带 ETag 时根据 If-None-Match 自动返回。</p>
+ */
+final class HttpCaching {
+
+    private HttpCaching() {
+    }
+
+    static String etag(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                if (part != null) {
+                    digest.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+                // 分隔符避免 ("ab", "c") 与 ("a", "bc") 冲突
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String etag(List<String> parts) {
+        return etag(parts.toArray(new String[0]));
+    }
+
+    /**
+     * next-times 的结果在第一个执行时间到来之前不会变化，据此给出缓存秒数，上限为 maxAgeSeconds。
+     */
+    static long secondsUntilFirst(long[] epochSeconds, Instant now, long maxAgeSeconds) {
+        if (epochSeconds.length == 0) {
+            return 0;
+        }
+        return Math.max(0, Math.min(maxAgeSeconds, epochSeconds[0] - now.getEpochSecond()));
+    }
+}
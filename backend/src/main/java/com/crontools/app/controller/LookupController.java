@@ -0,0 +1,90 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.config.RateLimitFilter;
+import com.crontools.app.model.LookupItemRequest;
+import com.crontools.app.model.LookupItemResponse;
+import com.crontools.app.model.MatchResponse;
+import com.crontools.app.model.PreviousTimesResponse;
+import com.crontools.app.service.LookupService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class LookupController {
+
+    @Autowired
+    private LookupService lookupService;
+
+    // 过滤器只为请求本身扣一个令牌，这里按条目数补扣
+    @Autowired(required = false)
+    private RateLimitFilter rateLimitFilter;
+
+    @Value("${app.default.timezone:Asia/Shanghai}")
+    private String defaultTimezone;
+
+    @GetMapping("/matches")
+    public ResponseEntity<MatchResponse> matches(
+            @RequestParam String expr,
+            @RequestParam(defaultValue = "QUARTZ") String type,
+            @RequestParam(required = false) String tz,
+            @RequestParam(required = false) String at) {
+
+        try {
+            return ResponseEntity.ok(lookupService.matches(expr, type, tz, at));
+        } catch (Exception e) {
+            MatchResponse response = new MatchResponse(
+                expr, type, tz != null ? tz : defaultTimezone, at, false, false, e.getMessage()
+            );
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/previous-times")
+    public ResponseEntity<PreviousTimesResponse> previousTimes(
+            @RequestParam String expr,
+            @RequestParam(defaultValue = "QUARTZ") String type,
+            @RequestParam(required = false) String tz,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "5") int count,
+            @RequestParam(required = false) String engine) {
+
+        try {
+            return ResponseEntity.ok(lookupService.previous(expr, type, tz, before, count, engine));
+        } catch (Exception e) {
+            PreviousTimesResponse response = new PreviousTimesResponse(null, false, e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 批量反向查询，结果按输入顺序返回。
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookup(@RequestBody List<LookupItemRequest> items, HttpServletRequest request) {
+        ResponseEntity.BodyBuilder limited = rateLimitFilter != null ? rateLimitFilter.charge(request, items.size()) : null;
+        if (limited != null) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("valid", false);
+            error.put("message", RateLimitFilter.REJECTED_MESSAGE);
+            return limited.body(error);
+        }
+        try {
+            List<LookupItemResponse> responses = lookupService.lookup(items);
+            return ResponseEntity.ok(responses);
+        } catch (Exception e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("valid", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.service.FireTimePage;
+import com.crontools.app.service.RangeService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class RangeController {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // 每写出多少行刷新一次输出流
+    private static final int FLUSH_EVERY = 1024;
+
+    @Autowired
+    private RangeService rangeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 以 NDJSON 流式返回 [from, to) 内的全部执行时间，每行一条；最后一行给出续传游标或 done=true。
+     */
+    @GetMapping("/range")
+    public ResponseEntity<StreamingResponseBody> range(
+            @RequestParam String expr,
+            @RequestParam(required = false) String tz,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String engine) {
+
+        FireTimePage page;
+        try {
+            page = rangeService.open(expr, tz, from, to, cursor, limit, engine);
+        } catch (Exception e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("valid", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 每行一个 JSON 对象，由下面的换行分隔，不需要 Jackson 默认的根值分隔符
+            generator.setRootValueSeparator(null);
+            Iterator<ZonedDateTime> times = page.getTimes();
+            ZonedDateTime last = null;
+            int written = 0;
+            while (written < page.getLimit() && times.hasNext()) {
+                last = times.next();
+                generator.writeStartObject();
+                generator.writeStringField("time", last.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+                generator.writeNumberField("epochSecond", last.toEpochSecond());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+
+            generator.writeStartObject();
+            generator.writeNumberField("count", written);
+            if (times.hasNext()) {
+                generator.writeBooleanField("done", false);
+                generator.writeStringField("cursor", page.cursorAfter(last));
+            } else {
+                generator.writeBooleanField("done", true);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.close();
+        };
+        // 关闭 nginx 的响应缓冲，让客户端边算边收
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+}
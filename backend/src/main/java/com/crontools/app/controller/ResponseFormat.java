@@ -0,0 +1,58 @@
+package com.crontools.app.controller;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * 按 Accept 头在 JSON 与 CBOR 之间选择响应格式。
+ *
+ * <p>JSON 是默认格式：只有明确列出 {@code application/cbor}、且其 q 值高于 JSON 时才返回 CBOR；
+ * q 值相同时，JSON 只由通配符（{@code application/*} 或 &#42;/&#42;）匹配才选 CBOR。
+ * 浏览器与 curl 发送的 &#42;/&#42; 因此仍得到 JSON。JSON 的 q 值取最具体的匹配项。
+ * 没有用 {@code produces} 拆分处理方法，是因为 Spring 会把 &#42;/&#42; 匹配到更具体的 CBOR 映射上。</p>
+ */
+final class ResponseFormat {
+
+    private ResponseFormat() {
+    }
+
+    static boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        double cbor = 0;
+        double json = -1;
+        double applicationWildcard = -1;
+        double wildcard = -1;
+        for (MediaType mediaType : mediaTypes) {
+            double quality = mediaType.getQualityValue();
+            if (mediaType.isWildcardType()) {
+                wildcard = Math.max(wildcard, quality);
+            } else if (mediaType.isWildcardSubtype()) {
+                if (mediaType.getType().equals("application")) {
+                    applicationWildcard = Math.max(applicationWildcard, quality);
+                }
+            } else if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType)) {
+                cbor = Math.max(cbor, quality);
+            } else if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)) {
+                json = Math.max(json, quality);
+            }
+        }
+        if (cbor <= 0) {
+            return false;
+        }
+        if (json >= 0) {
+            return cbor > json;
+        }
+        double jsonByWildcard = applicationWildcard >= 0 ? applicationWildcard : Math.max(wildcard, 0);
+        return cbor >= jsonByWildcard;
+    }
+}
@@ -0,0 +1,93 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.model.WatchEvent;
+import com.crontools.app.service.WatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class WatchController {
+
+    @Autowired
+    private WatchService watchService;
+
+    // 到期后客户端（EventSource）会自动重连并重新收到首批事件
+    @Value("${app.watch.timeout-ms:3600000}")
+    private long timeoutMillis = 3_600_000;
+
+    /**
+     * 以 Server-Sent Events 推送执行时间翻转。expr 可重复出现以订阅多个表达式；连接建立后先为每个表达式推送一条
+     * schedule 事件，之后某个表达式的执行时间到达时推送一条 next 事件。
+     */
+    @GetMapping("/watch")
+    public ResponseEntity<SseEmitter> watch(
+            // 不能声明为 List<String> expr：只有一个值时 Spring 会按逗号拆分，而逗号是 Cron 语法的一部分
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestParam(defaultValue = "QUARTZ") String type,
+            @RequestParam(required = false) String tz,
+            @RequestParam(required = false) String engine) {
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        try {
+            WatchService.Subscription subscription = watchService.subscribe(
+                    params.getOrDefault("expr", List.of()), type, tz, engine, new EmitterListener(emitter));
+            emitter.onCompletion(subscription::close);
+            emitter.onTimeout(subscription::close);
+            emitter.onError(e -> subscription.close());
+        } catch (Exception e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("valid", false);
+            error.put("message", e.getMessage());
+            try {
+                emitter.send(SseEmitter.event().name("error").data(error, MediaType.APPLICATION_JSON));
+            } catch (IOException ignored) {
+                // 客户端已断开
+            }
+            emitter.complete();
+            return ResponseEntity.badRequest().body(emitter);
+        }
+        // 关闭 nginx 的响应缓冲，事件到达即转发
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private static final class EmitterListener implements WatchService.Listener {
+
+        private final SseEmitter emitter;
+
+        private EmitterListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onEvent(WatchEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name(event.getFiredTime() == null ? "schedule" : "next")
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void onHeartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        // 写入已失败时 Spring 忽略这次调用，由容器收尾；其余异常时结束异步请求
+        @Override
+        public void onFailure(Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.crontools.app.model;
+
+public class BatchItemRequest {
+    private String expr;
+    private String type = "QUARTZ";
+    private String tz;
+    private int count = 5;
+
+    public BatchItemRequest() {}
+
+    public BatchItemRequest(String expr, String type, String tz, int count) {
+        this.expr = expr;
+        this.type = type;
+        this.tz = tz;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getExpr() { return expr; }
+    public void setExpr(String expr) { this.expr = expr; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getTz() { return tz; }
+    public void setTz(String tz) { this.tz = tz; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+}
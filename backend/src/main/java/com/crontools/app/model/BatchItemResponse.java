@@ -0,0 +1,35 @@
+package com.crontools.app.model;
+
+public class BatchItemResponse {
+    private int index;
+    private CronParseResponse parse;
+    private NextTimesResponse nextTimes;
+    private boolean valid;
+    private String message;
+
+    public BatchItemResponse() {}
+
+    public BatchItemResponse(int index, CronParseResponse parse, NextTimesResponse nextTimes, boolean valid, String message) {
+        this.index = index;
+        this.parse = parse;
+        this.nextTimes = nextTimes;
+        this.valid = valid;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public CronParseResponse getParse() { return parse; }
+    public void setParse(CronParseResponse parse) { this.parse = parse; }
+
+    public NextTimesResponse getNextTimes() { return nextTimes; }
+    public void setNextTimes(NextTimesResponse nextTimes) { this.nextTimes = nextTimes; }
+
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
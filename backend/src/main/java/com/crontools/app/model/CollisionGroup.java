@@ -0,0 +1,32 @@
+package com.crontools.app.model;
+
+import java.util.List;
+
+public class CollisionGroup {
+    private List<String> jobs;
+    private int size;
+    private long occurrences;
+    private String firstTime;
+
+    public CollisionGroup() {}
+
+    public CollisionGroup(List<String> jobs, int size, long occurrences, String firstTime) {
+        this.jobs = jobs;
+        this.size = size;
+        this.occurrences = occurrences;
+        this.firstTime = firstTime;
+    }
+
+    // Getters and Setters
+    public List<String> getJobs() { return jobs; }
+    public void setJobs(List<String> jobs) { this.jobs = jobs; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getOccurrences() { return occurrences; }
+    public void setOccurrences(long occurrences) { this.occurrences = occurrences; }
+
+    public String getFirstTime() { return firstTime; }
+    public void setFirstTime(String firstTime) { this.firstTime = firstTime; }
+}
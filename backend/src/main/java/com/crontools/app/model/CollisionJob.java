@@ -0,0 +1,25 @@
+package com.crontools.app.model;
+
+public class CollisionJob {
+    private String name;
+    private String expr;
+    private Long durationSeconds;
+
+    public CollisionJob() {}
+
+    public CollisionJob(String name, String expr, Long durationSeconds) {
+        this.name = name;
+        this.expr = expr;
+        this.durationSeconds = durationSeconds;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getExpr() { return expr; }
+    public void setExpr(String expr) { this.expr = expr; }
+
+    public Long getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Long durationSeconds) { this.durationSeconds = durationSeconds; }
+}
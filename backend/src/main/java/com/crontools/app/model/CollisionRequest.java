@@ -0,0 +1,47 @@
+package com.crontools.app.model;
+
+import java.util.List;
+
+public class CollisionRequest {
+    private List<CollisionJob> jobs;
+    private String tz;
+    private String from;
+    private String to;
+    private Integer days;
+    private int threshold = 1;
+    private int top = 10;
+
+    public CollisionRequest() {}
+
+    public CollisionRequest(List<CollisionJob> jobs, String tz, String from, String to, Integer days, int threshold, int top) {
+        this.jobs = jobs;
+        this.tz = tz;
+        this.from = from;
+        this.to = to;
+        this.days = days;
+        this.threshold = threshold;
+        this.top = top;
+    }
+
+    // Getters and Setters
+    public List<CollisionJob> getJobs() { return jobs; }
+    public void setJobs(List<CollisionJob> jobs) { this.jobs = jobs; }
+
+    public String getTz() { return tz; }
+    public void setTz(String tz) { this.tz = tz; }
+
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+
+    public Integer getDays() { return days; }
+    public void setDays(Integer days) { this.days = days; }
+
+    public int getThreshold() { return threshold; }
+    public void setThreshold(int threshold) { this.threshold = threshold; }
+
+    public int getTop() { return top; }
+    public void setTop(int top) { this.top = top; }
+}
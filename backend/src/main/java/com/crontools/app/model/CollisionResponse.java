@@ -0,0 +1,70 @@
+package com.crontools.app.model;
+
+import java.util.List;
+import java.util.Map;
+
+public class CollisionResponse {
+    private String timezone;
+    private String from;
+    private String to;
+    private int jobCount;
+    private int threshold;
+    private long events;
+    private int peakConcurrency;
+    private String peakTime;
+    private List<String> peakJobs;
+    private List<CollisionSlot> timeline;
+    private boolean timelineTruncated;
+    private List<CollisionGroup> groups;
+    private Map<String, String> invalidJobs;
+    private boolean valid;
+    private String message;
+
+    public CollisionResponse() {}
+
+    // Getters and Setters
+    public String getTimezone() { return timezone; }
+    public void setTimezone(String timezone) { this.timezone = timezone; }
+
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+
+    public int getJobCount() { return jobCount; }
+    public void setJobCount(int jobCount) { this.jobCount = jobCount; }
+
+    public int getThreshold() { return threshold; }
+    public void setThreshold(int threshold) { this.threshold = threshold; }
+
+    public long getEvents() { return events; }
+    public void setEvents(long events) { this.events = events; }
+
+    public int getPeakConcurrency() { return peakConcurrency; }
+    public void setPeakConcurrency(int peakConcurrency) { this.peakConcurrency = peakConcurrency; }
+
+    public String getPeakTime() { return peakTime; }
+    public void setPeakTime(String peakTime) { this.peakTime = peakTime; }
+
+    public List<String> getPeakJobs() { return peakJobs; }
+    public void setPeakJobs(List<String> peakJobs) { this.peakJobs = peakJobs; }
+
+    public List<CollisionSlot> getTimeline() { return timeline; }
+    public void setTimeline(List<CollisionSlot> timeline) { this.timeline = timeline; }
+
+    public boolean isTimelineTruncated() { return timelineTruncated; }
+    public void setTimelineTruncated(boolean timelineTruncated) { this.timelineTruncated = timelineTruncated; }
+
+    public List<CollisionGroup> getGroups() { return groups; }
+    public void setGroups(List<CollisionGroup> groups) { this.groups = groups; }
+
+    public Map<String, String> getInvalidJobs() { return invalidJobs; }
+    public void setInvalidJobs(Map<String, String> invalidJobs) { this.invalidJobs = invalidJobs; }
+
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,30 @@
+package com.crontools.app.model;
+
+public class CollisionSlot {
+    private String start;
+    private String end;
+    private int maxConcurrency;
+    private String peakTime;
+
+    public CollisionSlot() {}
+
+    public CollisionSlot(String start, String end, int maxConcurrency, String peakTime) {
+        this.start = start;
+        this.end = end;
+        this.maxConcurrency = maxConcurrency;
+        this.peakTime = peakTime;
+    }
+
+    // Getters and Setters
+    public String getStart() { return start; }
+    public void setStart(String start) { this.start = start; }
+
+    public String getEnd() { return end; }
+    public void setEnd(String end) { this.end = end; }
+
+    public int getMaxConcurrency() { return maxConcurrency; }
+    public void setMaxConcurrency(int maxConcurrency) { this.maxConcurrency = maxConcurrency; }
+
+    public String getPeakTime() { return peakTime; }
+    public void setPeakTime(String peakTime) { this.peakTime = peakTime; }
+}
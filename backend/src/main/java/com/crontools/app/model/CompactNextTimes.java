@@ -0,0 +1,72 @@
+package com.crontools.app.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * next-times 的紧凑二进制形式（CBOR），按位置编码为数组 {@code [valid, message, timezone, first, deltas]}：
+ * first 为第一个执行时间的 epoch 秒，deltas 为其后每个时间与前一个的差值（秒），没有执行时间时 first 为 null。
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"valid", "message", "timezone", "first", "deltas"})
+public class CompactNextTimes {
+    private boolean valid;
+    private String message;
+    private String timezone;
+    private Long first;
+    private long[] deltas;
+
+    public CompactNextTimes() {}
+
+    public CompactNextTimes(boolean valid, String message, String timezone, Long first, long[] deltas) {
+        this.valid = valid;
+        this.message = message;
+        this.timezone = timezone;
+        this.first = first;
+        this.deltas = deltas;
+    }
+
+    public static CompactNextTimes of(String timezone, long[] epochSeconds) {
+        if (epochSeconds.length == 0) {
+            return new CompactNextTimes(true, "", timezone, null, new long[0]);
+        }
+        long[] deltas = new long[epochSeconds.length - 1];
+        for (int i = 1; i < epochSeconds.length; i++) {
+            deltas[i - 1] = epochSeconds[i] - epochSeconds[i - 1];
+        }
+        return new CompactNextTimes(true, "", timezone, epochSeconds[0], deltas);
+    }
+
+    public static CompactNextTimes error(String message) {
+        return new CompactNextTimes(false, message, null, null, new long[0]);
+    }
+
+    /** 还原为 epoch 秒数组 */
+    public long[] toEpochSeconds() {
+        if (first == null) {
+            return new long[0];
+        }
+        long[] epochSeconds = new long[deltas.length + 1];
+        epochSeconds[0] = first;
+        for (int i = 0; i < deltas.length; i++) {
+            epochSeconds[i + 1] = epochSeconds[i] + deltas[i];
+        }
+        return epochSeconds;
+    }
+
+    // Getters and Setters
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getTimezone() { return timezone; }
+    public void setTimezone(String timezone) { this.timezone = timezone; }
+
+    public Long getFirst() { return first; }
+    public void setFirst(Long first) { this.first = first; }
+
+    public long[] getDeltas() { return deltas; }
+    public void setDeltas(long[] deltas) { this.deltas = deltas; }
+}
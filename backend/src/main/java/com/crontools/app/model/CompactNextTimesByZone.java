@@ -0,0 +1,36 @@
+package com.crontools.app.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * next-times/zones 的紧凑二进制形式（CBOR），编码为数组 {@code [valid, message, results]}，
+ * results 中每个时区为一个 {@link CompactNextTimes}。
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"valid", "message", "results"})
+public class CompactNextTimesByZone {
+    private boolean valid;
+    private String message;
+    private List<CompactNextTimes> results;
+
+    public CompactNextTimesByZone() {}
+
+    public CompactNextTimesByZone(boolean valid, String message, List<CompactNextTimes> results) {
+        this.valid = valid;
+        this.message = message;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public List<CompactNextTimes> getResults() { return results; }
+    public void setResults(List<CompactNextTimes> results) { this.results = results; }
+}
@@ -0,0 +1,44 @@
+package com.crontools.app.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * parse 的紧凑二进制形式（CBOR），编码为数组 {@code [valid, message, humanReadable, canonical, fingerprint]}。
+ * 请求参数（expr、type、timezone）不再回传；fingerprint 为 64 位整数，无效表达式时 canonical 与 fingerprint 为 null。
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"valid", "message", "humanReadable", "canonical", "fingerprint"})
+public class CompactParseResult {
+    private boolean valid;
+    private String message;
+    private String humanReadable;
+    private String canonical;
+    private Long fingerprint;
+
+    public CompactParseResult() {}
+
+    public CompactParseResult(boolean valid, String message, String humanReadable, String canonical, Long fingerprint) {
+        this.valid = valid;
+        this.message = message;
+        this.humanReadable = humanReadable;
+        this.canonical = canonical;
+        this.fingerprint = fingerprint;
+    }
+
+    // Getters and Setters
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getHumanReadable() { return humanReadable; }
+    public void setHumanReadable(String humanReadable) { this.humanReadable = humanReadable; }
+
+    public String getCanonical() { return canonical; }
+    public void setCanonical(String canonical) { this.canonical = canonical; }
+
+    public Long getFingerprint() { return fingerprint; }
+    public void setFingerprint(Long fingerprint) { this.fingerprint = fingerprint; }
+}
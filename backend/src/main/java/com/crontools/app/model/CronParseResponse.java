@@ -1,5 +1,7 @@
 package com.crontools.app.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class CronParseResponse {
     private String expr;
     private String type;
@@ -7,6 +9,11 @@ public class CronParseResponse {
     private String humanReadable;
     private boolean valid;
     private String message;
+    // 规范形式（Quartz 语法）与 16 位十六进制指纹，等价写法得到相同的值；无效表达式时为空
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String canonical;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String fingerprint;
 
     public CronParseResponse() {}
 
@@ -37,4 +44,10 @@ public class CronParseResponse {
 
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
+
+    public String getCanonical() { return canonical; }
+    public void setCanonical(String canonical) { this.canonical = canonical; }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
 }
\ No newline at end of file
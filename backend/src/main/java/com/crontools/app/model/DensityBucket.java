@@ -0,0 +1,20 @@
+package com.crontools.app.model;
+
+public class DensityBucket {
+    private String key;
+    private long count;
+
+    public DensityBucket() {}
+
+    public DensityBucket(String key, long count) {
+        this.key = key;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
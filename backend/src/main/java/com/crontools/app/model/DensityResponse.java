@@ -0,0 +1,58 @@
+package com.crontools.app.model;
+
+import java.util.List;
+
+public class DensityResponse {
+    private String expr;
+    private String timezone;
+    private String bucket;
+    private String from;
+    private String to;
+    private long total;
+    private List<DensityBucket> buckets;
+    private boolean valid;
+    private String message;
+
+    public DensityResponse() {}
+
+    public DensityResponse(String expr, String timezone, String bucket, String from, String to,
+                           long total, List<DensityBucket> buckets, boolean valid, String message) {
+        this.expr = expr;
+        this.timezone = timezone;
+        this.bucket = bucket;
+        this.from = from;
+        this.to = to;
+        this.total = total;
+        this.buckets = buckets;
+        this.valid = valid;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public String getExpr() { return expr; }
+    public void setExpr(String expr) { this.expr = expr; }
+
+    public String getTimezone() { return timezone; }
+    public void setTimezone(String timezone) { this.timezone = timezone; }
+
+    public String getBucket() { return bucket; }
+    public void setBucket(String bucket) { this.bucket = bucket; }
+
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<DensityBucket> getBuckets() { return buckets; }
+    public void setBuckets(List<DensityBucket> buckets) { this.buckets = buckets; }
+
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
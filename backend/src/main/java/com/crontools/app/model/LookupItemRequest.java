@@ -0,0 +1,35 @@
+package com.crontools.app.model;
+
+public class LookupItemRequest {
+    private String expr;
+    private String type = "QUARTZ";
+    private String tz;
+    private String at;
+    private int previous;
+
+    public LookupItemRequest() {}
+
+    public LookupItemRequest(String expr, String type, String tz, String at, int previous) {
+        this.expr = expr;
+        this.type = type;
+        this.tz = tz;
+        this.at = at;
+        this.previous = previous;
+    }
+
+    // Getters and Setters
+    public String getExpr() { return expr; }
+    public void setExpr(String expr) { this.expr = expr; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getTz() { return tz; }
+    public void setTz(String tz) { this.tz = tz; }
+
+    public String getAt() { return at; }
+    public void setAt(String at) { this.at = at; }
+
+    public int getPrevious() { return previous; }
+    public void setPrevious(int previous) { this.previous = previous; }
+}
@@ -0,0 +1,48 @@
+package com.crontools.app.model;
+
+import java.util.List;
+
+public class LookupItemResponse {
+    private int index;
+    private String expr;
+    private String at;
+    private boolean matches;
+    private List<String> previousTimes;
+    private boolean valid;
+    private String message;
+
+    public LookupItemResponse() {}
+
+    public LookupItemResponse(int index, String expr, String at, boolean matches, List<String> previousTimes,
+                              boolean valid, String message) {
+        this.index = index;
+        this.expr = expr;
+        this.at = at;
+        this.matches = matches;
+        this.previousTimes = previousTimes;
+        this.valid = valid;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getExpr() { return expr; }
+    public void setExpr(String expr) { this.expr = expr; }
+
+    public String getAt() { return at; }
+    public void setAt(String at) { this.at = at; }
+
+    public boolean isMatches() { return matches; }
+    public void setMatches(boolean matches) { this.matches = matches; }
+
+    public List<String> getPreviousTimes() { return previousTimes; }
+    public void setPreviousTimes(List<String> previousTimes) { this.previousTimes = previousTimes; }
+
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
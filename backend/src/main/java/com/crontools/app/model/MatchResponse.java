@@ -0,0 +1,45 @@
+package com.crontools.app.model;
+
+public class MatchResponse {
+    private String expr;
+    private String type;
+    private String timezone;
+    private String at;
+    private boolean matches;
+    private boolean valid;
+    private String message;
+
+    public MatchResponse() {}
+
+    public MatchResponse(String expr, String type, String timezone, String at, boolean matches, boolean valid, String message) {
+        this.expr = expr;
+        this.type = type;
+        this.timezone = timezone;
+        this.at = at;
+        this.matches = matches;
+        this.valid = valid;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public String getExpr() { return expr; }
+    public void setExpr(String expr) { this.expr = expr; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getTimezone() { return timezone; }
+    public void setTimezone(String timezone) { this.timezone = timezone; }
+
+    public String getAt() { return at; }
+    public void setAt(String at) { this.at = at; }
+
+    public boolean isMatches() { return matches; }
+    public void setMatches(boolean matches) { this.matches = matches; }
+
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
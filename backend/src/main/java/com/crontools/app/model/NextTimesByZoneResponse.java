@@ -0,0 +1,27 @@
+package com.crontools.app.model;
+
+import java.util.List;
+
+public class NextTimesByZoneResponse {
+    private List<ZoneNextTimes> results;
+    private boolean valid;
+    private String message;
+
+    public NextTimesByZoneResponse() {}
+
+    public NextTimesByZoneResponse(List<ZoneNextTimes> results, boolean valid, String message) {
+        this.results = results;
+        this.valid = valid;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public List<ZoneNextTimes> getResults() { return results; }
+    public void setResults(List<ZoneNextTimes> results) { this.results = results; }
+
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
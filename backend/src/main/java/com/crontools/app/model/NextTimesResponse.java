@@ -1,9 +1,14 @@
 package com.crontools.app.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public class NextTimesResponse {
     private List<String> nextTimes;
+    // 仅在 format=EPOCH_MILLIS 时输出，此时 nextTimes 为空
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> epochMillis;
     private boolean valid;
     private String message;
 
@@ -15,13 +20,23 @@ public class NextTimesResponse {
         this.message = message;
     }
 
+    public NextTimesResponse(List<String> nextTimes, List<Long> epochMillis, boolean valid, String message) {
+        this.nextTimes = nextTimes;
+        this.epochMillis = epochMillis;
+        this.valid = valid;
+        this.message = message;
+    }
+
     // Getters and Setters
     public List<String> getNextTimes() { return nextTimes; }
     public void setNextTimes(List<String> nextTimes) { this.nextTimes = nextTimes; }
 
+    public List<Long> getEpochMillis() { return epochMillis; }
+    public void setEpochMillis(List<Long> epochMillis) { this.epochMillis = epochMillis; }
+
     public boolean isValid() { return valid; }
     public void setValid(boolean valid) { this.valid = valid; }
 
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.crontools.app.model;
+
+import java.util.List;
+
+public class PreviousTimesResponse {
+    private List<String> previousTimes;
+    private boolean valid;
+    private String message;
+
+    public PreviousTimesResponse() {}
+
+    public PreviousTimesResponse(List<String> previousTimes, boolean valid, String message) {
+        this.previousTimes = previousTimes;
+        this.valid = valid;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public List<String> getPreviousTimes() { return previousTimes; }
+    public void setPreviousTimes(List<String> previousTimes) { this.previousTimes = previousTimes; }
+
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
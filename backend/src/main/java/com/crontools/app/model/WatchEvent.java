@@ -0,0 +1,41 @@
+package com.crontools.app.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public class WatchEvent {
+    // 表达式在订阅请求中的下标
+    private int index;
+    private String expr;
+    // 刚刚到达的执行时间；订阅时的首个事件为空
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String firedTime;
+    // 之后不再执行时为空
+    private String nextTime;
+    private Long nextEpochMillis;
+
+    public WatchEvent() {}
+
+    public WatchEvent(int index, String expr, String firedTime, String nextTime, Long nextEpochMillis) {
+        this.index = index;
+        this.expr = expr;
+        this.firedTime = firedTime;
+        this.nextTime = nextTime;
+        this.nextEpochMillis = nextEpochMillis;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getExpr() { return expr; }
+    public void setExpr(String expr) { this.expr = expr; }
+
+    public String getFiredTime() { return firedTime; }
+    public void setFiredTime(String firedTime) { this.firedTime = firedTime; }
+
+    public String getNextTime() { return nextTime; }
+    public void setNextTime(String nextTime) { this.nextTime = nextTime; }
+
+    public Long getNextEpochMillis() { return nextEpochMillis; }
+    public void setNextEpochMillis(Long nextEpochMillis) { this.nextEpochMillis = nextEpochMillis; }
+}
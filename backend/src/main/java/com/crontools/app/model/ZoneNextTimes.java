@@ -0,0 +1,31 @@
+package com.crontools.app.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public class ZoneNextTimes {
+    private String timezone;
+    private List<String> nextTimes;
+    // 仅在 format=EPOCH_MILLIS 时输出，此时 nextTimes 为空
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> epochMillis;
+
+    public ZoneNextTimes() {}
+
+    public ZoneNextTimes(String timezone, List<String> nextTimes, List<Long> epochMillis) {
+        this.timezone = timezone;
+        this.nextTimes = nextTimes;
+        this.epochMillis = epochMillis;
+    }
+
+    // Getters and Setters
+    public String getTimezone() { return timezone; }
+    public void setTimezone(String timezone) { this.timezone = timezone; }
+
+    public List<String> getNextTimes() { return nextTimes; }
+    public void setNextTimes(List<String> nextTimes) { this.nextTimes = nextTimes; }
+
+    public List<Long> getEpochMillis() { return epochMillis; }
+    public void setEpochMillis(List<Long> epochMillis) { this.epochMillis = epochMillis; }
+}
@@ -0,0 +1,100 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.BatchItemRequest;
+import com.crontools.app.model.BatchItemResponse;
+import com.crontools.app.model.CronParseResponse;
+import com.crontools.app.model.NextTimesResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Service
+public class BatchService {
+
+    @Value("${app.default.timezone:Asia/Shanghai}")
+    private String defaultTimezone = "Asia/Shanghai";
+
+    @Value("${app.batch.max-items:1000}")
+    private int maxItems = 1000;
+
+    private final CronService cronService;
+    private final Executor cronExecutor;
+
+    public BatchService(CronService cronService, @Qualifier("cronExecutor") Executor cronExecutor) {
+        this.cronService = cronService;
+        this.cronExecutor = cronExecutor;
+    }
+
+    /**
+     * 将每个条目提交到有界线程池并行计算，返回的 future 列表与输入顺序一致。
+     * 单个条目的失败只体现在该条目的 valid/message 上，不影响整个批次。
+     */
+    public List<CompletableFuture<BatchItemResponse>> evaluate(List<BatchItemRequest> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("批量请求不能为空");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("批量请求最多 " + maxItems + " 条，实际 " + items.size() + " 条");
+        }
+
+        List<CompletableFuture<BatchItemResponse>> futures = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            final int index = i;
+            final BatchItemRequest item = items.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> evaluateItem(index, item), cronExecutor)
+                    .exceptionally(e -> failed(index, item, e)));
+        }
+        return futures;
+    }
+
+    BatchItemResponse evaluateItem(int index, BatchItemRequest item) {
+        if (item == null) {
+            return failed(index, null, new IllegalArgumentException("批量条目不能为空"));
+        }
+        String expr = item.getExpr();
+        String type = item.getType() != null ? item.getType() : "QUARTZ";
+        String timezone = item.getTz() != null ? item.getTz() : defaultTimezone;
+        int count = Math.max(1, Math.min(20, item.getCount()));
+
+        CronParseResponse parse;
+        try {
+            String humanReadable = cronService.parseCronToHuman(expr, type);
+            CanonicalForm canonicalForm = cronService.canonicalize(expr, type);
+            parse = new CronParseResponse(expr, type, timezone, humanReadable, true, "");
+            parse.setCanonical(canonicalForm.getExpression());
+            parse.setFingerprint(canonicalForm.getFingerprintHex());
+        } catch (Exception e) {
+            parse = new CronParseResponse(expr, type, timezone, "", false, e.getMessage());
+        }
+
+        NextTimesResponse nextTimes;
+        if (parse.isValid()) {
+            try {
+                List<String> times = cronService.getNextExecutionTimes(expr, type, timezone, count, null);
+                nextTimes = new NextTimesResponse(times, true, "");
+            } catch (Exception e) {
+                nextTimes = new NextTimesResponse(null, false, e.getMessage());
+            }
+        } else {
+            nextTimes = new NextTimesResponse(null, false, parse.getMessage());
+        }
+
+        String message = !parse.isValid() ? parse.getMessage() : nextTimes.getMessage();
+        return new BatchItemResponse(index, parse, nextTimes, parse.isValid() && nextTimes.isValid(), message);
+    }
+
+    private BatchItemResponse failed(int index, BatchItemRequest item, Throwable e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        String expr = item != null ? item.getExpr() : null;
+        String type = item != null && item.getType() != null ? item.getType() : "QUARTZ";
+        String timezone = item != null && item.getTz() != null ? item.getTz() : defaultTimezone;
+        CronParseResponse parse = new CronParseResponse(expr, type, timezone, "", false, cause.getMessage());
+        NextTimesResponse nextTimes = new NextTimesResponse(null, false, cause.getMessage());
+        return new BatchItemResponse(index, parse, nextTimes, false, cause.getMessage());
+    }
+}
@@ -0,0 +1,925 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.Cron;
+import com.cronutils.model.field.CronField;
+import com.cronutils.model.field.CronFieldName;
+import com.cronutils.model.field.expression.Always;
+import com.cronutils.model.field.expression.And;
+import com.cronutils.model.field.expression.Between;
+import com.cronutils.model.field.expression.Every;
+import com.cronutils.model.field.expression.FieldExpression;
+import com.cronutils.model.field.expression.On;
+import com.cronutils.model.field.expression.QuestionMark;
+import com.cronutils.model.field.value.IntegerFieldValue;
+import com.cronutils.model.field.value.SpecialChar;
+import com.cronutils.model.time.ExecutionTime;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * 将已校验的 Quartz {@link Cron} 预编译为按字段的位图，通过位扫描计算下一次触发时间。
+ *
+ * <p>计算全程在本地时间的 int/long 字段上进行，只在时区偏移段切换时查询 {@link ZoneRules}，
+ * 不会为每一步创建 {@code ZonedDateTime}。夏令时开始时跳过不存在的本地时间，与 cron-utils 一致。
+ * 夏令时结束的重叠时段里，cron-utils 选择哪一个偏移量取决于其内部逐字段调整的中间状态，
+ * 因此候选时间落在重叠时段（或从一次触发跨过回拨点）时，这一步交给 cron-utils 计算，保证结果完全相同；
+ * 这类步骤每个时区每年最多出现一次。</p>
+ */
+public final class BitsetSchedule {
+
+    /** 没有下一次触发时间 */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final int MIN_YEAR = 1970;
+    private static final int MAX_YEAR = 2099;
+    private static final int MAX_YEARS_AHEAD = 100;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final long ALL_DAYS_OF_MONTH = 0xFFFF_FFFEL;
+    private static final long ALL_DAYS_OF_WEEK = 0xFEL;
+    private static final String[] MONTH_NAMES = {
+            null, "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAY_OF_WEEK_NAMES = {null, "SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long months;
+    private final long[] years;
+
+    // day-of-month：普通日期位图（bit 1-31）、L-n 偏移位图、W 日期位图、LW 标记；domAll 表示 * 或 ?
+    private final boolean domAll;
+    private final long domDays;
+    private final long domLastOffsets;
+    private final long domNearestWeekdays;
+    private final boolean domLastWeekday;
+
+    // day-of-week（Quartz 编号 1=SUN..7=SAT）：普通位图、xL 位图、x#n 每个星期几对应的 n 位图
+    private final boolean dowAll;
+    private final long dowDays;
+    private final long dowLast;
+    private final int[] dowNth;
+
+    private final ExecutionTime fallback;
+
+    private BitsetSchedule(long seconds, long minutes, long hours, long months, long[] years,
+                           boolean domAll, long domDays, long domLastOffsets, long domNearestWeekdays, boolean domLastWeekday,
+                           boolean dowAll, long dowDays, long dowLast, int[] dowNth, ExecutionTime fallback) {
+        this.seconds = seconds;
+        this.minutes = minutes;
+        this.hours = hours;
+        this.months = months;
+        this.years = years;
+        this.domAll = domAll;
+        this.domDays = domDays;
+        this.domLastOffsets = domLastOffsets;
+        this.domNearestWeekdays = domNearestWeekdays;
+        this.domLastWeekday = domLastWeekday;
+        this.dowAll = dowAll;
+        this.dowDays = dowDays;
+        this.dowLast = dowLast;
+        this.dowNth = dowNth;
+        this.fallback = fallback;
+    }
+
+    /**
+     * 编译 Quartz 表达式（调用方保证传入的是 QUARTZ 定义解析出的 Cron）；
+     * 遇到无法用位图表示的字段表达式时抛出 {@link IllegalArgumentException}。
+     */
+    public static BitsetSchedule compile(Cron cron) {
+        return compile(cron, ExecutionTime.forCron(cron));
+    }
+
+    /**
+     * 复用已构建的 {@link ExecutionTime}，用于夏令时重叠时段的计算。
+     */
+    public static BitsetSchedule compile(Cron cron, ExecutionTime executionTime) {
+        long seconds = toLong(expand(expression(cron, CronFieldName.SECOND), 0, 59));
+        long minutes = toLong(expand(expression(cron, CronFieldName.MINUTE), 0, 59));
+        long hours = toLong(expand(expression(cron, CronFieldName.HOUR), 0, 23));
+        long months = toLong(expand(expression(cron, CronFieldName.MONTH), 1, 12));
+        long[] years = expand(expression(cron, CronFieldName.YEAR), MIN_YEAR, MAX_YEAR).get(MIN_YEAR, MAX_YEAR + 1).toLongArray();
+        if (years.length == 0) {
+            years = new long[1];
+        }
+
+        DayOfMonth dom = new DayOfMonth();
+        FieldExpression domExpression = expression(cron, CronFieldName.DAY_OF_MONTH);
+        boolean domAll = domExpression instanceof Always || domExpression instanceof QuestionMark;
+        if (!domAll) {
+            dom.add(domExpression);
+        }
+
+        DayOfWeek dow = new DayOfWeek();
+        FieldExpression dowExpression = expression(cron, CronFieldName.DAY_OF_WEEK);
+        boolean dowAll = dowExpression instanceof Always || dowExpression instanceof QuestionMark;
+        if (!dowAll) {
+            dow.add(dowExpression);
+        }
+
+        return new BitsetSchedule(seconds, minutes, hours, months, years,
+                domAll, dom.days, dom.lastOffsets, dom.nearestWeekdays, dom.lastWeekday,
+                dowAll, dow.days, dow.last, dow.nth, executionTime);
+    }
+
+    /**
+     * 与 {@code ExecutionTime.nextExecution} 语义一致：返回严格晚于 {@code date} 的下一次触发时间。
+     */
+    public Optional<ZonedDateTime> nextExecution(ZonedDateTime date) {
+        long next = nextExecution(date.toEpochSecond(), date.getZone());
+        if (next == NONE) {
+            return Optional.empty();
+        }
+        return Optional.of(ZonedDateTime.ofInstant(Instant.ofEpochSecond(next), date.getZone()));
+    }
+
+    /**
+     * 返回严格晚于 {@code afterEpochSecond} 的下一次触发时间（epoch 秒），没有时返回 {@link #NONE}。
+     */
+    public long nextExecution(long afterEpochSecond, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        long candidate = nextMatch(afterEpochSecond, rules, yearOf(afterEpochSecond, rules) + MAX_YEARS_AHEAD);
+        if (candidate == NONE || rules.isFixedOffset()) {
+            return candidate;
+        }
+        boolean crossesFallBack = offsetOf(candidate, rules) < offsetOf(afterEpochSecond, rules)
+                && matches(afterEpochSecond, rules);
+        if (crossesFallBack || isAmbiguous(candidate, rules)) {
+            return fallback.nextExecution(ZonedDateTime.ofInstant(Instant.ofEpochSecond(afterEpochSecond), zone))
+                    .map(ZonedDateTime::toEpochSecond)
+                    .orElse(NONE);
+        }
+        return candidate;
+    }
+
+    /**
+     * 返回严格早于 {@code beforeEpochSecond} 的上一次触发时间（epoch 秒），没有时返回 {@link #NONE}。
+     *
+     * <p>与 {@link #nextExecution(long, ZoneId)} 互为逆运算。cron-utils 的 lastExecution 在回拨重叠时段里
+     * 与它自己的 nextExecution 选择的偏移量不同，因此候选时间落在重叠时段或跨过回拨点时，
+     * 退回到重叠时段之前的一次命中，再用 nextExecution 正向推进到 beforeEpochSecond。</p>
+     */
+    public long previousExecution(long beforeEpochSecond, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        int yearLimit = yearOf(beforeEpochSecond, rules) - MAX_YEARS_AHEAD;
+        long candidate = previousMatch(beforeEpochSecond, rules, yearLimit);
+        if (candidate == NONE || rules.isFixedOffset()) {
+            return candidate;
+        }
+        if (offsetOf(candidate, rules) <= offsetOf(beforeEpochSecond, rules) && !isAmbiguous(candidate, rules)) {
+            return candidate;
+        }
+        long anchor = candidate;
+        long earliest = candidate;
+        while (anchor != NONE && isAmbiguous(anchor, rules)) {
+            earliest = anchor;
+            anchor = previousMatch(anchor, rules, yearLimit);
+        }
+        long previous = NONE;
+        long cursor = nextExecution((anchor != NONE ? anchor : earliest) - 1, zone);
+        while (cursor != NONE && cursor < beforeEpochSecond) {
+            previous = cursor;
+            cursor = nextExecution(cursor, zone);
+        }
+        return previous;
+    }
+
+    /**
+     * 某一时刻是否恰好是一次触发，与 {@link #nextExecution(long, ZoneId)} 的结果一致：
+     * 回拨重叠时段内同一本地时间对应两个瞬时，这时以从重叠时段之前连续推进得到的那一个为准。
+     */
+    public boolean isMatch(long epochSecond, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        if (!matches(epochSecond, rules)) {
+            return false;
+        }
+        if (rules.isFixedOffset() || !isAmbiguous(epochSecond, rules)) {
+            return true;
+        }
+        return previousExecution(epochSecond + 1, zone) == epochSecond;
+    }
+
+    /**
+     * 判断某一时刻（按所在时区的本地时间）是否命中表达式，只做 O(字段数) 的位检查。
+     */
+    public boolean matches(long epochSecond, ZoneRules rules) {
+        long local = epochSecond + rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        return matchesLocal(local);
+    }
+
+    boolean matchesLocal(long localSecond) {
+        long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+        long packedDate = civil(epochDay);
+        int year = (int) (packedDate >> 9);
+        int month = (int) (packedDate >> 5) & 0xF;
+        int day = (int) packedDate & 0x1F;
+        return hasYear(year)
+                && bit(months, month)
+                && bit(dayMask(year, month), day)
+                && bit(hours, secondOfDay / 3600)
+                && bit(minutes, secondOfDay / 60 % 60)
+                && bit(seconds, secondOfDay % 60);
+    }
+
+    // 按偏移量分段：每段内本地时间与瞬时一一对应，段尾落入下一个偏移段继续扫描
+    private long nextMatch(long afterEpochSecond, ZoneRules rules, int yearLimit) {
+        long cursor = afterEpochSecond;
+        int offset = rules.getOffset(Instant.ofEpochSecond(cursor)).getTotalSeconds();
+        long fromLocal = cursor + offset + 1;
+        boolean fixed = rules.isFixedOffset();
+        while (true) {
+            long local = nextLocal(fromLocal, yearLimit);
+            if (local == NONE) {
+                return NONE;
+            }
+            ZoneOffsetTransition transition = fixed ? null : rules.nextTransition(Instant.ofEpochSecond(cursor));
+            if (transition == null || local < transition.toEpochSecond() + offset) {
+                return local - offset;
+            }
+            cursor = transition.toEpochSecond();
+            offset = transition.getOffsetAfter().getTotalSeconds();
+            fromLocal = cursor + offset;
+        }
+    }
+
+    // nextMatch 的反向版本：从 beforeEpochSecond 的前一秒所在的偏移段开始向前扫描
+    private long previousMatch(long beforeEpochSecond, ZoneRules rules, int yearLimit) {
+        long cursor = beforeEpochSecond;
+        int offset = rules.getOffset(Instant.ofEpochSecond(cursor - 1)).getTotalSeconds();
+        long fromLocal = cursor - 1 + offset;
+        boolean fixed = rules.isFixedOffset();
+        while (true) {
+            long local = previousLocal(fromLocal, yearLimit);
+            if (local == NONE) {
+                return NONE;
+            }
+            ZoneOffsetTransition transition = fixed ? null : rules.previousTransition(Instant.ofEpochSecond(cursor));
+            if (transition == null || local >= transition.toEpochSecond() + offset) {
+                return local - offset;
+            }
+            cursor = transition.toEpochSecond();
+            offset = transition.getOffsetBefore().getTotalSeconds();
+            fromLocal = cursor - 1 + offset;
+        }
+    }
+
+    /**
+     * 返回不早于 {@code fromLocal}（本地 epoch 秒）的第一个匹配的本地时间。
+     */
+    long nextLocal(long fromLocal, int yearLimit) {
+        long epochDay = Math.floorDiv(fromLocal, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(fromLocal, SECONDS_PER_DAY);
+        long packedDate = civil(epochDay);
+        int year = (int) (packedDate >> 9);
+        int month = (int) (packedDate >> 5) & 0xF;
+        int day = (int) packedDate & 0x1F;
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+
+        int limit = Math.min(yearLimit, MAX_YEAR);
+        int maskYear = -1;
+        int maskMonth = -1;
+        long dayMask = 0;
+        while (true) {
+            int nextYear = nextYear(year);
+            if (nextYear < 0 || nextYear > limit) {
+                return NONE;
+            }
+            if (nextYear != year) {
+                year = nextYear;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            int nextMonth = nextBit(months, month);
+            if (nextMonth < 0) {
+                year++;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            if (year != maskYear || month != maskMonth) {
+                dayMask = dayMask(year, month);
+                maskYear = year;
+                maskMonth = month;
+            }
+            int nextDay = nextBit(dayMask, day);
+            if (nextDay < 0) {
+                month++;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                hour = minute = second = 0;
+            }
+            int nextHour = nextBit(hours, hour);
+            if (nextHour < 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+            int nextMinute = nextBit(minutes, minute);
+            if (nextMinute < 0) {
+                hour++;
+                minute = second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            int nextSecond = nextBit(seconds, second);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                continue;
+            }
+            return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + nextSecond;
+        }
+    }
+
+    /**
+     * 返回不晚于 {@code fromLocal}（本地 epoch 秒）的最后一个匹配的本地时间，逐字段向前回退，与 {@link #nextLocal} 对称。
+     */
+    long previousLocal(long fromLocal, int yearLimit) {
+        long epochDay = Math.floorDiv(fromLocal, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(fromLocal, SECONDS_PER_DAY);
+        long packedDate = civil(epochDay);
+        int year = (int) (packedDate >> 9);
+        int month = (int) (packedDate >> 5) & 0xF;
+        int day = (int) packedDate & 0x1F;
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+
+        int limit = Math.max(yearLimit, MIN_YEAR);
+        int maskYear = -1;
+        int maskMonth = -1;
+        long dayMask = 0;
+        while (true) {
+            int previousYear = previousYear(year);
+            if (previousYear < 0 || previousYear < limit) {
+                return NONE;
+            }
+            if (previousYear != year) {
+                year = previousYear;
+                month = 12;
+                day = 31;
+                hour = 23;
+                minute = second = 59;
+            }
+            int previousMonth = previousBit(months, month);
+            if (previousMonth < 0) {
+                year--;
+                month = 12;
+                day = 31;
+                hour = 23;
+                minute = second = 59;
+                continue;
+            }
+            if (previousMonth != month) {
+                month = previousMonth;
+                day = 31;
+                hour = 23;
+                minute = second = 59;
+            }
+            if (year != maskYear || month != maskMonth) {
+                dayMask = dayMask(year, month);
+                maskYear = year;
+                maskMonth = month;
+            }
+            int previousDay = previousBit(dayMask, day);
+            if (previousDay < 0) {
+                month--;
+                day = 31;
+                hour = 23;
+                minute = second = 59;
+                continue;
+            }
+            if (previousDay != day) {
+                day = previousDay;
+                hour = 23;
+                minute = second = 59;
+            }
+            int previousHour = previousBit(hours, hour);
+            if (previousHour < 0) {
+                day--;
+                hour = 23;
+                minute = second = 59;
+                continue;
+            }
+            if (previousHour != hour) {
+                hour = previousHour;
+                minute = second = 59;
+            }
+            int previousMinute = previousBit(minutes, minute);
+            if (previousMinute < 0) {
+                hour--;
+                minute = second = 59;
+                continue;
+            }
+            if (previousMinute != minute) {
+                minute = previousMinute;
+                second = 59;
+            }
+            int previousSecond = previousBit(seconds, second);
+            if (previousSecond < 0) {
+                minute--;
+                second = 59;
+                continue;
+            }
+            return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + previousSecond;
+        }
+    }
+
+    /**
+     * 某年某月实际会触发的日期位图（bit 1-31），已考虑年份与月份字段。
+     */
+    public long matchingDays(int year, int month) {
+        return hasYear(year) && bit(months, month) ? dayMask(year, month) : 0;
+    }
+
+    /**
+     * 匹配日期中某个整点小时内的触发次数，即分钟与秒两个字段的组合数。
+     */
+    public int firesInHour(int hour) {
+        return bit(hours, hour) ? Long.bitCount(minutes) * Long.bitCount(seconds) : 0;
+    }
+
+    /**
+     * 按位图重新输出 Quartz 表达式，取值集合相同的写法得到同一个字符串：全集为 {@code *}，
+     * 至少 3 个取值且恰好是 {@code a/n} 展开结果的为 {@code a/n}，其余为列表，连续 3 个以上的取值合并为范围；
+     * 月份与星期使用英文缩写，日期与星期只有一个受限时另一个为 {@code ?}，年份为全集时省略。
+     */
+    String canonicalExpression() {
+        StringBuilder sb = new StringBuilder(32);
+        appendValues(sb, bits(seconds), 0, 59, null).append(' ');
+        appendValues(sb, bits(minutes), 0, 59, null).append(' ');
+        appendValues(sb, bits(hours), 0, 23, null).append(' ');
+        // 1-31 全部选中时 L、W 等特殊日期不再有意义
+        boolean everyDom = domAll || (domDays & ALL_DAYS_OF_MONTH) == ALL_DAYS_OF_MONTH;
+        boolean everyDow = dowAll || (dowDays & ALL_DAYS_OF_WEEK) == ALL_DAYS_OF_WEEK;
+        if (everyDom) {
+            sb.append(everyDow ? '*' : '?');
+        } else {
+            appendDaysOfMonth(sb);
+        }
+        sb.append(' ');
+        appendValues(sb, bits(months), 1, 12, MONTH_NAMES).append(' ');
+        if (everyDow) {
+            sb.append('?');
+        } else {
+            appendDaysOfWeek(sb);
+        }
+        BitSet yearBits = new BitSet(MAX_YEAR + 1);
+        for (int year = nextYear(MIN_YEAR); year >= 0; year = year < MAX_YEAR ? nextYear(year + 1) : -1) {
+            yearBits.set(year);
+        }
+        if (yearBits.cardinality() != MAX_YEAR - MIN_YEAR + 1) {
+            appendValues(sb.append(' '), yearBits, MIN_YEAR, MAX_YEAR, null);
+        }
+        return sb.toString();
+    }
+
+    // 普通日期、L 与 L-n、nW、LW 依次排列
+    private void appendDaysOfMonth(StringBuilder sb) {
+        int start = sb.length();
+        if (domDays != 0) {
+            appendValues(sb, bits(domDays), 1, 31, null);
+        }
+        for (long offsets = domLastOffsets; offsets != 0; offsets &= offsets - 1) {
+            int offset = Long.numberOfTrailingZeros(offsets);
+            separate(sb, start).append(offset == 0 ? "L" : "L-" + offset);
+        }
+        for (long nearest = domNearestWeekdays; nearest != 0; nearest &= nearest - 1) {
+            separate(sb, start).append(Long.numberOfTrailingZeros(nearest)).append('W');
+        }
+        if (domLastWeekday) {
+            separate(sb, start).append("LW");
+        }
+    }
+
+    // 普通星期、xL、x#n 依次排列；带特殊字符的星期用数字（1=SUN）
+    private void appendDaysOfWeek(StringBuilder sb) {
+        int start = sb.length();
+        if (dowDays != 0) {
+            appendValues(sb, bits(dowDays), 1, 7, DAY_OF_WEEK_NAMES);
+        }
+        for (long last = dowLast; last != 0; last &= last - 1) {
+            separate(sb, start).append(Long.numberOfTrailingZeros(last)).append('L');
+        }
+        for (int dow = 1; dow <= 7; dow++) {
+            for (int n = 1; n <= 5; n++) {
+                if ((dowNth[dow] & (1 << n)) != 0) {
+                    separate(sb, start).append(dow).append('#').append(n);
+                }
+            }
+        }
+    }
+
+    private static StringBuilder separate(StringBuilder sb, int start) {
+        return sb.length() > start ? sb.append(',') : sb;
+    }
+
+    private static StringBuilder appendValues(StringBuilder sb, BitSet bits, int min, int max, String[] names) {
+        int count = bits.cardinality();
+        if (count == 0) {
+            throw new IllegalArgumentException("字段没有任何取值");
+        }
+        if (count == max - min + 1) {
+            return sb.append('*');
+        }
+        int first = bits.nextSetBit(min);
+        if (count >= 3) {
+            int step = bits.nextSetBit(first + 1) - first;
+            int expected = (max - first) / step + 1;
+            if (step >= 2 && expected == count && isProgression(bits, first, step, max)) {
+                return sb.append(first).append('/').append(step);
+            }
+        }
+        int start = sb.length();
+        for (int from = first; from >= 0 && from <= max; ) {
+            int to = bits.nextClearBit(from) - 1;
+            separate(sb, start).append(name(from, names));
+            if (to - from >= 2) {
+                sb.append('-').append(name(to, names));
+            } else if (to > from) {
+                sb.append(',').append(name(to, names));
+            }
+            from = bits.nextSetBit(to + 1);
+        }
+        return sb;
+    }
+
+    private static boolean isProgression(BitSet bits, int first, int step, int max) {
+        for (int value = first; value <= max; value += step) {
+            if (!bits.get(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String name(int value, String[] names) {
+        return names != null ? names[value] : Integer.toString(value);
+    }
+
+    private static BitSet bits(long value) {
+        return BitSet.valueOf(new long[]{value});
+    }
+
+    /**
+     * 某年某月所有匹配日期的位图（bit 1-31），day-of-month 与 day-of-week 取交集，* 和 ? 视为全部日期。
+     */
+    long dayMask(int year, int month) {
+        int length = lengthOfMonth(year, month);
+        long valid = (1L << (length + 1)) - 2;
+        // Quartz 编号：1=SUN..7=SAT
+        int firstDow = (int) Math.floorMod(epochDay(year, month, 1) + 4, 7) + 1;
+        long dom = domAll ? valid : domMask(year, month, length, firstDow);
+        long dow = dowAll ? valid : dowMask(length, firstDow);
+        return dom & dow & valid;
+    }
+
+    private long domMask(int year, int month, int length, int firstDow) {
+        long mask = domDays;
+        for (long offsets = domLastOffsets; offsets != 0; offsets &= offsets - 1) {
+            int day = length - Long.numberOfTrailingZeros(offsets);
+            if (day >= 1) {
+                mask |= 1L << day;
+            }
+        }
+        for (long nearest = domNearestWeekdays; nearest != 0; nearest &= nearest - 1) {
+            int day = Long.numberOfTrailingZeros(nearest);
+            if (day > length) {
+                continue;
+            }
+            int dow = dowOfDay(firstDow, day);
+            if (dow == 7) {
+                // 周六：取前一天；1 号是周六则顺延到周一
+                mask |= 1L << (day == 1 ? 3 : day - 1);
+            } else if (dow == 1 && day + 1 <= length) {
+                // 周日：取后一天；月末周日保持当天（与 cron-utils 一致）
+                mask |= 1L << (day + 1);
+            } else {
+                mask |= 1L << day;
+            }
+        }
+        if (domLastWeekday) {
+            int dow = dowOfDay(firstDow, length);
+            mask |= 1L << (dow == 7 ? length - 1 : dow == 1 ? length - 2 : length);
+        }
+        return mask;
+    }
+
+    private long dowMask(int length, int firstDow) {
+        // 把 7 位星期位图旋转到以 1 号为起点，再按周平铺
+        long week = dowDays >>> 1;
+        int shift = firstDow - 1;
+        long rotated = ((week >>> shift) | (week << (7 - shift))) & 0x7F;
+        long pattern = rotated << 1;
+        long mask = pattern | pattern << 7 | pattern << 14 | pattern << 21 | pattern << 28;
+
+        int lastDow = dowOfDay(firstDow, length);
+        for (long last = dowLast; last != 0; last &= last - 1) {
+            int dow = Long.numberOfTrailingZeros(last);
+            mask |= 1L << (length - Math.floorMod(lastDow - dow, 7));
+        }
+        for (int dow = 1; dow <= 7; dow++) {
+            int nth = dowNth[dow];
+            if (nth == 0) {
+                continue;
+            }
+            int first = 1 + Math.floorMod(dow - firstDow, 7);
+            for (int n = 1; n <= 5; n++) {
+                int day = first + (n - 1) * 7;
+                if ((nth & (1 << n)) != 0 && day <= length) {
+                    mask |= 1L << day;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private boolean hasYear(int year) {
+        int index = year - MIN_YEAR;
+        return index >= 0 && year <= MAX_YEAR && (index >> 6) < years.length && (years[index >> 6] & (1L << index)) != 0;
+    }
+
+    private int nextYear(int year) {
+        int index = Math.max(year, MIN_YEAR) - MIN_YEAR;
+        for (int word = index >> 6; word < years.length; word++) {
+            long bits = years[word] & (word == index >> 6 ? -1L << index : -1L);
+            if (bits != 0) {
+                return MIN_YEAR + (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    private int previousYear(int year) {
+        int index = Math.min(year, MAX_YEAR) - MIN_YEAR;
+        if (index < 0) {
+            return -1;
+        }
+        for (int word = Math.min(index >> 6, years.length - 1); word >= 0; word--) {
+            long bits = years[word] & (word == index >> 6 ? -1L >>> (63 - (index & 63)) : -1L);
+            if (bits != 0) {
+                return MIN_YEAR + (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    private static int dowOfDay(int firstDow, int day) {
+        return (firstDow - 1 + day - 1) % 7 + 1;
+    }
+
+    private static int nextBit(long bits, int from) {
+        if (from >= 64) {
+            return -1;
+        }
+        long masked = bits & (-1L << from);
+        return masked == 0 ? -1 : Long.numberOfTrailingZeros(masked);
+    }
+
+    private static int previousBit(long bits, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        long masked = from >= 63 ? bits : bits & (-1L >>> (63 - from));
+        return masked == 0 ? -1 : 63 - Long.numberOfLeadingZeros(masked);
+    }
+
+    private static boolean bit(long bits, int index) {
+        return index >= 0 && index < 64 && (bits & (1L << index)) != 0;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    // 与 LocalDate.toEpochDay 相同的换算，避免创建 LocalDate
+    static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - 719_528L;
+    }
+
+    // 与 LocalDate.ofEpochDay 相同的换算，结果打包为 year << 9 | month << 5 | day
+    static long civil(long epochDay) {
+        long zeroDay = epochDay + 719_528L - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / 146_097L - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * 146_097L;
+        }
+        long yearEst = (400 * zeroDay + 591) / 146_097L;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+        int marchDoy0 = (int) doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int day = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return (yearEst << 9) | ((long) month << 5) | day;
+    }
+
+    // 该时刻的本地时间在回拨重叠时段内对应两个瞬时
+    private static boolean isAmbiguous(long epochSecond, ZoneRules rules) {
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        if (next != null && next.isOverlap()
+                && epochSecond + next.getOffsetBefore().getTotalSeconds() >= next.toEpochSecond() + next.getOffsetAfter().getTotalSeconds()) {
+            return true;
+        }
+        ZoneOffsetTransition previous = rules.previousTransition(Instant.ofEpochSecond(epochSecond + 1));
+        return previous != null && previous.isOverlap()
+                && epochSecond + previous.getOffsetAfter().getTotalSeconds() < previous.toEpochSecond() + previous.getOffsetBefore().getTotalSeconds();
+    }
+
+    private static int offsetOf(long epochSecond, ZoneRules rules) {
+        return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    private static int yearOf(long epochSecond, ZoneRules rules) {
+        long local = epochSecond + rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        return (int) (civil(Math.floorDiv(local, SECONDS_PER_DAY)) >> 9);
+    }
+
+    private static FieldExpression expression(Cron cron, CronFieldName name) {
+        CronField field = cron.retrieve(name);
+        return field == null ? Always.always() : field.getExpression();
+    }
+
+    private static long toLong(BitSet bits) {
+        long[] words = bits.toLongArray();
+        return words.length == 0 ? 0L : words[0];
+    }
+
+    // 展开不含特殊字符的字段表达式。首尾回绕的范围（如 22-2）在 cron-utils 中的语义与字面不同
+    // （小时 22-2 只在 22 点触发），这里不支持，由调用方回退到 cron-utils
+    private static BitSet expand(FieldExpression expression, int min, int max) {
+        BitSet bits = new BitSet(max + 1);
+        if (expression instanceof Always || expression instanceof QuestionMark) {
+            bits.set(min, max + 1);
+        } else if (expression instanceof On on) {
+            if (on.getSpecialChar().getValue() != SpecialChar.NONE) {
+                throw new IllegalArgumentException("不支持的特殊字符: " + on.asString());
+            }
+            bits.set(on.getTime().getValue());
+        } else if (expression instanceof Between between) {
+            int from = intValue(between.getFrom().getValue());
+            int to = intValue(between.getTo().getValue());
+            if (from > to) {
+                throw new IllegalArgumentException("不支持首尾回绕的范围: " + between.asString());
+            }
+            bits.set(from, to + 1);
+        } else if (expression instanceof Every every) {
+            int period = every.getPeriod().getValue();
+            FieldExpression base = every.getExpression();
+            int from = min;
+            int to = max;
+            if (base instanceof Between between) {
+                if (intValue(between.getFrom().getValue()) > intValue(between.getTo().getValue())) {
+                    throw new IllegalArgumentException("不支持首尾回绕的范围: " + between.asString());
+                }
+                from = Math.max(min, intValue(between.getFrom().getValue()));
+                to = Math.min(max, intValue(between.getTo().getValue()));
+            } else if (base instanceof On on) {
+                from = on.getTime().getValue();
+            }
+            for (int value = from; value <= to; value += period) {
+                bits.set(value);
+            }
+        } else if (expression instanceof And and) {
+            for (FieldExpression part : and.getExpressions()) {
+                bits.or(expand(part, min, max));
+            }
+        } else {
+            throw new IllegalArgumentException("不支持的字段表达式: " + expression.asString());
+        }
+        return bits;
+    }
+
+    private static int intValue(Object value) {
+        if (value instanceof Integer integer) {
+            return integer;
+        }
+        throw new IllegalArgumentException("不支持的字段取值: " + value);
+    }
+
+    private static final class DayOfMonth {
+        long days;
+        long lastOffsets;
+        long nearestWeekdays;
+        boolean lastWeekday;
+
+        void add(FieldExpression expression) {
+            if (expression instanceof And and) {
+                // cron-utils 对列表中的 L、W、LW 只按普通日期匹配（2,L 只在 2 号触发），不支持这种组合
+                for (FieldExpression part : and.getExpressions()) {
+                    if (part instanceof On on && on.getSpecialChar().getValue() != SpecialChar.NONE) {
+                        throw new IllegalArgumentException("不支持列表中的特殊字符: " + on.asString());
+                    }
+                    add(part);
+                }
+            } else if (expression instanceof On on && on.getSpecialChar().getValue() != SpecialChar.NONE) {
+                switch (on.getSpecialChar().getValue()) {
+                    case L -> lastOffsets |= 1L << Math.max(0, nth(on));
+                    case W -> nearestWeekdays |= 1L << on.getTime().getValue();
+                    case LW -> lastWeekday = true;
+                    default -> throw new IllegalArgumentException("不支持的特殊字符: " + on.asString());
+                }
+            } else {
+                days |= toLong(expand(expression, 1, 31));
+            }
+        }
+    }
+
+    private static final class DayOfWeek {
+        long days;
+        long last;
+        final int[] nth = new int[8];
+
+        void add(FieldExpression expression) {
+            if (expression instanceof And and) {
+                for (FieldExpression part : and.getExpressions()) {
+                    add(part);
+                }
+            } else if (expression instanceof On on && on.getSpecialChar().getValue() != SpecialChar.NONE) {
+                int dow = on.getTime().getValue();
+                switch (on.getSpecialChar().getValue()) {
+                    // 单独的 L 等同于 7（周六）
+                    case L -> {
+                        if (dow < 1) {
+                            days |= 1L << 7;
+                        } else {
+                            last |= 1L << dow;
+                        }
+                    }
+                    case HASH -> nth[dow] |= 1 << nth(on);
+                    default -> throw new IllegalArgumentException("不支持的特殊字符: " + on.asString());
+                }
+            } else {
+                days |= toLong(expand(expression, 1, 7));
+            }
+        }
+    }
+
+    private static int nth(On on) {
+        IntegerFieldValue nth = on.getNth();
+        return nth == null ? 0 : nth.getValue();
+    }
+}
@@ -0,0 +1,45 @@
+package com.crontools.app.service;
+
+/**
+ * 表达式的规范形式与 64 位指纹。规范形式相同的两个表达式（同一方言）触发时间序列完全相同；
+ * 反之不一定成立，个别等价写法（如 {@code 1-30,L} 与 {@code *}）无法归约到同一形式。
+ */
+public final class CanonicalForm {
+
+    private final String expression;
+    private final long fingerprint;
+
+    public CanonicalForm(String expression, long fingerprint) {
+        this.expression = expression;
+        this.fingerprint = fingerprint;
+    }
+
+    /** 统一使用 Quartz 语法；无法映射或展开的表达式为压缩空白后的原表达式 */
+    public String getExpression() { return expression; }
+
+    public long getFingerprint() { return fingerprint; }
+
+    /** 16 位小写十六进制 */
+    public String getFingerprintHex() {
+        String hex = Long.toHexString(fingerprint);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CanonicalForm other
+                && fingerprint == other.fingerprint
+                && expression.equals(other.expression);
+    }
+
+    // 指纹已经是均匀分布的哈希，不必再对字符串求 hashCode
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint);
+    }
+
+    @Override
+    public String toString() {
+        return expression + " #" + getFingerprintHex();
+    }
+}
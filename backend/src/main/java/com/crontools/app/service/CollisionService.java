@@ -0,0 +1,359 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.CollisionGroup;
+import com.crontools.app.model.CollisionJob;
+import com.crontools.app.model.CollisionRequest;
+import com.crontools.app.model.CollisionResponse;
+import com.crontools.app.model.CollisionSlot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+
+@Service
+public class CollisionService {
+
+    // 结束时间堆中每个元素为 (结束 epoch 秒 << JOB_BITS) | 任务下标，每个正在运行的任务只有一个元素
+    private static final int JOB_BITS = 20;
+    private static final long JOB_MASK = (1L << JOB_BITS) - 1;
+
+    @Value("${app.default.timezone:Asia/Shanghai}")
+    private String defaultTimezone = "Asia/Shanghai";
+
+    @Value("${app.collision.max-jobs:10000}")
+    private int maxJobs = 10_000;
+
+    @Value("${app.collision.max-days:31}")
+    private int maxDays = 31;
+
+    @Value("${app.collision.max-events:20000000}")
+    private long maxEvents = 20_000_000;
+
+    @Value("${app.collision.max-slots:1000}")
+    private int maxSlots = 1000;
+
+    private final CronService cronService;
+
+    public CollisionService(CronService cronService) {
+        this.cronService = cronService;
+    }
+
+    /**
+     * 找出窗口内同时运行的任务数超过 threshold 的时段。
+     *
+     * <p>每个表达式一个惰性的执行时间迭代器，按下一次执行时间放入优先队列做多路归并；
+     * 正在运行的任务按结束时间放入最小堆，内存只与任务数有关，与执行次数无关。
+     * 未给出时长的任务按 1 秒计，同一秒触发即视为冲突；时长超过分析窗口时按窗口长度计。
+     * 同一任务在上一次运行结束前再次触发时视为一次连续运行，结束时间顺延，不与自身冲突。</p>
+     */
+    public CollisionResponse analyze(CollisionRequest request) {
+        List<CollisionJob> jobs = request.getJobs();
+        if (jobs == null || jobs.isEmpty()) {
+            throw new IllegalArgumentException("任务列表不能为空");
+        }
+        if (jobs.size() > maxJobs) {
+            throw new IllegalArgumentException("任务最多 " + maxJobs + " 个，实际 " + jobs.size() + " 个");
+        }
+        if (request.getThreshold() < 0) {
+            throw new IllegalArgumentException("threshold 不能为负数");
+        }
+
+        ZoneId zoneId = cronService.zone(request.getTz() != null ? request.getTz() : defaultTimezone);
+        ZonedDateTime start = request.getFrom() != null && !request.getFrom().isBlank()
+                ? CronService.parseTime(request.getFrom(), zoneId)
+                : ZonedDateTime.now(zoneId).truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime end = request.getTo() != null && !request.getTo().isBlank()
+                ? CronService.parseTime(request.getTo(), zoneId)
+                : start.plusDays(request.getDays() != null ? request.getDays() : 1);
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("结束时间必须晚于开始时间");
+        }
+        if (end.isAfter(start.plusDays(maxDays))) {
+            throw new IllegalArgumentException("分析窗口不能超过 " + maxDays + " 天");
+        }
+
+        String[] names = new String[jobs.size()];
+        long[] durations = new long[jobs.size()];
+        long window = end.toEpochSecond() - start.toEpochSecond();
+        Map<String, String> invalidJobs = new LinkedHashMap<>();
+        PriorityQueue<Source> starts = new PriorityQueue<>(
+                Comparator.comparingLong((Source source) -> source.next).thenComparingInt(source -> source.job));
+        for (int i = 0; i < jobs.size(); i++) {
+            CollisionJob job = jobs.get(i);
+            names[i] = job != null && job.getName() != null ? job.getName() : "job-" + i;
+            if (job == null) {
+                invalidJobs.put(names[i], "任务不能为空");
+                continue;
+            }
+            CompiledCron compiled = cronService.compile(job.getExpr());
+            if (!compiled.isValid()) {
+                invalidJobs.put(names[i], compiled.getError());
+                continue;
+            }
+            // 限制在窗口长度以内，(结束时间 << JOB_BITS) 不会溢出
+            durations[i] = Math.min(window, Math.max(1, job.getDurationSeconds() != null ? job.getDurationSeconds() : 1));
+            PrimitiveIterator.OfLong times = cronService.fireEpochSeconds(job.getExpr(), start, end, null);
+            if (times.hasNext()) {
+                starts.add(new Source(i, times));
+            }
+        }
+
+        Sweep sweep = new Sweep(names, request.getThreshold(), zoneId);
+        LongMinHeap running = new LongMinHeap(Math.max(16, jobs.size()));
+        // 各任务当前这次连续运行的结束时间；不在运行时不大于当前时刻
+        long[] runningUntil = new long[jobs.size()];
+        Arrays.fill(runningUntil, Long.MIN_VALUE);
+        long events = 0;
+        while (!starts.isEmpty() || !running.isEmpty()) {
+            long nextStart = starts.isEmpty() ? Long.MAX_VALUE : starts.peek().next;
+            long nextEnd = running.isEmpty() ? Long.MAX_VALUE : running.peek() >>> JOB_BITS;
+            if (nextEnd <= nextStart) {
+                // 先结束再开始：[start, end) 区间在 end 时刻已不再占用
+                while (!running.isEmpty() && running.peek() >>> JOB_BITS == nextEnd) {
+                    int job = (int) (running.poll() & JOB_MASK);
+                    if (runningUntil[job] > nextEnd) {
+                        // 运行期间再次触发过，按顺延后的结束时间重新入堆
+                        running.add((runningUntil[job] << JOB_BITS) | job);
+                    }
+                }
+                sweep.released(nextEnd, running);
+                continue;
+            }
+            while (!starts.isEmpty() && starts.peek().next == nextStart) {
+                Source source = starts.poll();
+                long runEnd = nextStart + durations[source.job];
+                if (runningUntil[source.job] <= nextStart) {
+                    running.add((runEnd << JOB_BITS) | source.job);
+                }
+                runningUntil[source.job] = Math.max(runningUntil[source.job], runEnd);
+                if (++events > maxEvents) {
+                    throw new IllegalArgumentException("执行次数超过 " + maxEvents + " 次，请缩小分析窗口或减少任务");
+                }
+                if (source.times.hasNext()) {
+                    source.next = source.times.nextLong();
+                    starts.add(source);
+                }
+            }
+            sweep.started(nextStart, running);
+        }
+
+        CollisionResponse response = new CollisionResponse();
+        response.setTimezone(zoneId.getId());
+        response.setFrom(format(start.toEpochSecond(), zoneId));
+        response.setTo(format(end.toEpochSecond(), zoneId));
+        response.setJobCount(jobs.size());
+        response.setThreshold(request.getThreshold());
+        response.setEvents(events);
+        response.setPeakConcurrency(sweep.peak);
+        response.setPeakTime(sweep.peak > 0 ? format(sweep.peakTime, zoneId) : null);
+        response.setPeakJobs(sweep.peakJobs);
+        response.setTimeline(sweep.slots);
+        response.setTimelineTruncated(sweep.slotsTruncated);
+        response.setGroups(sweep.topGroups(Math.max(1, Math.min(100, request.getTop()))));
+        response.setInvalidJobs(invalidJobs);
+        response.setValid(true);
+        response.setMessage("");
+        return response;
+    }
+
+    private static String format(long epochSecond, ZoneId zoneId) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zoneId).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    private static final class Source {
+        private final int job;
+        private final PrimitiveIterator.OfLong times;
+        private long next;
+
+        Source(int job, PrimitiveIterator.OfLong times) {
+            this.job = job;
+            this.times = times;
+            this.next = times.nextLong();
+        }
+    }
+
+    // 扫描线状态：当前超过阈值的时段、全局峰值与按任务集合聚合的冲突组
+    private final class Sweep {
+
+        private final String[] names;
+        private final int threshold;
+        private final ZoneId zoneId;
+
+        private int peak;
+        private long peakTime;
+        private List<String> peakJobs = new ArrayList<>();
+
+        private final List<CollisionSlot> slots = new ArrayList<>();
+        private boolean slotsTruncated;
+        private final Map<List<Integer>, GroupStats> groups = new HashMap<>();
+
+        private boolean open;
+        private long slotStart;
+        private int slotMax;
+        private long slotPeakTime;
+        private List<Integer> slotGroup;
+
+        Sweep(String[] names, int threshold, ZoneId zoneId) {
+            this.names = names;
+            this.threshold = threshold;
+            this.zoneId = zoneId;
+        }
+
+        void started(long time, LongMinHeap running) {
+            int concurrency = running.size();
+            if (concurrency > peak) {
+                peak = concurrency;
+                peakTime = time;
+                peakJobs = names(jobsOf(running));
+            }
+            if (concurrency <= threshold) {
+                return;
+            }
+            if (!open) {
+                open = true;
+                slotStart = time;
+                slotMax = 0;
+            }
+            if (concurrency > slotMax) {
+                slotMax = concurrency;
+                slotPeakTime = time;
+                slotGroup = jobsOf(running);
+            }
+        }
+
+        void released(long time, LongMinHeap running) {
+            if (!open || running.size() > threshold) {
+                return;
+            }
+            open = false;
+            if (slots.size() < maxSlots) {
+                slots.add(new CollisionSlot(format(slotStart, zoneId), format(time, zoneId), slotMax, format(slotPeakTime, zoneId)));
+            } else {
+                slotsTruncated = true;
+            }
+            GroupStats stats = groups.get(slotGroup);
+            if (stats == null) {
+                groups.put(slotGroup, new GroupStats(slotPeakTime));
+            } else {
+                stats.occurrences++;
+            }
+        }
+
+        List<CollisionGroup> topGroups(int top) {
+            List<Map.Entry<List<Integer>, GroupStats>> entries = new ArrayList<>(groups.entrySet());
+            entries.sort(Comparator.<Map.Entry<List<Integer>, GroupStats>>comparingInt(entry -> -entry.getKey().size())
+                    .thenComparingLong(entry -> -entry.getValue().occurrences)
+                    .thenComparingLong(entry -> entry.getValue().firstTime));
+            List<CollisionGroup> result = new ArrayList<>();
+            for (Map.Entry<List<Integer>, GroupStats> entry : entries.subList(0, Math.min(top, entries.size()))) {
+                List<String> jobNames = names(entry.getKey());
+                result.add(new CollisionGroup(jobNames, jobNames.size(), entry.getValue().occurrences,
+                        format(entry.getValue().firstTime, zoneId)));
+            }
+            return result;
+        }
+
+        // 正在运行的任务下标，去重并排序后作为冲突组的键
+        private List<Integer> jobsOf(LongMinHeap running) {
+            int[] jobs = new int[running.size()];
+            for (int i = 0; i < jobs.length; i++) {
+                jobs[i] = (int) (running.get(i) & JOB_MASK);
+            }
+            return Arrays.stream(jobs).sorted().distinct().boxed().toList();
+        }
+
+        private List<String> names(List<Integer> jobs) {
+            List<String> result = new ArrayList<>(jobs.size());
+            for (int job : jobs) {
+                result.add(names[job]);
+            }
+            return result;
+        }
+    }
+
+    private static final class GroupStats {
+        private final long firstTime;
+        private long occurrences = 1;
+
+        GroupStats(long firstTime) {
+            this.firstTime = firstTime;
+        }
+    }
+
+    // long 的二叉最小堆，避免 PriorityQueue<Long> 的装箱
+    private static final class LongMinHeap {
+        private long[] heap;
+        private int size;
+
+        LongMinHeap(int capacity) {
+            heap = new long[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return heap[index];
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void add(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        long poll() {
+            long result = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) {
+                heap[i] = last;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.Cron;
+import com.cronutils.model.time.ExecutionTime;
+
+/**
+ * 缓存中的一条编译结果：解析后的 Cron、ExecutionTime、位图调度、规范形式与各语言的描述。
+ * 规范形式相同的写法共用同一个 ExecutionTime 与位图，描述仍按各自的写法生成。
+ * 无效表达式同样缓存，只保留错误信息。
+ */
+public final class CompiledCron {
+
+    private final Cron cron;
+    private final ExecutionTime executionTime;
+    private final BitsetSchedule bitsetSchedule;
+    // 下标为 DescriptionLanguage.ordinal()
+    private final String[] descriptions;
+    private final CanonicalForm canonicalForm;
+    private final String error;
+
+    private CompiledCron(Cron cron, ExecutionTime executionTime, BitsetSchedule bitsetSchedule,
+                         String[] descriptions, CanonicalForm canonicalForm, String error) {
+        this.cron = cron;
+        this.executionTime = executionTime;
+        this.bitsetSchedule = bitsetSchedule;
+        this.descriptions = descriptions;
+        this.canonicalForm = canonicalForm;
+        this.error = error;
+    }
+
+    static CompiledCron valid(Cron cron, ExecutionTime executionTime, BitsetSchedule bitsetSchedule,
+                              String[] descriptions, CanonicalForm canonicalForm) {
+        return new CompiledCron(cron, executionTime, bitsetSchedule, descriptions, canonicalForm, null);
+    }
+
+    static CompiledCron invalid(String error) {
+        return new CompiledCron(null, null, null, null, null, error);
+    }
+
+    public boolean isValid() { return error == null; }
+
+    public Cron getCron() { return cron; }
+
+    public ExecutionTime getExecutionTime() { return executionTime; }
+
+    /** 无法用位图表示时为 null，此时回退到 ExecutionTime */
+    public BitsetSchedule getBitsetSchedule() { return bitsetSchedule; }
+
+    public String getHumanReadable() { return getHumanReadable(DescriptionLanguage.ZH); }
+
+    public String getHumanReadable(DescriptionLanguage language) { return descriptions[language.ordinal()]; }
+
+    public CanonicalForm getCanonicalForm() { return canonicalForm; }
+
+    public String getError() { return error; }
+}
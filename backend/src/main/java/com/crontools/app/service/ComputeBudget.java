@@ -0,0 +1,71 @@
+package com.crontools.app.service;
+
+/**
+ * 单次请求的计算预算：限制 nextExecution/lastExecution 的调用次数与总耗时，上限不大于 0 时不限制。
+ *
+ * <p>cron-utils 的单次调用无法中断，匹配稀少的表达式（如 {@code 0 0 0 ? 2 MON#5 2090-2099}）每次都要
+ * 向后搜索到 2099 年，多时区、多次数叠加后会长时间占用请求线程。预算在每次调用前检查，超出时抛出
+ * {@link Exceeded}，请求立即失败；因此实际耗时最多超出截止时间一次调用的时间。</p>
+ */
+final class ComputeBudget {
+
+    enum Reason {
+        ITERATIONS("iterations"),
+        DEADLINE("deadline");
+
+        private final String tag;
+
+        Reason(String tag) {
+            this.tag = tag;
+        }
+
+        String tag() {
+            return tag;
+        }
+    }
+
+    private final long maxIterations;
+    private final long timeoutMillis;
+    private final long deadlineNanos;
+    private long iterations;
+
+    ComputeBudget(long maxIterations, long timeoutMillis) {
+        this.maxIterations = maxIterations;
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineNanos = System.nanoTime() + timeoutMillis * 1_000_000;
+    }
+
+    /**
+     * 在每次调用 nextExecution/lastExecution 之前调用。
+     */
+    void charge() {
+        iterations++;
+        if (maxIterations > 0 && iterations > maxIterations) {
+            throw new Exceeded(Reason.ITERATIONS, "计算超出预算: 迭代次数超过 " + maxIterations + " 次");
+        }
+        if (timeoutMillis > 0 && System.nanoTime() - deadlineNanos > 0) {
+            throw new Exceeded(Reason.DEADLINE, "计算超出预算: 耗时超过 " + timeoutMillis + " ms");
+        }
+    }
+
+    /**
+     * 已记录的调用次数，包括超出预算而被拒绝的那一次。
+     */
+    long used() {
+        return iterations;
+    }
+
+    static final class Exceeded extends IllegalArgumentException {
+
+        private final Reason reason;
+
+        Exceeded(Reason reason, String message) {
+            super(message);
+            this.reason = reason;
+        }
+
+        Reason getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.Cron;
+import com.cronutils.model.CronType;
+import com.cronutils.model.field.CronField;
+import com.cronutils.model.field.expression.And;
+import com.cronutils.model.field.expression.Between;
+import com.cronutils.model.field.expression.Every;
+import com.cronutils.model.field.expression.FieldExpression;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 由解析后的 {@link Cron} 生成规范形式与指纹。
+ *
+ * <p>其他方言先映射为等价的 Quartz 语法树，再展开为 {@link BitsetSchedule} 的取值集合，按集合重新输出
+ * （见 {@link BitsetSchedule#canonicalExpression()}），因此空白、大小写、星期/月份名称与数字、
+ * {@code *} 与 {@code ?}、范围与列表等写法差异都会消失。指纹为规范形式 UTF-8 字节的 FNV-1a 哈希，
+ * 再经 MurmurHash3 的 fmix64 混合，使低位也均匀分布。</p>
+ *
+ * <p>cron-utils 9.2 对首尾回绕的范围（如小时 {@code 22-2}）只取起点，与位图的展开不一致；
+ * 含这类范围以及位图无法表示的表达式不做归约，规范形式退回到压缩空白后的原表达式，指纹中加入方言名，
+ * 避免不同方言的相同字符串得到同一指纹。</p>
+ */
+final class CronCanonicalizer {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CronCanonicalizer() {}
+
+    /**
+     * cron 须为 type 对应的定义解析并校验过的语法树，normalized 为压缩空白后的原表达式。
+     */
+    static CanonicalForm canonicalize(Cron cron, CronType type, String normalized) {
+        Cron quartz = type == CronType.QUARTZ ? cron : CronService.toQuartz(cron, type);
+        if (quartz != null && !hasWrappingRange(quartz)) {
+            try {
+                String expression = BitsetSchedule.compile(quartz, null).canonicalExpression();
+                return new CanonicalForm(expression, fingerprint(expression));
+            } catch (RuntimeException e) {
+                // 位图无法表示，按原表达式处理
+            }
+        }
+        return new CanonicalForm(normalized, fingerprint(type.name() + ' ' + normalized));
+    }
+
+    static long fingerprint(String expression) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : expression.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return fmix64(hash);
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static boolean hasWrappingRange(Cron cron) {
+        for (CronField field : cron.retrieveFieldsAsMap().values()) {
+            if (hasWrappingRange(field.getExpression())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasWrappingRange(FieldExpression expression) {
+        if (expression instanceof Between between) {
+            return between.getFrom().getValue() instanceof Integer from
+                    && between.getTo().getValue() instanceof Integer to
+                    && from > to;
+        }
+        if (expression instanceof Every every) {
+            return hasWrappingRange(every.getExpression());
+        }
+        if (expression instanceof And and) {
+            for (FieldExpression part : and.getExpressions()) {
+                if (hasWrappingRange(part)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
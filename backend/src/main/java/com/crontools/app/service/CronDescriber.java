@@ -0,0 +1,790 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.Cron;
+import com.cronutils.model.field.CronField;
+import com.cronutils.model.field.CronFieldName;
+import com.cronutils.model.field.expression.Always;
+import com.cronutils.model.field.expression.And;
+import com.cronutils.model.field.expression.Between;
+import com.cronutils.model.field.expression.Every;
+import com.cronutils.model.field.expression.FieldExpression;
+import com.cronutils.model.field.expression.On;
+import com.cronutils.model.field.expression.QuestionMark;
+import com.cronutils.model.field.value.IntegerFieldValue;
+import com.cronutils.model.field.value.SpecialChar;
+
+/**
+ * 根据已校验的 Quartz {@link Cron} 语法树生成自然语言描述。
+ *
+ * <p>按字段表达式（{@link On}、{@link Between}、{@link Every}、{@link And}）拼接，覆盖范围、列表、步长与 L/W/LW/#，
+ * 月份和星期输出中文或英文名称。不使用正则、不拆分字符串，除结果所在的 StringBuilder 外不创建对象；
+ * 描述在编译时生成并随 {@link CompiledCron} 缓存。</p>
+ */
+final class CronDescriber {
+
+    private static final String[] WEEKDAYS_ZH = {"", "日", "一", "二", "三", "四", "五", "六"};
+    private static final String[] WEEKDAYS_EN = {"", "Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
+    private static final String[] MONTHS_EN = {"", "January", "February", "March", "April", "May", "June",
+            "July", "August", "September", "October", "November", "December"};
+    private static final String[] ORDINALS_EN = {"", "first", "second", "third", "fourth", "fifth"};
+
+    // 时间字段的单位，下标依次为秒、分、时
+    private static final String[] UNITS_ZH = {"秒", "分钟", "小时"};
+    private static final String[] UNITS_EN = {"second", "minute", "hour"};
+
+    private static final int SECOND = 0;
+    private static final int MINUTE = 1;
+    private static final int HOUR = 2;
+    private static final int DAY_OF_MONTH = 3;
+    private static final int MONTH = 4;
+    private static final int DAY_OF_WEEK = 5;
+    private static final int YEAR = 6;
+
+    // 字段形态：* 或 ?、固定值/范围/列表、步长
+    private static final int ALL = 0;
+    private static final int SET = 1;
+    private static final int STEP = 2;
+
+    // 固定时刻的组合数不超过该值时逐个列出，否则按字段描述
+    private static final int MAX_LISTED_TIMES = 6;
+
+    // 周一至周五、周六和周日在星期位图中的取值（Quartz 中 1 为周日）
+    private static final int WEEKDAYS = 0b0111_1100;
+    private static final int WEEKEND = 0b1000_0010;
+
+    private static final Unsupported UNSUPPORTED = new Unsupported();
+
+    private CronDescriber() {
+    }
+
+    /**
+     * 生成描述；遇到无法描述的字段组合时返回 "自定义调度: 表达式"（英文为 "Custom schedule: ..."）。
+     */
+    static String describe(Cron cron, String expression, DescriptionLanguage language) {
+        boolean zh = language != DescriptionLanguage.EN;
+        try {
+            StringBuilder sb = new StringBuilder(48);
+            if (zh) {
+                describeZh(sb, cron);
+            } else {
+                describeEn(sb, cron);
+            }
+            return sb.toString();
+        } catch (Unsupported e) {
+            return custom(expression, language);
+        }
+    }
+
+    static String custom(String expression, DescriptionLanguage language) {
+        return (language == DescriptionLanguage.EN ? "Custom schedule: " : "自定义调度: ") + expression;
+    }
+
+    // ---------------------------------------------------------------- 中文
+
+    private static void describeZh(StringBuilder sb, Cron cron) {
+        FieldExpression second = expression(cron, CronFieldName.SECOND);
+        FieldExpression minute = expression(cron, CronFieldName.MINUTE);
+        FieldExpression hour = expression(cron, CronFieldName.HOUR);
+        if (fixedTimes(hour, minute, second)) {
+            appendDateZh(sb, cron);
+            sb.append(' ');
+            appendTimes(sb, hour, minute, second, true);
+            sb.append(" 执行");
+            return;
+        }
+        if (!everyDay(cron)) {
+            appendDateZh(sb, cron);
+            sb.append(' ');
+        }
+        appendClockZh(sb, hour, minute, second);
+        sb.append("执行");
+    }
+
+    private static void appendClockZh(StringBuilder sb, FieldExpression hour, FieldExpression minute, FieldExpression second) {
+        int h = shape(hour);
+        int m = shape(minute);
+        int s = shape(second);
+        // 上层字段为 * 而下层字段按分/秒循环时省略上层，即 "每分钟" 而不是 "每小时每分钟"
+        if (h != ALL || m == SET) {
+            appendTimeFieldZh(sb, hour, h, HOUR);
+        }
+        if (isZero(minute) && s == SET) {
+            if (h == ALL) {
+                sb.append("整点");
+            } else if (h == SET) {
+                sb.append(hasRange(hour) ? "每小时整点" : "整");
+            }
+        } else if (m != ALL || s == SET) {
+            appendTimeFieldZh(sb, minute, m, MINUTE);
+        }
+        if (!isZero(second)) {
+            appendTimeFieldZh(sb, second, s, SECOND);
+        }
+    }
+
+    private static void appendTimeFieldZh(StringBuilder sb, FieldExpression expression, int shape, int field) {
+        if (shape == ALL) {
+            sb.append('每').append(UNITS_ZH[field]);
+        } else if (shape == SET) {
+            if (field != HOUR) {
+                sb.append('第');
+            }
+            appendList(sb, expression, field, true);
+            sb.append(field == HOUR ? "点" : UNITS_ZH[field]);
+        } else {
+            Every every = (Every) expression;
+            FieldExpression base = every.getExpression();
+            if (base instanceof Between) {
+                appendList(sb, base, field, true);
+                sb.append(field == HOUR ? "点" : UNITS_ZH[field]);
+            } else if (base instanceof On on && on.getTime().getValue() != 0) {
+                sb.append(field == HOUR ? "从" : "从第").append(value(on)).append(field == HOUR ? "点" : UNITS_ZH[field]).append('起');
+            }
+            appendPeriodZh(sb, every, UNITS_ZH[field]);
+        }
+    }
+
+    private static void appendDateZh(StringBuilder sb, Cron cron) {
+        FieldExpression dom = expression(cron, CronFieldName.DAY_OF_MONTH);
+        FieldExpression month = expression(cron, CronFieldName.MONTH);
+        FieldExpression dow = expression(cron, CronFieldName.DAY_OF_WEEK);
+        FieldExpression year = expression(cron, CronFieldName.YEAR);
+        boolean monthAll = shape(month) == ALL;
+        boolean yearAll = shape(year) == ALL;
+        if (!yearAll) {
+            appendCalendarFieldZh(sb, year, YEAR, "年", "年");
+        } else if (!monthAll) {
+            sb.append("每年");
+        }
+        if (!monthAll) {
+            appendCalendarFieldZh(sb, month, MONTH, "月", "个月");
+        }
+
+        boolean domAll = shape(dom) == ALL;
+        boolean dowAll = shape(dow) == ALL;
+        if (domAll && dowAll) {
+            sb.append("每天");
+        } else if (!domAll) {
+            requireAll(dow);
+            if (monthAll) {
+                sb.append("每月");
+            } else if (!(month instanceof On) || !isPlainSet(dom)) {
+                sb.append('的');
+            }
+            appendDayOfMonthZh(sb, dom);
+        } else {
+            if (!monthAll || !yearAll) {
+                sb.append('的');
+            }
+            appendDayOfWeekZh(sb, dow, monthAll);
+        }
+    }
+
+    // 年、月字段：列表或范围直接列出，步长写成 "从X月起每N个月"
+    private static void appendCalendarFieldZh(StringBuilder sb, FieldExpression expression, int field,
+                                              String suffix, String unit) {
+        if (expression instanceof Every every) {
+            FieldExpression base = every.getExpression();
+            if (base instanceof Between) {
+                appendList(sb, base, field, true);
+                sb.append(suffix);
+            } else if (base instanceof On on) {
+                sb.append('从').append(value(on)).append(suffix).append('起');
+            }
+            appendPeriodZh(sb, every, unit);
+        } else {
+            appendList(sb, expression, field, true);
+            sb.append(suffix);
+        }
+    }
+
+    private static void appendDayOfMonthZh(StringBuilder sb, FieldExpression dom) {
+        if (isPlainSet(dom)) {
+            appendList(sb, dom, DAY_OF_MONTH, true);
+            sb.append('日');
+            return;
+        }
+        if (dom instanceof Every every) {
+            FieldExpression base = every.getExpression();
+            if (base instanceof Between) {
+                appendList(sb, base, DAY_OF_MONTH, true);
+                sb.append('日');
+            } else {
+                sb.append('从').append(base instanceof On on ? value(on) : 1).append("日起");
+            }
+            appendPeriodZh(sb, every, "天");
+            return;
+        }
+        int count = itemCount(dom);
+        for (int i = 0; i < count; i++) {
+            FieldExpression item = item(dom, i);
+            appendSeparator(sb, i, count, true);
+            if (isPlainSet(item)) {
+                appendList(sb, item, DAY_OF_MONTH, true);
+                sb.append('日');
+                continue;
+            }
+            On on = special(item);
+            switch (on.getSpecialChar().getValue()) {
+                case L -> {
+                    int offset = nth(on);
+                    if (offset > 0) {
+                        sb.append("倒数第").append(offset + 1).append('天');
+                    } else {
+                        sb.append("最后一天");
+                    }
+                }
+                case W -> sb.append(value(on)).append("日最近的工作日");
+                case LW -> sb.append("最后一个工作日");
+                default -> throw UNSUPPORTED;
+            }
+        }
+    }
+
+    private static void appendDayOfWeekZh(StringBuilder sb, FieldExpression dow, boolean monthAll) {
+        int mask = weekdayMask(dow);
+        if (mask == WEEKDAYS) {
+            sb.append("工作日");
+            return;
+        }
+        if (mask == WEEKEND) {
+            sb.append("周末");
+            return;
+        }
+        if (isPlainSet(dow)) {
+            sb.append("每周");
+            appendList(sb, dow, DAY_OF_WEEK, true);
+            return;
+        }
+        if (dow instanceof Every every) {
+            FieldExpression base = every.getExpression();
+            sb.append("每周");
+            if (base instanceof Between) {
+                appendList(sb, base, DAY_OF_WEEK, true);
+            } else {
+                sb.append("从周").append(WEEKDAYS_ZH[base instanceof On on ? value(on) : 1]).append('起');
+            }
+            appendPeriodZh(sb, every, "天");
+            return;
+        }
+        int count = itemCount(dow);
+        for (int i = 0; i < count; i++) {
+            FieldExpression item = item(dow, i);
+            appendSeparator(sb, i, count, true);
+            if (isPlainSet(item)) {
+                sb.append("每周");
+                appendList(sb, item, DAY_OF_WEEK, true);
+                continue;
+            }
+            On on = special(item);
+            int day = on.getTime().getValue();
+            SpecialChar specialChar = on.getSpecialChar().getValue();
+            if (specialChar == SpecialChar.L && day < 1) {
+                // 单独的 L 表示周六
+                sb.append("每周六");
+                continue;
+            }
+            if (monthAll) {
+                sb.append("每月");
+            }
+            switch (specialChar) {
+                case L -> sb.append("最后一个周").append(WEEKDAYS_ZH[day]);
+                case HASH -> sb.append('第').append(nth(on)).append("个周").append(WEEKDAYS_ZH[day]);
+                default -> throw UNSUPPORTED;
+            }
+        }
+    }
+
+    private static void appendPeriodZh(StringBuilder sb, Every every, String unit) {
+        int period = every.getPeriod().getValue();
+        sb.append('每');
+        if (period != 1) {
+            sb.append(period);
+        }
+        sb.append(unit);
+    }
+
+    // ---------------------------------------------------------------- English
+
+    private static void describeEn(StringBuilder sb, Cron cron) {
+        FieldExpression second = expression(cron, CronFieldName.SECOND);
+        FieldExpression minute = expression(cron, CronFieldName.MINUTE);
+        FieldExpression hour = expression(cron, CronFieldName.HOUR);
+        int start = sb.length();
+        if (fixedTimes(hour, minute, second)) {
+            appendDateEn(sb, cron);
+            sb.append(" at ");
+            appendTimes(sb, hour, minute, second, false);
+        } else {
+            appendClockEn(sb, hour, minute, second);
+            if (!everyDay(cron)) {
+                sb.append(", ");
+                appendDateEn(sb, cron);
+            }
+        }
+        sb.setCharAt(start, Character.toUpperCase(sb.charAt(start)));
+    }
+
+    // 英文按秒、分、时的顺序列出子句，如 "every 15 minutes, during hours 9-17"
+    private static void appendClockEn(StringBuilder sb, FieldExpression hour, FieldExpression minute, FieldExpression second) {
+        int h = shape(hour);
+        int m = shape(minute);
+        int s = shape(second);
+        int start = sb.length();
+        boolean hourDone = h == ALL && m != SET;
+        if (!isZero(second)) {
+            appendTimeFieldEn(sb, second, s, SECOND);
+        }
+        if (isZero(minute) && s == SET) {
+            if (h == ALL) {
+                appendClause(sb, start).append("every hour on the hour");
+                hourDone = true;
+            } else if (h == SET) {
+                appendClause(sb, start).append("on the hour");
+            }
+        } else if (m != ALL || s == SET) {
+            appendClause(sb, start);
+            appendTimeFieldEn(sb, minute, m, MINUTE);
+        }
+        if (!hourDone) {
+            appendClause(sb, start);
+            appendTimeFieldEn(sb, hour, h, HOUR);
+        }
+    }
+
+    private static StringBuilder appendClause(StringBuilder sb, int start) {
+        if (sb.length() > start) {
+            sb.append(", ");
+        }
+        return sb;
+    }
+
+    private static void appendTimeFieldEn(StringBuilder sb, FieldExpression expression, int shape, int field) {
+        String unit = UNITS_EN[field];
+        if (shape == ALL) {
+            sb.append("every ").append(unit);
+        } else if (shape == SET) {
+            sb.append(field == HOUR ? "during " : "at ").append(unit);
+            if (itemCount(expression) > 1 || expression instanceof Between) {
+                sb.append('s');
+            }
+            sb.append(' ');
+            appendList(sb, expression, field, false);
+        } else {
+            Every every = (Every) expression;
+            appendPeriodEn(sb, every, unit);
+            FieldExpression base = every.getExpression();
+            if (base instanceof Between) {
+                sb.append(" during ").append(unit).append("s ");
+                appendList(sb, base, field, false);
+            } else if (base instanceof On on && on.getTime().getValue() != 0) {
+                sb.append(" starting at ").append(unit).append(' ').append(value(on));
+            }
+        }
+    }
+
+    private static void appendDateEn(StringBuilder sb, Cron cron) {
+        FieldExpression dom = expression(cron, CronFieldName.DAY_OF_MONTH);
+        FieldExpression month = expression(cron, CronFieldName.MONTH);
+        FieldExpression dow = expression(cron, CronFieldName.DAY_OF_WEEK);
+        FieldExpression year = expression(cron, CronFieldName.YEAR);
+        int monthShape = shape(month);
+
+        boolean domAll = shape(dom) == ALL;
+        boolean dowAll = shape(dow) == ALL;
+        if (!domAll) {
+            requireAll(dow);
+            appendDayOfMonthEn(sb, dom);
+            appendMonthScopeEn(sb, month);
+        } else {
+            if (dowAll) {
+                sb.append("every day");
+            } else {
+                appendDayOfWeekEn(sb, dow, month);
+            }
+            if (monthShape == SET && (dowAll || dow instanceof Every || isPlainSet(dow))) {
+                sb.append(" in ");
+                appendList(sb, month, MONTH, false);
+            }
+        }
+        if (monthShape == STEP) {
+            appendCalendarFieldEn(sb, month, MONTH, "month");
+        }
+        if (shape(year) != ALL) {
+            appendCalendarFieldEn(sb, year, YEAR, "year");
+        }
+    }
+
+    // 按日期或 "第 N 个星期几" 描述时的月份范围：of every month / of January and July / of the month
+    private static void appendMonthScopeEn(StringBuilder sb, FieldExpression month) {
+        int shape = shape(month);
+        if (shape == ALL) {
+            sb.append(" of every month");
+        } else if (shape == SET) {
+            sb.append(" of ");
+            appendList(sb, month, MONTH, false);
+        } else {
+            sb.append(" of the month");
+        }
+    }
+
+    private static void appendCalendarFieldEn(StringBuilder sb, FieldExpression expression, int field, String unit) {
+        if (expression instanceof Every every) {
+            sb.append(", ");
+            appendPeriodEn(sb, every, unit);
+            FieldExpression base = every.getExpression();
+            if (base instanceof Between) {
+                sb.append(" from ");
+                appendList(sb, base, field, false);
+            } else if (base instanceof On on) {
+                sb.append(" starting in ");
+                appendValue(sb, value(on), field, false);
+            }
+        } else {
+            sb.append(" in ");
+            appendList(sb, expression, field, false);
+        }
+    }
+
+    private static void appendDayOfMonthEn(StringBuilder sb, FieldExpression dom) {
+        if (isPlainSet(dom)) {
+            sb.append("on the ");
+            appendList(sb, dom, DAY_OF_MONTH, false);
+            return;
+        }
+        if (dom instanceof Every every) {
+            appendPeriodEn(sb, every, "day");
+            FieldExpression base = every.getExpression();
+            if (base instanceof Between) {
+                sb.append(" from the ");
+                appendList(sb, base, DAY_OF_MONTH, false);
+            } else {
+                sb.append(" starting on the ");
+                appendValue(sb, base instanceof On on ? value(on) : 1, DAY_OF_MONTH, false);
+            }
+            return;
+        }
+        int count = itemCount(dom);
+        for (int i = 0; i < count; i++) {
+            FieldExpression item = item(dom, i);
+            appendSeparator(sb, i, count, false);
+            if (isPlainSet(item)) {
+                sb.append("on the ");
+                appendList(sb, item, DAY_OF_MONTH, false);
+                continue;
+            }
+            On on = special(item);
+            switch (on.getSpecialChar().getValue()) {
+                case L -> {
+                    int offset = nth(on);
+                    if (offset > 0) {
+                        sb.append(offset).append(offset == 1 ? " day" : " days").append(" before the last day");
+                    } else {
+                        sb.append("on the last day");
+                    }
+                }
+                case W -> {
+                    sb.append("on the weekday nearest the ");
+                    appendValue(sb, value(on), DAY_OF_MONTH, false);
+                }
+                case LW -> sb.append("on the last weekday");
+                default -> throw UNSUPPORTED;
+            }
+        }
+    }
+
+    private static void appendDayOfWeekEn(StringBuilder sb, FieldExpression dow, FieldExpression month) {
+        int mask = weekdayMask(dow);
+        if (mask == WEEKDAYS) {
+            sb.append("every weekday");
+            return;
+        }
+        if (mask == WEEKEND) {
+            sb.append("on weekends");
+            return;
+        }
+        if (isPlainSet(dow)) {
+            sb.append("every ");
+            appendList(sb, dow, DAY_OF_WEEK, false);
+            return;
+        }
+        if (dow instanceof Every every) {
+            appendPeriodEn(sb, every, "day");
+            FieldExpression base = every.getExpression();
+            if (base instanceof Between) {
+                sb.append(" from ");
+                appendList(sb, base, DAY_OF_WEEK, false);
+            } else {
+                sb.append(" starting on ").append(WEEKDAYS_EN[base instanceof On on ? value(on) : 1]);
+            }
+            return;
+        }
+        int count = itemCount(dow);
+        for (int i = 0; i < count; i++) {
+            FieldExpression item = item(dow, i);
+            appendSeparator(sb, i, count, false);
+            if (isPlainSet(item)) {
+                sb.append("every ");
+                appendList(sb, item, DAY_OF_WEEK, false);
+                continue;
+            }
+            On on = special(item);
+            int day = on.getTime().getValue();
+            SpecialChar specialChar = on.getSpecialChar().getValue();
+            if (specialChar == SpecialChar.L && day < 1) {
+                sb.append("every Saturday");
+                continue;
+            }
+            switch (specialChar) {
+                case L -> sb.append("on the last ").append(WEEKDAYS_EN[day]);
+                case HASH -> {
+                    int nth = nth(on);
+                    if (nth < 1 || nth >= ORDINALS_EN.length) {
+                        throw UNSUPPORTED;
+                    }
+                    sb.append("on the ").append(ORDINALS_EN[nth]).append(' ').append(WEEKDAYS_EN[day]);
+                }
+                default -> throw UNSUPPORTED;
+            }
+            appendMonthScopeEn(sb, month);
+        }
+    }
+
+    private static void appendPeriodEn(StringBuilder sb, Every every, String unit) {
+        int period = every.getPeriod().getValue();
+        sb.append("every ");
+        if (period != 1) {
+            sb.append(period).append(' ').append(unit).append('s');
+        } else {
+            sb.append(unit);
+        }
+    }
+
+    // ---------------------------------------------------------------- 公共部分
+
+    // 时、分、秒都是固定值且组合数不多时按 HH:mm[:ss] 逐个列出
+    private static boolean fixedTimes(FieldExpression hour, FieldExpression minute, FieldExpression second) {
+        if (!isValueList(hour) || !isValueList(minute) || !isValueList(second)) {
+            return false;
+        }
+        return itemCount(hour) * itemCount(minute) * itemCount(second) <= MAX_LISTED_TIMES;
+    }
+
+    private static void appendTimes(StringBuilder sb, FieldExpression hour, FieldExpression minute,
+                                    FieldExpression second, boolean zh) {
+        boolean withSeconds = !isZero(second);
+        int hours = itemCount(hour);
+        int minutes = itemCount(minute);
+        int seconds = itemCount(second);
+        int total = hours * minutes * seconds;
+        int index = 0;
+        for (int h = 0; h < hours; h++) {
+            for (int m = 0; m < minutes; m++) {
+                for (int s = 0; s < seconds; s++) {
+                    appendSeparator(sb, index++, total, zh);
+                    appendTwoDigits(sb, value((On) item(hour, h))).append(':');
+                    appendTwoDigits(sb, value((On) item(minute, m)));
+                    if (withSeconds) {
+                        appendTwoDigits(sb.append(':'), value((On) item(second, s)));
+                    }
+                }
+            }
+        }
+    }
+
+    // 列出由固定值和范围组成的字段，中文以 "、" 分隔，英文为 "a, b and c"
+    private static void appendList(StringBuilder sb, FieldExpression expression, int field, boolean zh) {
+        int count = itemCount(expression);
+        for (int i = 0; i < count; i++) {
+            FieldExpression item = item(expression, i);
+            appendSeparator(sb, i, count, zh);
+            if (item instanceof Between between) {
+                appendValue(sb, intValue(between.getFrom().getValue()), field, zh);
+                if (field == DAY_OF_WEEK && zh) {
+                    sb.append("至周");
+                } else {
+                    sb.append(zh || field < DAY_OF_MONTH || field == YEAR ? "-" : " through ");
+                }
+                appendValue(sb, intValue(between.getTo().getValue()), field, zh);
+            } else if (item instanceof On on && on.getSpecialChar().getValue() == SpecialChar.NONE) {
+                appendValue(sb, value(on), field, zh);
+            } else {
+                throw UNSUPPORTED;
+            }
+        }
+    }
+
+    private static void appendValue(StringBuilder sb, int value, int field, boolean zh) {
+        if (field == DAY_OF_WEEK) {
+            if (value < 1 || value > 7) {
+                throw UNSUPPORTED;
+            }
+            sb.append(zh ? WEEKDAYS_ZH[value] : WEEKDAYS_EN[value]);
+        } else if (field == MONTH && !zh) {
+            if (value < 1 || value > 12) {
+                throw UNSUPPORTED;
+            }
+            sb.append(MONTHS_EN[value]);
+        } else if (field == DAY_OF_MONTH && !zh) {
+            sb.append(value);
+            int mod100 = value % 100;
+            int mod10 = value % 10;
+            if (mod100 >= 11 && mod100 <= 13) {
+                sb.append("th");
+            } else {
+                sb.append(mod10 == 1 ? "st" : mod10 == 2 ? "nd" : mod10 == 3 ? "rd" : "th");
+            }
+        } else {
+            sb.append(value);
+        }
+    }
+
+    private static void appendSeparator(StringBuilder sb, int index, int count, boolean zh) {
+        if (index == 0) {
+            return;
+        }
+        if (zh) {
+            sb.append('、');
+        } else {
+            sb.append(index == count - 1 ? " and " : ", ");
+        }
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+
+    private static boolean everyDay(Cron cron) {
+        return shape(expression(cron, CronFieldName.DAY_OF_MONTH)) == ALL
+                && shape(expression(cron, CronFieldName.MONTH)) == ALL
+                && shape(expression(cron, CronFieldName.DAY_OF_WEEK)) == ALL
+                && shape(expression(cron, CronFieldName.YEAR)) == ALL;
+    }
+
+    private static int shape(FieldExpression expression) {
+        if (expression instanceof Always || expression instanceof QuestionMark) {
+            return ALL;
+        }
+        return expression instanceof Every ? STEP : SET;
+    }
+
+    private static void requireAll(FieldExpression expression) {
+        if (shape(expression) != ALL) {
+            throw UNSUPPORTED;
+        }
+    }
+
+    // 只由不带特殊字符的固定值和范围组成
+    private static boolean isPlainSet(FieldExpression expression) {
+        int count = itemCount(expression);
+        for (int i = 0; i < count; i++) {
+            FieldExpression item = item(expression, i);
+            boolean plain = item instanceof Between
+                    || item instanceof On on && on.getSpecialChar().getValue() == SpecialChar.NONE;
+            if (!plain) {
+                return false;
+            }
+        }
+        return !(expression instanceof Always || expression instanceof QuestionMark || expression instanceof Every);
+    }
+
+    // 只由不带特殊字符的固定值组成
+    private static boolean isValueList(FieldExpression expression) {
+        if (!(expression instanceof On || expression instanceof And)) {
+            return false;
+        }
+        int count = itemCount(expression);
+        for (int i = 0; i < count; i++) {
+            if (!(item(expression, i) instanceof On on) || on.getSpecialChar().getValue() != SpecialChar.NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasRange(FieldExpression expression) {
+        int count = itemCount(expression);
+        for (int i = 0; i < count; i++) {
+            if (item(expression, i) instanceof Between) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZero(FieldExpression expression) {
+        return expression instanceof On on && on.getSpecialChar().getValue() == SpecialChar.NONE && value(on) == 0;
+    }
+
+    // 普通星期集合的位图（bit 1-7），含特殊字符或步长时返回 -1
+    private static int weekdayMask(FieldExpression dow) {
+        if (!isPlainSet(dow)) {
+            return -1;
+        }
+        int mask = 0;
+        int count = itemCount(dow);
+        for (int i = 0; i < count; i++) {
+            FieldExpression item = item(dow, i);
+            if (item instanceof Between between) {
+                int from = intValue(between.getFrom().getValue());
+                int to = intValue(between.getTo().getValue());
+                if (from < 1 || from > 7 || to < 1 || to > 7) {
+                    throw UNSUPPORTED;
+                }
+                for (int day = from; day != to; day = day % 7 + 1) {
+                    mask |= 1 << day;
+                }
+                mask |= 1 << to;
+            } else {
+                mask |= 1 << value((On) item);
+            }
+        }
+        return mask;
+    }
+
+    private static On special(FieldExpression expression) {
+        if (expression instanceof On on && on.getSpecialChar().getValue() != SpecialChar.NONE) {
+            return on;
+        }
+        throw UNSUPPORTED;
+    }
+
+    private static int itemCount(FieldExpression expression) {
+        return expression instanceof And and ? and.getExpressions().size() : 1;
+    }
+
+    private static FieldExpression item(FieldExpression expression, int index) {
+        return expression instanceof And and ? and.getExpressions().get(index) : expression;
+    }
+
+    private static FieldExpression expression(Cron cron, CronFieldName name) {
+        CronField field = cron.retrieve(name);
+        return field == null ? Always.always() : field.getExpression();
+    }
+
+    private static int value(On on) {
+        return on.getTime().getValue();
+    }
+
+    private static int nth(On on) {
+        IntegerFieldValue nth = on.getNth();
+        return nth == null ? 0 : nth.getValue();
+    }
+
+    private static int intValue(Object value) {
+        if (value instanceof Integer integer) {
+            return integer;
+        }
+        throw UNSUPPORTED;
+    }
+
+    // 无法描述的字段组合，不记录栈
+    private static final class Unsupported extends RuntimeException {
+        Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.CronType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CronService} 各阶段的计时器与计数器。
+ *
+ * <p>计时器按 (阶段, Cron 类型, 结果) 在首次使用时注册并缓存在数组中，热路径上每个阶段只有一次
+ * {@code System.nanoTime()} 和一次 {@code record}，不创建 Tag 对象。并发首次注册时
+ * MeterRegistry 对相同 id 返回同一个实例，重复写入数组无害。</p>
+ */
+final class CronMetrics {
+
+    enum Stage {
+        /** CronParser.parse */
+        PARSE("cron.parse", "Cron 表达式解析耗时"),
+        /** Cron.validate */
+        VALIDATE("cron.validate", "Cron 表达式校验耗时"),
+        /** 规范形式与指纹生成 */
+        CANONICALIZE("cron.canonicalize", "规范形式生成耗时"),
+        /** ExecutionTime.forCron 与位图预编译，规范形式已缓存时只是一次查找 */
+        EXECUTION_TIME("cron.execution.build", "ExecutionTime 与位图调度构建耗时"),
+        /** 自然语言描述生成（所有语言） */
+        DESCRIBE("cron.describe", "描述生成耗时"),
+        /** 逐次计算下一次执行时间，tag engine 区分计算引擎 */
+        NEXT_TIMES("cron.next.iterate", "下一次执行时间迭代耗时"),
+        /** 反向计算上一次执行时间，tag engine 区分计算引擎 */
+        PREVIOUS_TIMES("cron.previous.iterate", "上一次执行时间迭代耗时");
+
+        private final String metricName;
+        private final String description;
+
+        Stage(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+    }
+
+    private static final CronType[] TYPES = CronType.values();
+    private static final NextTimeEngine[] ENGINES = NextTimeEngine.values();
+    private static final String[] OUTCOMES = {"success", "failure"};
+
+    private final MeterRegistry registry;
+
+    // [阶段][类型][引擎][结果]；引擎只对 NEXT_TIMES、PREVIOUS_TIMES 有意义，其余阶段固定使用下标 0
+    private final Timer[][][][] timers = new Timer[Stage.values().length][TYPES.length][ENGINES.length][OUTCOMES.length];
+    private final Counter[] invalidExpressions = new Counter[TYPES.length];
+    private final DistributionSummary[][] iterations = new DistributionSummary[TYPES.length][ENGINES.length];
+    private final Counter[][][] budgetExceeded = new Counter[TYPES.length][ENGINES.length][ComputeBudget.Reason.values().length];
+
+    CronMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 记录从 startNanos 到现在的耗时，返回当前的 nanoTime，便于连续计时下一个阶段。
+     */
+    long record(Stage stage, CronType type, boolean success, long startNanos) {
+        return record(stage, type, null, success, startNanos);
+    }
+
+    long record(Stage stage, CronType type, NextTimeEngine engine, boolean success, long startNanos) {
+        long now = System.nanoTime();
+        int engineIndex = engine != null ? engine.ordinal() : 0;
+        int outcome = success ? 0 : 1;
+        Timer timer = timers[stage.ordinal()][type.ordinal()][engineIndex][outcome];
+        if (timer == null) {
+            Timer.Builder builder = Timer.builder(stage.metricName)
+                    .description(stage.description)
+                    .tag("type", type.name())
+                    .tag("outcome", OUTCOMES[outcome])
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(500))
+                    .maximumExpectedValue(Duration.ofSeconds(1));
+            if (engine != null) {
+                builder.tag("engine", engine.name());
+            }
+            timer = builder.register(registry);
+            timers[stage.ordinal()][type.ordinal()][engineIndex][outcome] = timer;
+        }
+        timer.record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * 请求中出现无效表达式（包括命中缓存的无效编译结果）。
+     */
+    void invalidExpression(CronType type) {
+        Counter counter = invalidExpressions[type.ordinal()];
+        if (counter == null) {
+            counter = Counter.builder("cron.invalid.expressions")
+                    .description("请求中的无效 Cron 表达式次数")
+                    .tag("type", type.name())
+                    .register(registry);
+            invalidExpressions[type.ordinal()] = counter;
+        }
+        counter.increment();
+    }
+
+    /**
+     * 单个时区的执行时间计算消耗的预算，即 nextExecution 的调用次数（与返回的个数不同：
+     * 没有更多执行时间时最后一次调用不产生结果，超出预算时已消耗的调用也计入）。
+     */
+    void iterations(CronType type, NextTimeEngine engine, long count) {
+        DistributionSummary summary = iterations[type.ordinal()][engine.ordinal()];
+        if (summary == null) {
+            summary = DistributionSummary.builder("cron.next.iterations")
+                    .description("单次计算调用 nextExecution 的次数（消耗的迭代预算）")
+                    .tag("type", type.name())
+                    .tag("engine", engine.name())
+                    .register(registry);
+            iterations[type.ordinal()][engine.ordinal()] = summary;
+        }
+        summary.record(count);
+    }
+
+    /**
+     * 请求因超出计算预算而失败，reason 区分迭代次数与截止时间。
+     */
+    void budgetExceeded(CronType type, NextTimeEngine engine, ComputeBudget.Reason reason) {
+        Counter counter = budgetExceeded[type.ordinal()][engine.ordinal()][reason.ordinal()];
+        if (counter == null) {
+            counter = Counter.builder("cron.budget.exceeded")
+                    .description("超出计算预算而被拒绝的请求次数")
+                    .tag("type", type.name())
+                    .tag("engine", engine.name())
+                    .tag("reason", reason.tag())
+                    .register(registry);
+            budgetExceeded[type.ordinal()][engine.ordinal()][reason.ordinal()] = counter;
+        }
+        counter.increment();
+    }
+}
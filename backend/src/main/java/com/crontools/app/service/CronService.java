@@ -1,20 +1,40 @@
 package com.crontools.app.service;
 
+import com.cronutils.mapper.CronMapper;
 import com.cronutils.model.Cron;
 import com.cronutils.model.CronType;
-import com.cronutils.model.definition.CronDefinition;
 import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.model.time.ExecutionTime;
 import com.cronutils.parser.CronParser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongUnaryOperator;
 
 @Service
 public class CronService {
@@ -22,101 +42,566 @@ public class CronService {
     @Value("${app.default.timezone:Asia/Shanghai}")
     private String defaultTimezone;
 
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    @Value("${app.cron.engine:CRON_UTILS}")
+    private NextTimeEngine defaultEngine = NextTimeEngine.CRON_UTILS;
+
+    // 单次请求最多调用 nextExecution/lastExecution 的次数与最长计算时间，不大于 0 时不限制
+    @Value("${app.cron.budget.max-iterations:2000}")
+    private long budgetMaxIterations = 2000;
+
+    @Value("${app.cron.budget.timeout-ms:1000}")
+    private long budgetTimeoutMillis = 1000;
+
+    private static final long DEFAULT_CACHE_MAX_SIZE = 10_000;
+
+    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // 按写法缓存编译结果；ExecutionTime 与位图再按规范形式缓存，等价写法共用同一份
+    private final Cache<CacheKey, CompiledCron> compiledCache;
+
+    private final Cache<CanonicalKey, Schedule> canonicalCache;
+
+    // 每种方言一个 CronDefinition 与 CronParser，启动时构建；CronParser 构建后只读，可在线程间共享
+    private final Map<CronType, CronParser> parsers = new EnumMap<>(CronType.class);
+
+    private final CronMetrics metrics;
+
+    private static final int MAX_CACHED_ZONES = 1024;
+
+    private final Map<String, ZoneId> zones = new ConcurrentHashMap<>();
+
+    public CronService() {
+        this(DEFAULT_CACHE_MAX_SIZE);
+    }
+
+    public CronService(long cacheMaxSize) {
+        this(cacheMaxSize, new SimpleMeterRegistry());
+    }
+
+    // 没有 actuator 的上下文（如 @WebMvcTest 切片）中使用独立的 SimpleMeterRegistry
+    @Autowired
+    public CronService(@Value("${app.cron.cache.max-size:10000}") long cacheMaxSize,
+                       ObjectProvider<MeterRegistry> meterRegistry) {
+        this(cacheMaxSize, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public CronService(long cacheMaxSize, MeterRegistry meterRegistry) {
+        this.metrics = new CronMetrics(meterRegistry);
+        this.compiledCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        this.canonicalCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        for (CronType type : CronType.values()) {
+            parsers.put(type, new CronParser(CronDefinitionBuilder.instanceDefinitionFor(type)));
+        }
+    }
 
     public String parseCronToHuman(String cronExpression) {
+        return parseCronToHuman(cronExpression, null);
+    }
+
+    public String parseCronToHuman(String cronExpression, String type) {
+        return parseCronToHuman(cronExpression, type, null);
+    }
+
+    /**
+     * type 为 QUARTZ、UNIX、SPRING、SPRING53、CRON4J 之一，为空时按 QUARTZ 处理；lang 为 zh 或 en，为空时输出中文。
+     */
+    public String parseCronToHuman(String cronExpression, String type, String lang) {
+        DescriptionLanguage language = lang != null && !lang.isBlank() ? DescriptionLanguage.from(lang) : DescriptionLanguage.ZH;
+        CompiledCron compiled = compile(cronExpression, type);
+        if (!compiled.isValid()) {
+            metrics.invalidExpression(cronType(type));
+            throw new IllegalArgumentException("无效的 Cron 表达式: " + compiled.getError());
+        }
+        return compiled.getHumanReadable(language);
+    }
+
+    /**
+     * 表达式的规范形式与指纹，type 的含义与 {@link #parseCronToHuman(String, String, String)} 相同。
+     */
+    public CanonicalForm canonicalize(String cronExpression, String type) {
+        CompiledCron compiled = compile(cronExpression, type);
+        if (!compiled.isValid()) {
+            metrics.invalidExpression(cronType(type));
+            throw new IllegalArgumentException("无效的 Cron 表达式: " + compiled.getError());
+        }
+        return compiled.getCanonicalForm();
+    }
+
+    public List<String> getNextExecutionTimes(String cronExpression, String timezone, int count) {
+        return getNextExecutionTimes(cronExpression, timezone, count, null);
+    }
+
+    /**
+     * engine 为空时使用 {@code app.cron.engine} 配置的默认引擎，两种引擎输出完全一致：
+     * 位图无法表示的表达式（首尾回绕的范围、日期列表中的 L/W）即使选择 BITSET 也由 cron-utils 计算。
+     */
+    public List<String> getNextExecutionTimes(String cronExpression, String timezone, int count, String engine) {
+        return getNextExecutionTimes(cronExpression, null, timezone, count, engine);
+    }
+
+    /**
+     * 按 type 指定的方言从当前时间开始计算；位图引擎只支持 QUARTZ，其余方言总是使用 cron-utils。
+     */
+    public List<String> getNextExecutionTimes(String cronExpression, String type, String timezone, int count, String engine) {
         try {
-            CronDefinition cronDefinition = CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ);
-            CronParser parser = new CronParser(cronDefinition);
-            Cron cron = parser.parse(cronExpression);
-            cron.validate();
-            
-            return generateHumanReadable(cronExpression);
+            ZoneId zoneId = zone(timezone);
+            long[] epochSeconds = computeNext(cronExpression, type, List.of(zoneId), new long[]{Instant.now().getEpochSecond()}, count, engine)[0];
+            return TimeFormat.TEXT.format(epochSeconds, zoneId);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("无法计算执行时间: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 严格晚于 afterEpochSecond 的最多 count 次执行时间（epoch 秒），由调用方按需要的格式输出。
+     */
+    public long[] nextEpochSeconds(String cronExpression, String type, ZoneId zone, long afterEpochSecond, int count, String engine) {
+        try {
+            return computeNext(cronExpression, type, List.of(zone), new long[]{afterEpochSecond}, count, engine)[0];
         } catch (Exception e) {
-            throw new IllegalArgumentException("无效的 Cron 表达式: " + e.getMessage());
+            throw new IllegalArgumentException("无法计算执行时间: " + e.getMessage());
         }
     }
 
-    public List<String> getNextExecutionTimes(String cronExpression, String timezone, int count) {
+    /**
+     * 同一表达式在多个时区下的执行时间：表达式只编译一次，各时区共用同一个 ExecutionTime/位图。
+     * from 为空时从当前时间开始，否则从 from 之后开始（不含 from）；不带偏移量的 from 按各自的时区解释。
+     * 返回的数组与 timezones 按下标对应。
+     */
+    public long[][] nextEpochSeconds(String cronExpression, String type, List<String> timezones, String from, int count, String engine) {
         try {
-            CronDefinition cronDefinition = CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ);
-            CronParser parser = new CronParser(cronDefinition);
-            Cron cron = parser.parse(cronExpression);
-            cron.validate();
+            List<ZoneId> zoneIds = new ArrayList<>(timezones.size());
+            long[] after = new long[timezones.size()];
+            long now = Instant.now().getEpochSecond();
+            for (int i = 0; i < after.length; i++) {
+                ZoneId zoneId = zone(timezones.get(i));
+                zoneIds.add(zoneId);
+                after[i] = from != null && !from.isBlank() ? parseTime(from, zoneId).toEpochSecond() : now;
+            }
+            return computeNext(cronExpression, type, zoneIds, after, count, engine);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("无法计算执行时间: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 支持 "yyyy-MM-dd HH:mm:ss"、ISO 本地时间（按 zoneId 解释）与带偏移量的 ISO 时间。
+     */
+    static ZonedDateTime parseTime(String text, ZoneId zoneId) {
+        String value = text.trim();
+        try {
+            return LocalDateTime.parse(value, INPUT_FORMATTER).atZone(zoneId);
+        } catch (DateTimeParseException ignored) {
+            // 继续尝试 ISO 格式
+        }
+        try {
+            return LocalDateTime.parse(value).atZone(zoneId);
+        } catch (DateTimeParseException ignored) {
+            // 继续尝试带偏移量的格式
+        }
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(zoneId);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("无法解析时间: " + text);
+        }
+    }
 
-            ExecutionTime executionTime = ExecutionTime.forCron(cron);
-            ZoneId zoneId = ZoneId.of(timezone != null ? timezone : defaultTimezone);
-            ZonedDateTime now = ZonedDateTime.now(zoneId);
+    /**
+     * 解析时区并缓存 ZoneId；ZoneRegion 自身持有 ZoneRules，缓存 ZoneId 即缓存了时区规则。
+     * 为空时使用默认时区，无法识别时抛出 DateTimeException。
+     */
+    public ZoneId zone(String timezone) {
+        String id = timezone != null ? timezone : defaultTimezone;
+        ZoneId zone = zones.get(id);
+        if (zone == null) {
+            zone = ZoneId.of(id);
+            // 偏移量写法（如 GMT+08:00:01）可以有无限多种，缓存满后不再写入
+            if (zones.size() < MAX_CACHED_ZONES) {
+                zones.put(id, zone);
+            }
+        }
+        return zone;
+    }
+
+    private long[][] computeNext(String cronExpression, String type, List<ZoneId> zoneIds, long[] afterEpochSeconds, int count, String engine) {
+        CronType cronType = cronType(type);
+        CompiledCron compiled = compile(cronExpression, type);
+        if (!compiled.isValid()) {
+            metrics.invalidExpression(cronType);
+            throw new IllegalArgumentException(compiled.getError());
+        }
 
-            List<String> nextTimes = new ArrayList<>();
-            ZonedDateTime nextExecution = now;
+        NextTimeEngine selected = engine != null ? NextTimeEngine.from(engine) : defaultEngine;
+        NextTimeEngine used = selected == NextTimeEngine.BITSET && compiled.getBitsetSchedule() != null
+                ? NextTimeEngine.BITSET : NextTimeEngine.CRON_UTILS;
 
-            for (int i = 0; i < count; i++) {
-                Optional<ZonedDateTime> next = executionTime.nextExecution(nextExecution);
-                if (next.isPresent()) {
-                    nextExecution = next.get();
-                    nextTimes.add(nextExecution.format(FORMATTER) + " (" + zoneId + ")");
-                } else {
-                    break;
-                }
+        // 所有时区共用一份预算
+        ComputeBudget budget = newBudget();
+        long[][] results = new long[zoneIds.size()][];
+        for (int i = 0; i < results.length; i++) {
+            ZoneId zoneId = zoneIds.get(i);
+            long start = System.nanoTime();
+            long charged = budget.used();
+            long[] nextTimes = null;
+            try {
+                nextTimes = used == NextTimeEngine.BITSET
+                        ? nextTimesByBitset(compiled.getBitsetSchedule(), zoneId, afterEpochSeconds[i], count, budget)
+                        : nextTimesByExecutionTime(compiled.getExecutionTime(), zoneId, afterEpochSeconds[i], count, budget);
+                results[i] = nextTimes;
+            } catch (ComputeBudget.Exceeded e) {
+                metrics.budgetExceeded(cronType, used, e.getReason());
+                throw e;
+            } finally {
+                metrics.record(CronMetrics.Stage.NEXT_TIMES, cronType, used, nextTimes != null, start);
+                // 这个时区实际消耗的预算，失败时同样记录
+                metrics.iterations(cronType, used, budget.used() - charged);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * at 所在的那一秒是否恰好是一次执行（忽略秒以下部分）。QUARTZ 用位图做 O(字段数) 的检查；
+     * 其余方言没有位图，判断 at 前一秒之后的下一次执行是否就是 at。
+     */
+    public boolean matches(String cronExpression, String type, ZonedDateTime at) {
+        CompiledCron compiled = compile(cronExpression, type);
+        if (!compiled.isValid()) {
+            metrics.invalidExpression(cronType(type));
+            throw new IllegalArgumentException("无效的 Cron 表达式: " + compiled.getError());
+        }
+        ZonedDateTime second = at.truncatedTo(ChronoUnit.SECONDS);
+        if (compiled.getBitsetSchedule() != null) {
+            return compiled.getBitsetSchedule().isMatch(second.toEpochSecond(), second.getZone());
+        }
+        return compiled.getExecutionTime().nextExecution(second.minusSeconds(1))
+                .map(second::isEqual)
+                .orElse(false);
+    }
+
+    /**
+     * 严格早于 before 的最近 count 次执行时间，按时间倒序排列；engine 的含义与 {@link #getNextExecutionTimes} 相同，
+     * 位图引擎反向扫描，cron-utils 引擎使用 lastExecution。
+     */
+    public List<String> getPreviousExecutionTimes(String cronExpression, String type, ZonedDateTime before, int count, String engine) {
+        try {
+            CronType cronType = cronType(type);
+            CompiledCron compiled = compile(cronExpression, type);
+            if (!compiled.isValid()) {
+                metrics.invalidExpression(cronType);
+                throw new IllegalArgumentException(compiled.getError());
             }
 
-            return nextTimes;
+            NextTimeEngine selected = engine != null ? NextTimeEngine.from(engine) : defaultEngine;
+            NextTimeEngine used = selected == NextTimeEngine.BITSET && compiled.getBitsetSchedule() != null
+                    ? NextTimeEngine.BITSET : NextTimeEngine.CRON_UTILS;
+
+            ComputeBudget budget = newBudget();
+            long start = System.nanoTime();
+            List<String> previousTimes = null;
+            try {
+                previousTimes = used == NextTimeEngine.BITSET
+                        ? previousTimesByBitset(compiled.getBitsetSchedule(), before, count, budget)
+                        : previousTimesByExecutionTime(compiled.getExecutionTime(), before, count, budget);
+                return previousTimes;
+            } catch (ComputeBudget.Exceeded e) {
+                metrics.budgetExceeded(cronType, used, e.getReason());
+                throw e;
+            } finally {
+                metrics.record(CronMetrics.Stage.PREVIOUS_TIMES, cronType, used, previousTimes != null, start);
+            }
         } catch (Exception e) {
             throw new IllegalArgumentException("无法计算执行时间: " + e.getMessage());
         }
     }
 
-    private String generateHumanReadable(String cronExpression) {
-        String[] parts = cronExpression.trim().split("\\s+");
-        
-        if (parts.length != 6) {
-            return "无法解析的 Cron 表达式";
+    /**
+     * 惰性枚举 [from, to) 内的执行时间：迭代器只持有当前时间点，内存占用与窗口大小无关。
+     */
+    public Iterator<ZonedDateTime> fireTimes(String cronExpression, ZonedDateTime from, ZonedDateTime to, String engine) {
+        PrimitiveIterator.OfLong epochSeconds = fireEpochSeconds(cronExpression, from, to, engine);
+        ZoneId zoneId = to.getZone();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return epochSeconds.hasNext();
+            }
+
+            @Override
+            public ZonedDateTime next() {
+                return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds.nextLong()), zoneId);
+            }
+        };
+    }
+
+    /**
+     * 与 {@link #fireTimes} 相同，但直接返回 epoch 秒，供需要同时遍历大量表达式的调用方使用。
+     */
+    public PrimitiveIterator.OfLong fireEpochSeconds(String cronExpression, ZonedDateTime from, ZonedDateTime to, String engine) {
+        CompiledCron compiled = compile(cronExpression);
+        if (!compiled.isValid()) {
+            metrics.invalidExpression(CronType.QUARTZ);
+            throw new IllegalArgumentException("无效的 Cron 表达式: " + compiled.getError());
         }
+        NextTimeEngine selected = engine != null ? NextTimeEngine.from(engine) : defaultEngine;
+        ZoneId zoneId = to.getZone();
+        // nextExecution 返回严格晚于参数的时间，从 from 的前一秒开始使 from 本身可以命中
+        long start = from.toEpochSecond() - 1;
+        if (selected == NextTimeEngine.BITSET && compiled.getBitsetSchedule() != null) {
+            BitsetSchedule schedule = compiled.getBitsetSchedule();
+            return new FireTimeIterator(after -> schedule.nextExecution(after, zoneId), start, to.toEpochSecond());
+        }
+        ExecutionTime executionTime = compiled.getExecutionTime();
+        return new FireTimeIterator(after -> executionTime
+                .nextExecution(ZonedDateTime.ofInstant(Instant.ofEpochSecond(after), zoneId))
+                .map(ZonedDateTime::toEpochSecond)
+                .orElse(BitsetSchedule.NONE), start, to.toEpochSecond());
+    }
 
-        String seconds = parts[0];
-        String minutes = parts[1];
-        String hours = parts[2];
-        String dayOfMonth = parts[3];
-        String month = parts[4];
-        String dayOfWeek = parts[5];
+    /**
+     * 按 (规范化表达式, 类型) 取编译结果，未命中时解析并写入缓存，无效表达式也会被缓存。
+     * 新写法只需解析、校验和生成描述，规范形式已出现过时直接复用其 ExecutionTime 与位图。
+     */
+    public CompiledCron compile(String cronExpression) {
+        return compile(cronExpression, null);
+    }
 
-        StringBuilder description = new StringBuilder();
+    public CompiledCron compile(String cronExpression, String type) {
+        String normalized = normalize(cronExpression);
+        return compiledCache.get(new CacheKey(normalized, cronType(type)), key -> doCompile(key.expression(), key.type()));
+    }
 
+    public Cache<?, CompiledCron> getCompiledCache() {
+        return compiledCache;
+    }
+
+    public Cache<?, ?> getCanonicalCache() {
+        return canonicalCache;
+    }
+
+    // 依次经过解析、校验、规范化、构建（或复用）ExecutionTime/位图、生成描述，每个阶段单独计时，失败时记录在出错的阶段上
+    private CompiledCron doCompile(String cronExpression, CronType type) {
+        CronMetrics.Stage stage = CronMetrics.Stage.PARSE;
+        long start = System.nanoTime();
         try {
-            // 每分钟执行
-            if ("0".equals(seconds) && "*".equals(minutes) && "*".equals(hours) && "*".equals(dayOfMonth) && "*".equals(month) && "?".equals(dayOfWeek)) {
-                description.append("每分钟执行");
-            }
-            // 每小时整点执行
-            else if ("0".equals(seconds) && "0".equals(minutes) && "*".equals(hours) && "*".equals(dayOfMonth) && "*".equals(month) && "?".equals(dayOfWeek)) {
-                description.append("每小时整点执行");
+            Cron cron = parsers.get(type).parse(cronExpression);
+            start = metrics.record(stage, type, true, start);
+
+            stage = CronMetrics.Stage.VALIDATE;
+            cron.validate();
+            start = metrics.record(stage, type, true, start);
+
+            stage = CronMetrics.Stage.CANONICALIZE;
+            CanonicalForm canonicalForm = CronCanonicalizer.canonicalize(cron, type, cronExpression);
+            start = metrics.record(stage, type, true, start);
+
+            // 同一规范形式的第一个写法构建，之后的写法直接复用
+            stage = CronMetrics.Stage.EXECUTION_TIME;
+            Schedule schedule = canonicalCache.get(new CanonicalKey(canonicalForm, type), key -> {
+                ExecutionTime executionTime = ExecutionTime.forCron(cron);
+                return new Schedule(executionTime, type == CronType.QUARTZ ? compileBitset(cron, executionTime) : null);
+            });
+            start = metrics.record(stage, type, true, start);
+
+            stage = CronMetrics.Stage.DESCRIBE;
+            String[] descriptions = describe(type == CronType.QUARTZ ? cron : toQuartz(cron, type), cronExpression);
+            metrics.record(stage, type, true, start);
+            return CompiledCron.valid(cron, schedule.executionTime(), schedule.bitsetSchedule(), descriptions, canonicalForm);
+        } catch (Exception e) {
+            metrics.record(stage, type, false, start);
+            return CompiledCron.invalid(e.getMessage());
+        }
+    }
+
+    private ComputeBudget newBudget() {
+        return new ComputeBudget(budgetMaxIterations, budgetTimeoutMillis);
+    }
+
+    static CronType cronType(String type) {
+        if (type == null || type.isBlank()) {
+            return CronType.QUARTZ;
+        }
+        try {
+            return CronType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的 Cron 类型: " + type);
+        }
+    }
+
+    // 每种语言的描述在编译时一并生成，随编译结果缓存；cron 为 null 时按自定义调度处理
+    private static String[] describe(Cron cron, String cronExpression) {
+        DescriptionLanguage[] languages = DescriptionLanguage.values();
+        String[] descriptions = new String[languages.length];
+        for (DescriptionLanguage language : languages) {
+            descriptions[language.ordinal()] = cron != null
+                    ? CronDescriber.describe(cron, cronExpression, language)
+                    : CronDescriber.custom(cronExpression, language);
+        }
+        return descriptions;
+    }
+
+    // 其他方言先映射为等价的 Quartz 语法树再生成描述；无法映射（如 UNIX 同时限定日期和星期）时返回 null
+    static Cron toQuartz(Cron cron, CronType type) {
+        CronMapper mapper;
+        switch (type) {
+            case UNIX:
+                mapper = CronMapper.fromUnixToQuartz();
+                break;
+            case CRON4J:
+                mapper = CronMapper.fromCron4jToQuartz();
+                break;
+            default:
+                mapper = CronMapper.fromSpringToQuartz();
+                break;
+        }
+        try {
+            return mapper.map(cron);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static BitsetSchedule compileBitset(Cron cron, ExecutionTime executionTime) {
+        try {
+            return BitsetSchedule.compile(cron, executionTime);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long[] nextTimesByExecutionTime(ExecutionTime executionTime, ZoneId zoneId, long afterEpochSecond, int count, ComputeBudget budget) {
+        long[] nextTimes = new long[count];
+        int found = 0;
+        ZonedDateTime cursor = ZonedDateTime.ofInstant(Instant.ofEpochSecond(afterEpochSecond), zoneId);
+        while (found < count) {
+            budget.charge();
+            Optional<ZonedDateTime> next = executionTime.nextExecution(cursor);
+            if (next.isEmpty()) {
+                break;
             }
-            // 每天固定时间执行（小时为数字）
-            else if ("0".equals(seconds) && "0".equals(minutes) && hours.matches("\\d+") && "*".equals(dayOfMonth) && "*".equals(month) && "?".equals(dayOfWeek)) {
-                description.append("每天 ").append(String.format("%02d:00", Integer.parseInt(hours))).append(" 执行");
+            cursor = next.get();
+            nextTimes[found++] = cursor.toEpochSecond();
+        }
+        return found == count ? nextTimes : Arrays.copyOf(nextTimes, found);
+    }
+
+    // 循环内只在 epoch 秒上推进，不创建 ZonedDateTime
+    private static long[] nextTimesByBitset(BitsetSchedule schedule, ZoneId zoneId, long afterEpochSecond, int count, ComputeBudget budget) {
+        long[] nextTimes = new long[count];
+        int found = 0;
+        long cursor = afterEpochSecond;
+        while (found < count) {
+            budget.charge();
+            cursor = schedule.nextExecution(cursor, zoneId);
+            if (cursor == BitsetSchedule.NONE) {
+                break;
             }
-            // 每天固定时分执行
-            else if ("0".equals(seconds) && minutes.matches("\\d+") && hours.matches("\\d+") && "*".equals(dayOfMonth) && "*".equals(month) && "?".equals(dayOfWeek)) {
-                description.append("每天 ").append(String.format("%02d:%02d", Integer.parseInt(hours), Integer.parseInt(minutes))).append(" 执行");
+            nextTimes[found++] = cursor;
+        }
+        return found == count ? nextTimes : Arrays.copyOf(nextTimes, found);
+    }
+
+    private static List<String> previousTimesByExecutionTime(ExecutionTime executionTime, ZonedDateTime before, int count, ComputeBudget budget) {
+        long[] previousTimes = new long[count];
+        int found = 0;
+        ZonedDateTime cursor = before;
+        while (found < count) {
+            budget.charge();
+            Optional<ZonedDateTime> previous = executionTime.lastExecution(cursor);
+            if (previous.isEmpty()) {
+                break;
             }
-            // 工作日执行
-            else if ("0".equals(seconds) && minutes.matches("\\d+") && hours.matches("\\d+") && "?".equals(dayOfMonth) && "*".equals(month) && "MON-FRI".equals(dayOfWeek)) {
-                description.append("工作日 ").append(String.format("%02d:%02d", Integer.parseInt(hours), Integer.parseInt(minutes))).append(" 执行");
+            cursor = previous.get();
+            previousTimes[found++] = cursor.toEpochSecond();
+        }
+        return TimeFormat.TEXT.format(Arrays.copyOf(previousTimes, found), before.getZone());
+    }
+
+    private static List<String> previousTimesByBitset(BitsetSchedule schedule, ZonedDateTime before, int count, ComputeBudget budget) {
+        ZoneId zoneId = before.getZone();
+        long[] previousTimes = new long[count];
+        int found = 0;
+        // 不足一秒的部分向上取整，使 before 当秒的执行（早于 before）也能被找到
+        long cursor = before.getNano() > 0 ? before.toEpochSecond() + 1 : before.toEpochSecond();
+        while (found < count) {
+            budget.charge();
+            cursor = schedule.previousExecution(cursor, zoneId);
+            if (cursor == BitsetSchedule.NONE) {
+                break;
             }
-            // 每N小时执行
-            else if ("0".equals(seconds) && "0".equals(minutes) && hours.matches("\\d+/\\d+") && "*".equals(dayOfMonth) && "*".equals(month) && "?".equals(dayOfWeek)) {
-                String[] hourParts = hours.split("/");
-                description.append("每").append(hourParts[1]).append("小时执行");
+            previousTimes[found++] = cursor;
+        }
+        return TimeFormat.TEXT.format(Arrays.copyOf(previousTimes, found), zoneId);
+    }
+
+    // 去掉首尾空白并把连续空白压缩为单个空格
+    static String normalize(String cronExpression) {
+        if (cronExpression == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(cronExpression.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < cronExpression.length(); i++) {
+            char c = cronExpression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(c);
             }
-            // 自定义调度
-            else {
-                description.append("自定义调度: ").append(cronExpression);
+        }
+        return sb.toString();
+    }
+
+    private record CacheKey(String expression, CronType type) {}
+
+    // 方言不同的写法即使规范形式相同也分开缓存，各自的 ExecutionTime 由本方言的 Cron 构建
+    private record CanonicalKey(CanonicalForm canonicalForm, CronType type) {}
+
+    private record Schedule(ExecutionTime executionTime, BitsetSchedule bitsetSchedule) {}
+
+    private static final class FireTimeIterator implements PrimitiveIterator.OfLong {
+
+        private final LongUnaryOperator nextAfter;
+        private final long endExclusive;
+        private long next;
+
+        FireTimeIterator(LongUnaryOperator nextAfter, long start, long endExclusive) {
+            this.nextAfter = nextAfter;
+            this.endExclusive = endExclusive;
+            this.next = advance(start);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != BitsetSchedule.NONE;
+        }
+
+        @Override
+        public long nextLong() {
+            if (next == BitsetSchedule.NONE) {
+                throw new NoSuchElementException();
             }
-        } catch (NumberFormatException e) {
-            description.append("自定义调度: ").append(cronExpression);
+            long current = next;
+            next = advance(current);
+            return current;
         }
 
-        return description.toString();
+        private long advance(long after) {
+            if (after == BitsetSchedule.NONE || after + 1 >= endExclusive) {
+                return BitsetSchedule.NONE;
+            }
+            long candidate = nextAfter.applyAsLong(after);
+            return candidate != BitsetSchedule.NONE && candidate < endExclusive ? candidate : BitsetSchedule.NONE;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.DensityBucket;
+import com.crontools.app.model.DensityResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class DensityService {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00");
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    @Value("${app.default.timezone:Asia/Shanghai}")
+    private String defaultTimezone = "Asia/Shanghai";
+
+    @Value("${app.density.max-days:366}")
+    private int maxDays = 366;
+
+    @Value("${app.density.max-enumerated:5000000}")
+    private long maxEnumerated = 5_000_000;
+
+    private final CronService cronService;
+
+    public DensityService(CronService cronService) {
+        this.cronService = cronService;
+    }
+
+    /**
+     * 统计 [from, to) 内的执行次数并按本地时间分桶。to 缺省时取 from 之后 days 天。
+     *
+     * <p>能编译为位图时按整点小时用字段组合数直接计算，只有窗口首尾不完整的小时与夏令时切换所在的小时才逐次枚举；
+     * 否则退回逐次枚举，超过 {@code app.density.max-enumerated} 次时拒绝。</p>
+     */
+    public DensityResponse density(String cronExpression, String timezone, String from, String to,
+                                   Integer days, String bucket) {
+        ZoneId zoneId = cronService.zone(timezone != null ? timezone : defaultTimezone);
+        HistogramBucket bucketSize = bucket != null ? HistogramBucket.from(bucket) : HistogramBucket.DAY;
+        ZonedDateTime start = from != null && !from.isBlank()
+                ? CronService.parseTime(from, zoneId)
+                : ZonedDateTime.now(zoneId).truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime end;
+        if (to != null && !to.isBlank()) {
+            end = CronService.parseTime(to, zoneId);
+        } else {
+            int windowDays = days != null ? days : 7;
+            if (windowDays < 1 || windowDays > maxDays) {
+                throw new IllegalArgumentException("days 必须在 1 到 " + maxDays + " 之间");
+            }
+            end = start.plusDays(windowDays);
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("结束时间必须晚于开始时间");
+        }
+        if (end.isAfter(start.plusDays(maxDays))) {
+            throw new IllegalArgumentException("统计窗口不能超过 " + maxDays + " 天");
+        }
+
+        CompiledCron compiled = cronService.compile(cronExpression);
+        if (!compiled.isValid()) {
+            throw new IllegalArgumentException("无效的 Cron 表达式: " + compiled.getError());
+        }
+
+        Histogram histogram = new Histogram(bucketSize);
+        if (compiled.getBitsetSchedule() != null) {
+            countByFields(compiled.getBitsetSchedule(), zoneId, start.toEpochSecond(), end.toEpochSecond(), histogram);
+        } else {
+            countByEnumeration(cronExpression, zoneId, start, end, histogram);
+        }
+
+        return new DensityResponse(cronExpression, zoneId.getId(), bucketSize.name(),
+                start.format(FORMATTER), end.format(FORMATTER), histogram.total, histogram.toBuckets(), true, "");
+    }
+
+    // 按本地整点小时遍历窗口：完整且偏移量不变的小时直接取组合数，其余小时逐次枚举
+    private void countByFields(BitsetSchedule schedule, ZoneId zoneId, long startEpoch, long endEpoch, Histogram histogram) {
+        ZoneRules rules = zoneId.getRules();
+        LocalDate firstDay = LocalDateTime.ofEpochSecond(startEpoch, 0, rules.getOffset(Instant.ofEpochSecond(startEpoch))).toLocalDate();
+        LocalDate lastDay = LocalDateTime.ofEpochSecond(endEpoch, 0, rules.getOffset(Instant.ofEpochSecond(endEpoch))).toLocalDate();
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(startEpoch - SECONDS_PER_DAY));
+
+        int maskYear = -1;
+        int maskMonth = -1;
+        long dayMask = 0;
+        for (LocalDate date = firstDay; !date.isAfter(lastDay); date = date.plusDays(1)) {
+            if (date.getYear() != maskYear || date.getMonthValue() != maskMonth) {
+                maskYear = date.getYear();
+                maskMonth = date.getMonthValue();
+                dayMask = schedule.matchingDays(maskYear, maskMonth);
+            }
+            boolean dayMatches = (dayMask & (1L << date.getDayOfMonth())) != 0;
+
+            long localMidnight = date.toEpochDay() * SECONDS_PER_DAY;
+            int offset = rules.getOffset(date.atStartOfDay()).getTotalSeconds();
+            long dayStart = localMidnight - offset;
+            while (transition != null && transition.toEpochSecond() < dayStart) {
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            boolean transitionDay = transition != null && transition.toEpochSecond() < dayStart + SECONDS_PER_DAY;
+
+            for (int hour = 0; hour < 24; hour++) {
+                long hourStart;
+                long hourEnd;
+                if (transitionDay) {
+                    hourStart = date.atTime(hour, 0).atZone(zoneId).toEpochSecond();
+                    hourEnd = date.atTime(hour, 0).plusHours(1).atZone(zoneId).toEpochSecond();
+                } else {
+                    hourStart = dayStart + hour * 3600L;
+                    hourEnd = hourStart + 3600;
+                }
+                if (hourEnd <= startEpoch || hourStart >= endEpoch) {
+                    continue;
+                }
+                histogram.touch(date, hour);
+                if (!dayMatches) {
+                    continue;
+                }
+                boolean whole = hourStart >= startEpoch && hourEnd <= endEpoch;
+                boolean steady = !transitionDay || (hourEnd - hourStart == 3600
+                        && rules.getOffset(Instant.ofEpochSecond(hourStart)).equals(rules.getOffset(Instant.ofEpochSecond(hourEnd - 1))));
+                if (whole && steady) {
+                    histogram.add(date, hour, schedule.firesInHour(hour));
+                } else {
+                    enumerate(schedule, zoneId, Math.max(hourStart, startEpoch), Math.min(hourEnd, endEpoch), histogram);
+                }
+            }
+        }
+    }
+
+    private static void enumerate(BitsetSchedule schedule, ZoneId zoneId, long fromEpoch, long toEpoch, Histogram histogram) {
+        ZoneRules rules = zoneId.getRules();
+        long cursor = schedule.nextExecution(fromEpoch - 1, zoneId);
+        while (cursor != BitsetSchedule.NONE && cursor < toEpoch) {
+            ZoneOffset offset = rules.getOffset(Instant.ofEpochSecond(cursor));
+            LocalDateTime local = LocalDateTime.ofEpochSecond(cursor, 0, offset);
+            histogram.add(local.toLocalDate(), local.getHour(), 1);
+            cursor = schedule.nextExecution(cursor, zoneId);
+        }
+    }
+
+    private void countByEnumeration(String cronExpression, ZoneId zoneId, ZonedDateTime start, ZonedDateTime end,
+                                    Histogram histogram) {
+        for (ZonedDateTime hour = start.truncatedTo(ChronoUnit.HOURS); hour.isBefore(end); hour = hour.plusHours(1)) {
+            histogram.touch(hour.toLocalDate(), hour.getHour());
+        }
+        Iterator<ZonedDateTime> times = cronService.fireTimes(cronExpression, start, end, NextTimeEngine.CRON_UTILS.name());
+        while (times.hasNext()) {
+            if (histogram.total >= maxEnumerated) {
+                throw new IllegalArgumentException("窗口内执行次数超过 " + maxEnumerated + " 次，请缩小统计窗口");
+            }
+            ZonedDateTime time = times.next();
+            histogram.add(time.toLocalDate(), time.getHour(), 1);
+        }
+    }
+
+    private static final class Histogram {
+
+        private final HistogramBucket bucketSize;
+        private final Map<String, Long> counts = new LinkedHashMap<>();
+        private long total;
+
+        Histogram(HistogramBucket bucketSize) {
+            this.bucketSize = bucketSize;
+            if (bucketSize == HistogramBucket.WEEKDAY) {
+                for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                    counts.put(dayOfWeek.name(), 0L);
+                }
+            } else if (bucketSize == HistogramBucket.HOUR_OF_DAY) {
+                for (int hour = 0; hour < 24; hour++) {
+                    counts.put(String.format("%02d:00", hour), 0L);
+                }
+            }
+        }
+
+        // 窗口覆盖到的桶即使没有执行也要出现在结果里
+        void touch(LocalDate date, int hour) {
+            counts.putIfAbsent(key(date, hour), 0L);
+        }
+
+        void add(LocalDate date, int hour, long count) {
+            counts.merge(key(date, hour), count, Long::sum);
+            total += count;
+        }
+
+        private String key(LocalDate date, int hour) {
+            switch (bucketSize) {
+                case HOUR:
+                    return date.atTime(hour, 0).format(HOUR_FORMATTER);
+                case WEEKDAY:
+                    return date.getDayOfWeek().name();
+                case HOUR_OF_DAY:
+                    return String.format("%02d:00", hour);
+                default:
+                    return date.toString();
+            }
+        }
+
+        List<DensityBucket> toBuckets() {
+            List<DensityBucket> buckets = new ArrayList<>(counts.size());
+            for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                buckets.add(new DensityBucket(entry.getKey(), entry.getValue()));
+            }
+            return buckets;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.crontools.app.service;
+
+import java.util.Locale;
+
+/**
+ * 自然语言描述的输出语言，见 {@link CronDescriber}。
+ */
+public enum DescriptionLanguage {
+
+    /** 中文（默认） */
+    ZH,
+
+    /** 英文 */
+    EN;
+
+    /**
+     * 接受 zh、en 以及 zh-CN、en_US 这类带地区的写法。
+     */
+    public static DescriptionLanguage from(String name) {
+        String language = name.trim();
+        int separator = language.indexOf('-') >= 0 ? language.indexOf('-') : language.indexOf('_');
+        if (separator > 0) {
+            language = language.substring(0, separator);
+        }
+        try {
+            return valueOf(language.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的描述语言: " + name);
+        }
+    }
+}
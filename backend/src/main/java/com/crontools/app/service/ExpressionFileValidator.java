@@ -0,0 +1,295 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.CronType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+/**
+ * 逐行校验 crontab/Quartz 导出文件：每行取出表达式，经 {@link CronService} 校验并生成描述，输出紧凑的逐行报告。
+ *
+ * <p>文件按窗口（默认 64 MB）内存映射，窗口再按行边界切成小块（默认 256 KB）提交到 cronExecutor 并行处理；
+ * 在途的块数有上限，结果按块的顺序写出，堆内存占用与文件大小无关。空行、{@code #} 开头的注释行与
+ * 变量赋值行（如 {@code MAILTO=ops}）跳过。表达式按方言的字段数从行首截取：QUARTZ、SPRING、SPRING53 取 6 个字段，
+ * Quartz 的第 7 个字段形如年份时一并取出；UNIX、CRON4J 取 5 个字段；其后的命令或任务名忽略。
+ * {@code @daily} 等昵称按单个字段交给解析器，与在线接口的规则一致。</p>
+ *
+ * <p>报告每行为 {@code 行号<TAB>OK<TAB>描述} 或 {@code 行号<TAB>ERROR<TAB>原因}，行号从 1 开始，
+ * 最后一行为 {@link FileValidationSummary#toReportLine()} 的汇总。</p>
+ */
+@Service
+public class ExpressionFileValidator {
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+    private static final int DEFAULT_CHUNK_SIZE = 256 << 10;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern YEAR_FIELD = Pattern.compile("[0-9*,/\\-]+");
+
+    private final CronService cronService;
+    private final Executor executor;
+    private final int windowSize;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    @Autowired
+    public ExpressionFileValidator(CronService cronService, @Qualifier("cronExecutor") Executor cronExecutor) {
+        this(cronService, cronExecutor, DEFAULT_WINDOW_SIZE, DEFAULT_CHUNK_SIZE, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    ExpressionFileValidator(CronService cronService, Executor executor, int windowSize, int chunkSize, int maxInFlight) {
+        this.cronService = cronService;
+        this.executor = executor;
+        this.windowSize = windowSize;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * 在开始写报告之前检查参数，type 或 lang 不受支持时抛出 IllegalArgumentException。
+     */
+    public void checkOptions(String type, String lang) {
+        CronService.cronType(type);
+        if (lang != null && !lang.isBlank()) {
+            DescriptionLanguage.from(lang);
+        }
+    }
+
+    /**
+     * 把输入流写入临时文件以便内存映射，超过 maxBytes 时删除临时文件并抛出 IllegalArgumentException。
+     * 调用方负责在使用后删除返回的文件。
+     */
+    public Path spool(InputStream in, long maxBytes) throws IOException {
+        Path file = Files.createTempFile("cron-validate-", ".txt");
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel target = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(source, position, 1 << 20)) > 0) {
+                position += transferred;
+                if (position > maxBytes) {
+                    throw new IllegalArgumentException("文件超过 " + maxBytes + " 字节的上限");
+                }
+            }
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * 校验 file 中的每一行并把报告写入 out（每处理完一块刷新一次），返回汇总；汇总行也会写入 out。
+     * errorsOnly 为 true 时只输出无效的行。
+     */
+    public FileValidationSummary validate(Path file, String type, String lang, boolean errorsOnly, Writer out) throws IOException {
+        checkOptions(type, lang);
+        CronType cronType = CronService.cronType(type);
+        String typeName = cronType.name();
+        long[] totals = new long[Totals.values().length];
+        long nextLine = 1;
+        ArrayDeque<CompletableFuture<ChunkResult>> pending = new ArrayDeque<>();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(windowSize, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean last = position + length == size;
+                // 不是最后一个窗口时截到最后一个换行符，残缺的行留给下一个窗口
+                int end = last ? length : lastNewline(window, 0, length) + 1;
+                if (end == 0) {
+                    throw new IOException("文件中存在超过 " + windowSize + " 字节的行");
+                }
+                int start = position == 0 ? byteOrderMarkLength(window, length) : 0;
+                while (start < end) {
+                    int chunkEnd = chunkEnd(window, start, end);
+                    ByteBuffer chunk = window.slice(start, chunkEnd - start);
+                    pending.add(CompletableFuture.supplyAsync(() -> process(chunk, cronType, typeName, lang, errorsOnly), executor));
+                    if (pending.size() >= maxInFlight) {
+                        nextLine = write(join(pending.poll()), nextLine, totals, out);
+                    }
+                    start = chunkEnd;
+                }
+                position += end;
+            }
+            while (!pending.isEmpty()) {
+                nextLine = write(join(pending.poll()), nextLine, totals, out);
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(false));
+        }
+
+        FileValidationSummary summary = new FileValidationSummary(nextLine - 1, totals[Totals.VALID.ordinal()] + totals[Totals.INVALID.ordinal()],
+                totals[Totals.VALID.ordinal()], totals[Totals.INVALID.ordinal()], totals[Totals.SKIPPED.ordinal()]);
+        out.write(summary.toReportLine());
+        out.write('\n');
+        out.flush();
+        return summary;
+    }
+
+    // 块大小附近的行边界；块内没有换行符时向后延伸到下一个换行符
+    private int chunkEnd(ByteBuffer window, int start, int end) {
+        int limit = start + chunkSize;
+        if (limit >= end) {
+            return end;
+        }
+        int newline = lastNewline(window, start, limit);
+        if (newline >= start) {
+            return newline + 1;
+        }
+        for (int i = limit; i < end; i++) {
+            if (window.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    private static int lastNewline(ByteBuffer buffer, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int byteOrderMarkLength(ByteBuffer buffer, int length) {
+        return length >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF ? 3 : 0;
+    }
+
+    private ChunkResult process(ByteBuffer chunk, CronType cronType, String typeName, String lang, boolean errorsOnly) {
+        byte[] bytes = new byte[chunk.remaining()];
+        chunk.get(0, bytes);
+        ChunkResult result = new ChunkResult();
+        int lineStart = 0;
+        int line = 0;
+        for (int i = 0; i <= bytes.length; i++) {
+            if (i < bytes.length && bytes[i] != '\n') {
+                continue;
+            }
+            if (i == bytes.length && lineStart == i) {
+                break;
+            }
+            int lineEnd = i > lineStart && bytes[i - 1] == '\r' ? i - 1 : i;
+            check(new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8), line, cronType, typeName, lang, errorsOnly, result);
+            line++;
+            lineStart = i + 1;
+        }
+        result.lines = line;
+        return result;
+    }
+
+    private void check(String line, int index, CronType cronType, String typeName, String lang, boolean errorsOnly, ChunkResult result) {
+        String expression = extractExpression(line, cronType);
+        if (expression == null) {
+            result.totals[Totals.SKIPPED.ordinal()]++;
+            return;
+        }
+        try {
+            String description = cronService.parseCronToHuman(expression, typeName, lang);
+            result.totals[Totals.VALID.ordinal()]++;
+            if (!errorsOnly) {
+                result.add(index, true, description);
+            }
+        } catch (Exception e) {
+            result.totals[Totals.INVALID.ordinal()]++;
+            result.add(index, false, e.getMessage());
+        }
+    }
+
+    /**
+     * 从一行中取出表达式；空行、注释与变量赋值行返回 null。
+     */
+    static String extractExpression(String line, CronType cronType) {
+        String trimmed = line.strip();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        String[] tokens = WHITESPACE.split(trimmed);
+        // 字段中不会出现 '='，这是 crontab 中的环境变量赋值
+        if (tokens[0].indexOf('=') >= 0) {
+            return null;
+        }
+        if (tokens[0].startsWith("@")) {
+            return tokens[0];
+        }
+        int fields = cronType == CronType.UNIX || cronType == CronType.CRON4J ? 5 : 6;
+        if (cronType == CronType.QUARTZ && tokens.length > 6 && YEAR_FIELD.matcher(tokens[6]).matches()) {
+            fields = 7;
+        }
+        return tokens.length <= fields ? trimmed : String.join(" ", Arrays.copyOf(tokens, fields));
+    }
+
+    private static ChunkResult join(CompletableFuture<ChunkResult> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new IOException("校验失败: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static long write(ChunkResult result, long firstLine, long[] totals, Writer out) throws IOException {
+        for (int i = 0; i < result.indexes.size(); i++) {
+            out.write(Long.toString(firstLine + result.indexes.get(i)));
+            out.write(result.ok.get(i) ? "\tOK\t" : "\tERROR\t");
+            out.write(singleLine(result.texts.get(i)));
+            out.write('\n');
+        }
+        out.flush();
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] += result.totals[i];
+        }
+        return firstLine + result.lines;
+    }
+
+    // 报告按行与制表符分隔，消息中的换行与制表符替换为空格
+    private static String singleLine(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+    }
+
+    private enum Totals {
+        VALID, INVALID, SKIPPED
+    }
+
+    private static final class ChunkResult {
+
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<Boolean> ok = new ArrayList<>();
+        private final List<String> texts = new ArrayList<>();
+        private final long[] totals = new long[Totals.values().length];
+        private int lines;
+
+        private void add(int index, boolean valid, String text) {
+            indexes.add(index);
+            ok.add(valid);
+            texts.add(text);
+        }
+    }
+}
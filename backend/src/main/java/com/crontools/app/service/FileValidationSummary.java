@@ -0,0 +1,47 @@
+package com.crontools.app.service;
+
+/**
+ * 文件校验的汇总：总行数、表达式数、有效与无效的个数，以及跳过的空行、注释与变量赋值行数。
+ */
+public final class FileValidationSummary {
+
+    private final long lines;
+    private final long expressions;
+    private final long valid;
+    private final long invalid;
+    private final long skipped;
+
+    FileValidationSummary(long lines, long expressions, long valid, long invalid, long skipped) {
+        this.lines = lines;
+        this.expressions = expressions;
+        this.valid = valid;
+        this.invalid = invalid;
+        this.skipped = skipped;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getExpressions() {
+        return expressions;
+    }
+
+    public long getValid() {
+        return valid;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /** 报告的最后一行 */
+    public String toReportLine() {
+        return "# lines=" + lines + " expressions=" + expressions + " valid=" + valid
+                + " invalid=" + invalid + " skipped=" + skipped;
+    }
+}
@@ -0,0 +1,31 @@
+package com.crontools.app.service;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+
+/**
+ * 一页范围枚举：惰性的执行时间迭代器、本页上限，以及生成续传游标所需的指纹。
+ */
+public final class FireTimePage {
+
+    private final Iterator<ZonedDateTime> times;
+    private final int limit;
+    private final String fingerprint;
+
+    FireTimePage(Iterator<ZonedDateTime> times, int limit, String fingerprint) {
+        this.times = times;
+        this.limit = limit;
+        this.fingerprint = fingerprint;
+    }
+
+    public Iterator<ZonedDateTime> getTimes() { return times; }
+
+    public int getLimit() { return limit; }
+
+    /**
+     * 本页最后一条之后继续枚举的游标，原样传回 cursor 参数即可续传。
+     */
+    public String cursorAfter(ZonedDateTime last) {
+        return RangeService.encodeCursor(fingerprint, last.toEpochSecond());
+    }
+}
@@ -0,0 +1,29 @@
+package com.crontools.app.service;
+
+import java.util.Locale;
+
+/**
+ * 执行密度统计的分桶方式，均按所在时区的本地时间划分。
+ */
+public enum HistogramBucket {
+
+    /** 窗口内的每个整点小时 */
+    HOUR,
+
+    /** 窗口内的每一天 */
+    DAY,
+
+    /** 按星期几汇总（MONDAY..SUNDAY） */
+    WEEKDAY,
+
+    /** 按一天中的小时汇总（00..23） */
+    HOUR_OF_DAY;
+
+    public static HistogramBucket from(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的分桶方式: " + name);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.LookupItemRequest;
+import com.crontools.app.model.LookupItemResponse;
+import com.crontools.app.model.MatchResponse;
+import com.crontools.app.model.PreviousTimesResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 反向查询：某一时刻是否触发，以及某一时刻之前的最近几次执行。
+ * 时间参数的格式与 {@link RangeService} 相同，本地时间按 tz 解释。
+ */
+@Service
+public class LookupService {
+
+    private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int MAX_PREVIOUS = 20;
+
+    @Value("${app.default.timezone:Asia/Shanghai}")
+    private String defaultTimezone = "Asia/Shanghai";
+
+    @Value("${app.lookup.max-items:10000}")
+    private int maxItems = 10_000;
+
+    private final CronService cronService;
+
+    public LookupService(CronService cronService) {
+        this.cronService = cronService;
+    }
+
+    public MatchResponse matches(String cronExpression, String type, String timezone, String at) {
+        String tz = timezone != null ? timezone : defaultTimezone;
+        ZonedDateTime time = parseAt(at, cronService.zone(tz));
+        boolean matches = cronService.matches(cronExpression, type, time);
+        return new MatchResponse(cronExpression, type, tz, format(time), matches, true, "");
+    }
+
+    /**
+     * before 为空时取当前时间；count 限制在 1 到 20 之间。
+     */
+    public PreviousTimesResponse previous(String cronExpression, String type, String timezone, String before,
+                                          int count, String engine) {
+        ZoneId zoneId = cronService.zone(timezone != null ? timezone : defaultTimezone);
+        ZonedDateTime end = before != null && !before.isBlank()
+                ? CronService.parseTime(before, zoneId)
+                : ZonedDateTime.now(zoneId);
+        int limited = Math.max(1, Math.min(MAX_PREVIOUS, count));
+        List<String> previousTimes = cronService.getPreviousExecutionTimes(cronExpression, type, end, limited, engine);
+        return new PreviousTimesResponse(previousTimes, true, "");
+    }
+
+    /**
+     * 批量查询，每个条目给出 at 时刻是否触发，previous 大于 0 时再给出 at 之前的最近几次执行。
+     * 单个条目的错误只体现在该条目上；条目在调用线程上顺序计算，位图命中检查每条只需 O(字段数)。
+     */
+    public List<LookupItemResponse> lookup(List<LookupItemRequest> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("批量请求不能为空");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("批量请求最多 " + maxItems + " 条，实际 " + items.size() + " 条");
+        }
+        List<LookupItemResponse> responses = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            responses.add(lookupItem(i, items.get(i)));
+        }
+        return responses;
+    }
+
+    LookupItemResponse lookupItem(int index, LookupItemRequest item) {
+        if (item == null) {
+            return new LookupItemResponse(index, null, null, false, null, false, "批量条目不能为空");
+        }
+        String expr = item.getExpr();
+        try {
+            String type = item.getType() != null ? item.getType() : "QUARTZ";
+            ZoneId zoneId = cronService.zone(item.getTz() != null ? item.getTz() : defaultTimezone);
+            ZonedDateTime at = parseAt(item.getAt(), zoneId);
+            boolean matches = cronService.matches(expr, type, at);
+            List<String> previousTimes = null;
+            if (item.getPrevious() > 0) {
+                int count = Math.min(MAX_PREVIOUS, item.getPrevious());
+                previousTimes = cronService.getPreviousExecutionTimes(expr, type, at, count, null);
+            }
+            return new LookupItemResponse(index, expr, format(at), matches, previousTimes, true, "");
+        } catch (Exception e) {
+            return new LookupItemResponse(index, expr, item.getAt(), false, null, false, e.getMessage());
+        }
+    }
+
+    private static ZonedDateTime parseAt(String at, ZoneId zoneId) {
+        if (at == null || at.isBlank()) {
+            throw new IllegalArgumentException("必须指定查询时间 at");
+        }
+        return CronService.parseTime(at, zoneId);
+    }
+
+    private static String format(ZonedDateTime time) {
+        return time.format(OUTPUT_FORMATTER) + " (" + time.getZone() + ")";
+    }
+}
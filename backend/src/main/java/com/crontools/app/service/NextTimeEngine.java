@@ -0,0 +1,23 @@
+package com.crontools.app.service;
+
+import java.util.Locale;
+
+/**
+ * 计算下一次执行时间所用的引擎。
+ */
+public enum NextTimeEngine {
+
+    /** cron-utils 的 ExecutionTime，逐次调整 ZonedDateTime */
+    CRON_UTILS,
+
+    /** 预编译位图扫描，见 {@link BitsetSchedule} */
+    BITSET;
+
+    public static NextTimeEngine from(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的计算引擎: " + name);
+        }
+    }
+}
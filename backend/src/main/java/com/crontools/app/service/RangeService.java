@@ -0,0 +1,101 @@
+package com.crontools.app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+@Service
+public class RangeService {
+
+    private static final String CURSOR_VERSION = "v2";
+
+    @Value("${app.default.timezone:Asia/Shanghai}")
+    private String defaultTimezone = "Asia/Shanghai";
+
+    @Value("${app.range.page-size:10000}")
+    private int defaultPageSize = 10_000;
+
+    @Value("${app.range.max-page-size:1000000}")
+    private int maxPageSize = 1_000_000;
+
+    private final CronService cronService;
+
+    public RangeService(CronService cronService) {
+        this.cronService = cronService;
+    }
+
+    /**
+     * 打开 [from, to) 窗口的一页枚举；带游标时从游标记录的时间点之后继续。
+     */
+    public FireTimePage open(String cronExpression, String timezone, String from, String to,
+                             String cursor, Integer limit, String engine) {
+        ZoneId zoneId = cronService.zone(timezone != null ? timezone : defaultTimezone);
+        if (to == null || to.isBlank()) {
+            throw new IllegalArgumentException("必须指定结束时间 to");
+        }
+        boolean fixedStart = from != null && !from.isBlank();
+        ZonedDateTime start = fixedStart ? CronService.parseTime(from, zoneId) : ZonedDateTime.now(zoneId);
+        ZonedDateTime end = CronService.parseTime(to, zoneId);
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("结束时间必须晚于开始时间");
+        }
+
+        // 未指定 from 时起点随请求时间变化，只绑定 to
+        String fingerprint = fingerprint(cronService.canonicalize(cronExpression, "QUARTZ"), zoneId,
+                fixedStart ? Long.toString(start.toEpochSecond()) : "", end.toEpochSecond());
+        if (cursor != null && !cursor.isBlank()) {
+            long resumeAfter = decodeCursor(cursor, fingerprint);
+            if ((fixedStart && resumeAfter < start.toEpochSecond()) || resumeAfter >= end.toEpochSecond()) {
+                throw new IllegalArgumentException("游标不在 [from, to) 窗口内");
+            }
+            ZonedDateTime resume = ZonedDateTime.ofInstant(Instant.ofEpochSecond(resumeAfter + 1), zoneId);
+            if (resume.isAfter(start)) {
+                start = resume;
+            }
+        }
+
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("limit 必须在 1 到 " + maxPageSize + " 之间");
+        }
+        return new FireTimePage(cronService.fireTimes(cronExpression, start, end, engine), pageSize, fingerprint);
+    }
+
+    static String encodeCursor(String fingerprint, long lastEpochSecond) {
+        String raw = CURSOR_VERSION + ":" + fingerprint + ":" + lastEpochSecond;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 游标只能用于生成它的表达式、时区与时间窗口
+    static long decodeCursor(String cursor, String fingerprint) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标");
+        }
+        int last = raw.lastIndexOf(':');
+        if (last < 0 || !raw.startsWith(CURSOR_VERSION + ":")) {
+            throw new IllegalArgumentException("无效的游标");
+        }
+        if (!fingerprint.equals(raw.substring(CURSOR_VERSION.length() + 1, last))) {
+            throw new IllegalArgumentException("游标与当前表达式、时区或时间窗口不匹配");
+        }
+        try {
+            return Long.parseLong(raw.substring(last + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的游标");
+        }
+    }
+
+    // 表达式按规范形式的 64 位指纹（等价写法可以互用游标），时区并入同一个哈希，窗口边界原样保留以便逐一比较
+    private static String fingerprint(CanonicalForm canonicalForm, ZoneId zoneId, String from, long to) {
+        long hash = CronCanonicalizer.fingerprint(canonicalForm.getFingerprintHex() + "|" + zoneId.getId());
+        return Long.toHexString(hash) + ":" + from + ":" + to;
+    }
+}
@@ -0,0 +1,90 @@
+package com.crontools.app.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 执行时间的输出格式。文本格式直接由 epoch 秒按字段拼接，不经过 DateTimeFormatter。
+ */
+public enum TimeFormat {
+
+    /** "yyyy-MM-dd HH:mm:ss (时区)"，默认格式 */
+    TEXT,
+
+    /** ISO-8601 带偏移量，如 2024-01-01T04:00:00+08:00 */
+    ISO,
+
+    /** epoch 毫秒，调用方以数字输出 */
+    EPOCH_MILLIS;
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    public static TimeFormat from(String name) {
+        String value = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        if (value.equals("EPOCH")) {
+            return EPOCH_MILLIS;
+        }
+        try {
+            return valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的时间格式: " + name);
+        }
+    }
+
+    /**
+     * 格式化为文本；EPOCH_MILLIS 没有文本形式，调用方应直接使用 {@link #toEpochMillis}。
+     */
+    public List<String> format(long[] epochSeconds, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        List<String> formatted = new ArrayList<>(epochSeconds.length);
+        for (long epochSecond : epochSeconds) {
+            formatted.add(format(epochSecond, zone, rules));
+        }
+        return formatted;
+    }
+
+    public String format(long epochSecond, ZoneId zone, ZoneRules rules) {
+        if (this == EPOCH_MILLIS) {
+            throw new IllegalStateException("EPOCH_MILLIS 没有文本格式");
+        }
+        ZoneOffset offset = rules.getOffset(Instant.ofEpochSecond(epochSecond));
+        long local = epochSecond + offset.getTotalSeconds();
+        long packedDate = BitsetSchedule.civil(Math.floorDiv(local, SECONDS_PER_DAY));
+        int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+
+        StringBuilder sb = new StringBuilder(48);
+        int year = (int) (packedDate >> 9);
+        if (year < 1000) {
+            sb.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+        }
+        sb.append(year).append('-');
+        appendTwoDigits(sb, (int) (packedDate >> 5) & 0xF).append('-');
+        appendTwoDigits(sb, (int) packedDate & 0x1F).append(this == ISO ? 'T' : ' ');
+        appendTwoDigits(sb, secondOfDay / 3600).append(':');
+        appendTwoDigits(sb, secondOfDay / 60 % 60).append(':');
+        appendTwoDigits(sb, secondOfDay % 60);
+        if (this == ISO) {
+            sb.append(offset.getId());
+        } else {
+            sb.append(" (").append(zone.getId()).append(')');
+        }
+        return sb.toString();
+    }
+
+    public static List<Long> toEpochMillis(long[] epochSeconds) {
+        List<Long> millis = new ArrayList<>(epochSeconds.length);
+        for (long epochSecond : epochSeconds) {
+            millis.add(epochSecond * 1000);
+        }
+        return millis;
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
@@ -0,0 +1,562 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.WatchEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 执行时间推送：客户端订阅一组表达式，只有某个表达式的下一次执行时间到达（翻转）时才推送事件。
+ *
+ * <p>相同的（规范形式, 方言, 时区, 引擎）在所有连接之间共享一个调度项，等价写法（如 MON-FRI 与 2-6）也归为同一个，所有调度项放在一个按下一次执行时间
+ * 排序的优先队列里，由单个定时线程在队首到期时唤醒。订阅数再多，每次翻转也只计算一次下一次执行时间；
+ * 定时线程只把事件放入各连接的发件箱，写入由 dispatcher 上每个连接至多一个的排空任务完成，
+ * 阻塞在某个连接上的写入只占用一个线程，不会推迟其他连接。</p>
+ *
+ * <p>只关闭慢的那个连接：发件箱积压超过 表达式数 + outbox-capacity 条、单次写入超过 write-timeout-ms，
+ * 或 dispatcher 拒绝了它的排空任务时，该连接被注销，客户端重连后重新同步。关闭不等待正在进行的写入，
+ * 由写入线程返回后通知接收方；阻塞的写入本身由容器的写超时结束。</p>
+ */
+@Service
+public class WatchService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WatchService.class);
+
+    // 不再有下一次执行时间
+    private static final long NONE = Long.MIN_VALUE;
+    // 订阅时调度项已存在，未单独计算
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    // 发件箱中的心跳标记
+    private static final Object HEARTBEAT = new Object();
+
+    @Value("${app.watch.max-expressions:200}")
+    private int maxExpressions = 200;
+
+    @Value("${app.watch.max-subscriptions:100000}")
+    private int maxSubscriptions = 100_000;
+
+    // 每个连接在表达式数之外最多积压的事件数，超过即视为接收过慢
+    @Value("${app.watch.outbox-capacity:64}")
+    private int outboxCapacity = 64;
+
+    // 单次写入超过该时长的连接视为接收过慢，在心跳时检查
+    @Value("${app.watch.write-timeout-ms:10000}")
+    private long writeTimeoutMillis = 10_000;
+
+    private final CronService cronService;
+    private final Clock clock;
+    private final Executor dispatcher;
+    // 为空时不自动唤醒，由调用方驱动 fireDue（测试中配合可调的 Clock 使用）
+    private final ScheduledExecutorService timer;
+
+    private final Object lock = new Object();
+    private final Map<ScheduleKey, Schedule> schedules = new HashMap<>();
+    // 取消的调度项不从队列中删除，出队时跳过
+    private final PriorityQueue<Schedule> queue = new PriorityQueue<>(Comparator.comparingLong(s -> s.nextEpochSecond));
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private volatile int memberCount;
+    private volatile int scheduleCount;
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt = Long.MAX_VALUE;
+
+    private final Counter events;
+    private final Counter rejected;
+    private final Timer dispatch;
+
+    @Autowired
+    public WatchService(CronService cronService,
+                        ObjectProvider<Clock> clock,
+                        @Qualifier("watchExecutor") ObjectProvider<Executor> dispatcher,
+                        ObjectProvider<MeterRegistry> meterRegistry,
+                        @Value("${app.watch.heartbeat-seconds:30}") long heartbeatSeconds) {
+        this(cronService, clock.getIfAvailable(Clock::systemUTC), dispatcher.getIfAvailable(() -> Runnable::run),
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "cron-watch");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        if (heartbeatSeconds > 0) {
+            timer.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    WatchService(CronService cronService, Clock clock, Executor dispatcher, ScheduledExecutorService timer,
+                 MeterRegistry registry) {
+        this.cronService = cronService;
+        this.clock = clock;
+        this.dispatcher = dispatcher;
+        this.timer = timer;
+        Gauge.builder("cron.watch.connections", subscriptions, Set::size)
+                .description("执行时间推送的连接数")
+                .register(registry);
+        Gauge.builder("cron.watch.subscriptions", this, service -> service.memberCount)
+                .description("所有连接订阅的表达式总数")
+                .register(registry);
+        Gauge.builder("cron.watch.schedules", this, service -> service.scheduleCount)
+                .description("去重后的调度项数，每次翻转只按调度项计算一次")
+                .register(registry);
+        this.events = Counter.builder("cron.watch.events")
+                .description("推送的事件数")
+                .register(registry);
+        this.rejected = Counter.builder("cron.watch.rejected")
+                .description("dispatcher 已满而被拒绝的排空任务数，对应的连接被关闭")
+                .register(registry);
+        this.dispatch = Timer.builder("cron.watch.dispatch")
+                .description("一次排空（向一个连接写出积压事件）的耗时")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * 推送的接收方。回调可能在任意线程上发生，但同一订阅的回调不会并发；抛出异常即视为连接已断开，
+     * 订阅随之关闭，并调用 {@link #onFailure} 让接收方释放连接。
+     */
+    public interface Listener {
+        void onEvent(WatchEvent event) throws Exception;
+
+        void onHeartbeat() throws Exception;
+
+        void onFailure(Exception e);
+    }
+
+    /**
+     * 订阅一组表达式，方言、时区和引擎对整组生效。返回前已向 listener 推送每个表达式当前的下一次执行时间
+     * （firedTime 为空），之后每次翻转推送一次。表达式无效时抛出 IllegalArgumentException，不登记任何订阅。
+     */
+    public Subscription subscribe(List<String> expressions, String type, String timezone, String engine,
+                                  Listener listener) {
+        if (expressions == null || expressions.isEmpty()) {
+            throw new IllegalArgumentException("至少需要订阅一个表达式");
+        }
+        if (expressions.size() > maxExpressions) {
+            throw new IllegalArgumentException("单个连接最多订阅 " + maxExpressions + " 个表达式，实际 " + expressions.size() + " 个");
+        }
+        String cronType = (type != null ? type : "QUARTZ").trim().toUpperCase(Locale.ROOT);
+        String engineName = engine != null ? NextTimeEngine.from(engine).name() : null;
+        ZoneId zone = cronService.zone(timezone);
+        long now = clock.instant().getEpochSecond();
+
+        // 按规范形式归并调度项，等价写法共用一个；已有调度项的表达式直接复用其下一次执行时间，新表达式在锁外计算
+        ScheduleKey[] keys = new ScheduleKey[expressions.size()];
+        long[] firstNext = new long[keys.length];
+        Arrays.fill(firstNext, UNKNOWN);
+        for (int i = 0; i < keys.length; i++) {
+            String expr = expressions.get(i);
+            if (expr == null || expr.isBlank()) {
+                throw new IllegalArgumentException("第 " + (i + 1) + " 个表达式为空");
+            }
+            CanonicalForm canonicalForm;
+            try {
+                canonicalForm = cronService.canonicalize(expr, cronType);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("无法计算执行时间: " + e.getMessage());
+            }
+            keys[i] = new ScheduleKey(canonicalForm, cronType, zone, engineName);
+            boolean known;
+            synchronized (lock) {
+                known = schedules.containsKey(keys[i]);
+            }
+            if (!known) {
+                long[] next = cronService.nextEpochSeconds(expr, cronType, zone, now, 1, engineName);
+                firstNext[i] = next.length > 0 ? next[0] : NONE;
+            }
+        }
+
+        // 新订阅处于排空状态，登记后立即到达的翻转事件只入队，由本线程在首批事件之后写出
+        Subscription subscription = new Subscription(listener, keys.length);
+        synchronized (lock) {
+            if (memberCount + keys.length > maxSubscriptions) {
+                throw new IllegalArgumentException("订阅数已达上限 " + maxSubscriptions);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                Schedule schedule = schedules.get(keys[i]);
+                if (schedule == null) {
+                    // 检查之后调度项恰好因最后一个成员断开而被移除时，在锁内补算
+                    long next = firstNext[i] != UNKNOWN ? firstNext[i] : next(expressions.get(i), keys[i], now);
+                    schedule = new Schedule(keys[i], expressions.get(i));
+                    schedule.advance(next);
+                    schedules.put(keys[i], schedule);
+                    if (schedule.nextEpochSecond != NONE) {
+                        queue.add(schedule);
+                    }
+                }
+                Member member = new Member(subscription, i, expressions.get(i));
+                schedule.members.add(member);
+                subscription.memberships.add(schedule);
+                subscription.members.add(member);
+                // 锁释放前其他线程看不到这个订阅，首批事件一定排在翻转事件之前
+                subscription.outbox.add(
+                        new WatchEvent(i, expressions.get(i), null, schedule.nextTime, schedule.nextEpochMillis()));
+            }
+            memberCount += keys.length;
+            scheduleCount = schedules.size();
+            armLocked();
+        }
+        subscriptions.add(subscription);
+        subscription.drain();
+        return subscription;
+    }
+
+    /**
+     * 处理所有已到期的调度项：计算下一次执行时间、重新入队，并把翻转事件放入各订阅者的发件箱。
+     * 返回翻转的调度项数。
+     */
+    int fireDue() {
+        List<Schedule> due = new ArrayList<>();
+        long now;
+        synchronized (lock) {
+            now = clock.instant().getEpochSecond();
+            while (!queue.isEmpty() && queue.peek().nextEpochSecond <= now) {
+                Schedule schedule = queue.poll();
+                if (!schedule.cancelled) {
+                    due.add(schedule);
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            synchronized (lock) {
+                armLocked();
+            }
+            return 0;
+        }
+
+        // 下一次执行时间在锁外计算，期间订阅与断开不受阻塞；到期的调度项已出队，只有本线程会推进它们
+        long[] next = new long[due.size()];
+        for (int i = 0; i < next.length; i++) {
+            Schedule schedule = due.get(i);
+            next[i] = next(schedule.expr, schedule.key, Math.max(schedule.nextEpochSecond, now));
+        }
+
+        List<Runnable> fanOut = new ArrayList<>();
+        int fired = 0;
+        synchronized (lock) {
+            for (int s = 0; s < next.length; s++) {
+                Schedule schedule = due.get(s);
+                // 计算期间最后一个订阅者已断开
+                if (schedule.cancelled) {
+                    continue;
+                }
+                String firedTime = schedule.nextTime;
+                schedule.advance(next[s]);
+                if (schedule.nextEpochSecond != NONE) {
+                    queue.add(schedule);
+                }
+                Member[] members = schedule.members.toArray(new Member[0]);
+                String nextTime = schedule.nextTime;
+                Long nextEpochMillis = schedule.nextEpochMillis();
+                fanOut.add(() -> {
+                    for (Member member : members) {
+                        member.subscription.offer(
+                                new WatchEvent(member.index, member.expr, firedTime, nextTime, nextEpochMillis));
+                    }
+                });
+                fired++;
+            }
+            armLocked();
+        }
+        // 入队不会阻塞，直接在当前线程上完成
+        fanOut.forEach(Runnable::run);
+        return fired;
+    }
+
+    /**
+     * 向空闲的连接发送心跳，及时发现已断开的客户端，同时防止代理因空闲而关闭连接；
+     * 单次写入已超过 write-timeout-ms 的连接直接关闭。
+     */
+    void heartbeat() {
+        long now = System.nanoTime();
+        long writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        for (Subscription subscription : subscriptions) {
+            long since = subscription.writingSince;
+            if (since != 0 && now - since > writeTimeoutNanos) {
+                subscription.drop(new IllegalStateException("客户端接收过慢"));
+            } else {
+                subscription.offerHeartbeat();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    private long next(String expr, ScheduleKey key, long afterEpochSecond) {
+        try {
+            long[] next = cronService.nextEpochSeconds(expr, key.type, key.zone, afterEpochSecond, 1, key.engine);
+            return next.length > 0 ? next[0] : NONE;
+        } catch (IllegalArgumentException e) {
+            log.warn("无法计算 {} 的下一次执行时间: {}", expr, e.getMessage());
+            return NONE;
+        }
+    }
+
+    // 按队首时间设置唤醒；队首未变化时保留已有的唤醒
+    private void armLocked() {
+        if (timer == null) {
+            return;
+        }
+        while (!queue.isEmpty() && queue.peek().cancelled) {
+            queue.poll();
+        }
+        long at = queue.isEmpty() ? Long.MAX_VALUE : queue.peek().nextEpochSecond;
+        if (at == wakeUpAt) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpAt = at;
+        wakeUp = at == Long.MAX_VALUE ? null
+                : timer.schedule(this::tick, Math.max(0, at * 1000 - clock.millis()), TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        synchronized (lock) {
+            wakeUp = null;
+            wakeUpAt = Long.MAX_VALUE;
+        }
+        try {
+            fireDue();
+        } catch (RuntimeException e) {
+            log.error("执行时间推送失败", e);
+            synchronized (lock) {
+                armLocked();
+            }
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+        synchronized (lock) {
+            for (int i = 0; i < subscription.members.size(); i++) {
+                Schedule schedule = subscription.memberships.get(i);
+                schedule.members.remove(subscription.members.get(i));
+                if (schedule.members.isEmpty() && schedules.get(schedule.key) == schedule) {
+                    schedules.remove(schedule.key);
+                    schedule.cancelled = true;
+                }
+            }
+            memberCount -= subscription.members.size();
+            scheduleCount = schedules.size();
+        }
+    }
+
+    /**
+     * 一个连接的订阅；连接断开时调用 {@link #close()}，可重复调用。
+     */
+    public final class Subscription {
+
+        private final Listener listener;
+        // 与 members 按下标对应
+        private final List<Schedule> memberships = new ArrayList<>();
+        private final List<Member> members = new ArrayList<>();
+        private final int outboxLimit;
+        // 待写出的 WatchEvent 与心跳，由 this 保护
+        private final ArrayDeque<Object> outbox = new ArrayDeque<>();
+        // 已有线程负责写出 outbox，由 this 保护；新订阅由 subscribe 的调用线程写出首批事件
+        private boolean draining = true;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // 已关闭但尚未通知接收方的原因
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        // 当前写入开始的 System.nanoTime()，未在写入时为 0
+        private volatile long writingSince;
+
+        private Subscription(Listener listener, int expressions) {
+            this.listener = listener;
+            this.outboxLimit = expressions + outboxCapacity;
+        }
+
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                unsubscribe(this);
+            }
+        }
+
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        private void offer(WatchEvent event) {
+            boolean overflow;
+            boolean schedule = false;
+            synchronized (this) {
+                if (closed.get()) {
+                    return;
+                }
+                overflow = outbox.size() >= outboxLimit;
+                if (!overflow) {
+                    outbox.add(event);
+                    schedule = !draining;
+                    draining = true;
+                }
+            }
+            if (overflow) {
+                drop(new IllegalStateException("客户端接收过慢"));
+            } else if (schedule) {
+                scheduleDrain();
+            }
+        }
+
+        // 正在写入或还有积压时不需要心跳
+        private void offerHeartbeat() {
+            synchronized (this) {
+                if (closed.get() || draining) {
+                    return;
+                }
+                outbox.add(HEARTBEAT);
+                draining = true;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                synchronized (this) {
+                    draining = false;
+                }
+                drop(new IllegalStateException("推送队列已满，请重新连接"));
+            }
+        }
+
+        // 由持有 draining 的线程调用，写完 outbox 后释放；期间被关闭时负责通知接收方
+        private void drain() {
+            long started = System.nanoTime();
+            while (true) {
+                Object item;
+                synchronized (this) {
+                    item = closed.get() ? null : outbox.poll();
+                    if (item == null && !closed.get()) {
+                        draining = false;
+                        break;
+                    }
+                }
+                if (item == null) {
+                    notifyFailure();
+                    break;
+                }
+                write(item);
+            }
+            dispatch.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+
+        private void write(Object item) {
+            writingSince = Math.max(1, System.nanoTime());
+            try {
+                if (item == HEARTBEAT) {
+                    listener.onHeartbeat();
+                } else {
+                    listener.onEvent((WatchEvent) item);
+                    events.increment();
+                }
+            } catch (Exception e) {
+                if (closed.compareAndSet(false, true)) {
+                    unsubscribe(this);
+                    failure.set(e);
+                }
+            } finally {
+                writingSince = 0;
+            }
+        }
+
+        // 从其他线程关闭：立即注销；正在写入时由写入线程返回后通知接收方
+        private void drop(Exception reason) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            unsubscribe(this);
+            failure.set(reason);
+            boolean idle;
+            synchronized (this) {
+                outbox.clear();
+                idle = !draining;
+                draining = true;
+            }
+            if (idle) {
+                notifyFailure();
+            }
+        }
+
+        private void notifyFailure() {
+            Exception e = failure.getAndSet(null);
+            if (e == null) {
+                return;
+            }
+            try {
+                listener.onFailure(e);
+            } catch (RuntimeException ignored) {
+                // 连接已不可用
+            }
+        }
+    }
+
+    private record ScheduleKey(CanonicalForm canonicalForm, String type, ZoneId zone, String engine) {}
+
+    private record Member(Subscription subscription, int index, String expr) {}
+
+    private static final class Schedule {
+        private final ScheduleKey key;
+        // 创建调度项的那个写法，用于计算下一次执行时间；等价写法共用同一个编译结果
+        private final String expr;
+        // 哈希集合，连接断开时 O(1) 移除成员
+        private final Set<Member> members = new LinkedHashSet<>();
+        private long nextEpochSecond;
+        // 格式化一次，所有订阅者共用；翻转时成为 firedTime
+        private String nextTime;
+        private boolean cancelled;
+
+        private Schedule(ScheduleKey key, String expr) {
+            this.key = key;
+            this.expr = expr;
+        }
+
+        private void advance(long nextEpochSecond) {
+            this.nextEpochSecond = nextEpochSecond;
+            this.nextTime = nextEpochSecond != NONE
+                    ? TimeFormat.TEXT.format(nextEpochSecond, key.zone, key.zone.getRules()) : null;
+        }
+
+        private Long nextEpochMillis() {
+            return nextEpochSecond != NONE ? nextEpochSecond * 1000 : null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.crontools.app.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidateFileCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String... args) {
+        return ValidateFileCommand.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testAllValid() throws IOException {
+        Path file = tempDir.resolve("crontab");
+        Files.writeString(file, "# jobs\n*/5 * * * * backup.sh\n30 9 * * 1-5 report.sh\n");
+
+        assertEquals(0, run("--type=UNIX", "--errors-only", file.toString()));
+        assertEquals("# lines=3 expressions=2 valid=2 invalid=0 skipped=1\n", out.toString(StandardCharsets.UTF_8));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("valid=2 invalid=0"));
+    }
+
+    @Test
+    void testInvalidExpressionsWrittenToOutputFile() throws IOException {
+        Path file = tempDir.resolve("quartz.txt");
+        Path report = tempDir.resolve("report.tsv");
+        Files.writeString(file, "0 0 4 * * ?\n0 0 25 * * ?\n");
+
+        assertEquals(1, run("--output=" + report, "--lang=en", file.toString()));
+        String[] lines = Files.readString(report).split("\n");
+        assertEquals("1\tOK\tEvery day at 04:00", lines[0]);
+        assertTrue(lines[1].startsWith("2\tERROR\t"));
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testUsageErrors() {
+        assertEquals(2, run());
+        assertEquals(2, run("--type=JENKINS", tempDir.resolve("missing").toString()));
+        assertEquals(2, run(tempDir.resolve("missing").toString()));
+        assertEquals(2, run("--threads=0", "file"));
+    }
+}
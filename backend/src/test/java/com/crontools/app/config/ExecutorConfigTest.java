@@ -0,0 +1,50 @@
+package com.crontools.app.config;
+
+import com.crontools.app.controller.CronController;
+import com.crontools.app.service.CronService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@WebMvcTest(controllers = CronController.class)
+@Import(ExecutorConfig.class)
+class ExecutorConfigTest {
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    @Qualifier("cronExecutor")
+    private ThreadPoolTaskExecutor cronExecutor;
+
+    @Autowired
+    @Qualifier("watchExecutor")
+    private ThreadPoolTaskExecutor watchExecutor;
+
+    @MockBean
+    private CronService cronService;
+
+    @Test
+    void testMvcAsyncUsesApplicationTaskExecutor() {
+        // 异步请求不能退回到每个请求一个线程的 SimpleAsyncTaskExecutor，也不能占用计算或推送线程池
+        Object mvcExecutor = ReflectionTestUtils.getField(handlerAdapter, "taskExecutor");
+        assertSame(applicationTaskExecutor, mvcExecutor);
+        assertNotSame(cronExecutor, mvcExecutor);
+        assertNotSame(watchExecutor, mvcExecutor);
+        ThreadPoolTaskExecutor pool = assertInstanceOf(ThreadPoolTaskExecutor.class, mvcExecutor);
+        assertEquals("task-", pool.getThreadNamePrefix());
+    }
+}
@@ -0,0 +1,151 @@
+package com.crontools.app.config;
+
+import com.crontools.app.controller.CronController;
+import com.crontools.app.controller.LookupController;
+import com.crontools.app.service.CanonicalForm;
+import com.crontools.app.service.CronService;
+import com.crontools.app.service.LookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {CronController.class, LookupController.class}, properties = {
+        "app.rate-limit.burst=2",
+        "app.rate-limit.requests-per-second=0.01"
+})
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CronService cronService;
+
+    @MockBean
+    private LookupService lookupService;
+
+    @BeforeEach
+    void setUp() {
+        when(cronService.parseCronToHuman(anyString(), anyString(), any())).thenReturn("每天 04:00 执行");
+        when(cronService.canonicalize(anyString(), anyString()))
+                .thenReturn(new CanonicalForm("0 0 4 * * ?", 0x1f2e3d4c5b6a7988L));
+        when(lookupService.lookup(anyList())).thenReturn(List.of());
+    }
+
+    @Test
+    void testRejectsAfterBurst() throws Exception {
+        mockMvc.perform(get("/api/parse").param("expr", "0 0 4 * * ?")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/parse").param("expr", "0 0 4 * * ?")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/parse").param("expr", "0 0 4 * * ?"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"))
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("请求过于频繁，请稍后重试"));
+
+        // 每个客户端地址各自一个令牌桶
+        mockMvc.perform(get("/api/parse").param("expr", "0 0 4 * * ?")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        }))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testEncodedAndSemicolonPathsShareLimit() throws Exception {
+        // 分号参数与百分号编码都会被 Spring MVC 路由到 /api/parse，不能绕过限流
+        mockMvc.perform(get(URI.create("/api/parse;x=1?expr=0%200%204%20*%20*%20%3F")).with(request -> {
+            request.setRemoteAddr("10.0.0.4");
+            return request;
+        })).andExpect(status().isOk());
+        mockMvc.perform(get(URI.create("/api/%70arse?expr=0%200%204%20*%20*%20%3F")).with(request -> {
+            request.setRemoteAddr("10.0.0.4");
+            return request;
+        })).andExpect(status().isOk());
+
+        mockMvc.perform(get(URI.create("/api/parse;x=2?expr=0%200%204%20*%20*%20%3F")).with(request -> {
+            request.setRemoteAddr("10.0.0.4");
+            return request;
+        })).andExpect(status().isTooManyRequests());
+        mockMvc.perform(get(URI.create("/api/%70arse?expr=0%200%204%20*%20*%20%3F")).with(request -> {
+            request.setRemoteAddr("10.0.0.4");
+            return request;
+        })).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testBatchChargedPerItem() throws Exception {
+        // 过滤器扣 1 个，控制器再按条目数补扣 2 个，超过 burst=2
+        mockMvc.perform(post("/api/lookup").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"expr\":\"0 0 4 * * ?\"},{\"expr\":\"0 0 5 * * ?\"},{\"expr\":\"0 0 6 * * ?\"}]")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.5");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"))
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("请求过于频繁，请稍后重试"));
+
+        // 两条正好用完两个令牌，之后同一地址的单条请求也被拒绝
+        mockMvc.perform(post("/api/lookup").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"expr\":\"0 0 4 * * ?\"},{\"expr\":\"0 0 5 * * ?\"}]")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.6");
+                            return request;
+                        }))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/parse").param("expr", "0 0 4 * * ?").with(request -> {
+            request.setRemoteAddr("10.0.0.6");
+            return request;
+        })).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testUnlistedPathsNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/health").with(request -> {
+                request.setRemoteAddr("10.0.0.3");
+                return request;
+            })).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void testTokenBucketRefill() {
+        RateLimitFilter.TokenBucket bucket = new RateLimitFilter.TokenBucket(2, 0);
+        assertEquals(0, bucket.tryAcquire(10, 2, 0));
+        assertEquals(0, bucket.tryAcquire(10, 2, 0));
+        // 每秒 10 个令牌，下一个令牌需要 100 ms
+        assertEquals(100_000_000L, bucket.tryAcquire(10, 2, 0));
+        assertEquals(0, bucket.tryAcquire(10, 2, 100_000_000L));
+        // 空闲再久也只积累到 burst 个
+        long later = 60_000_000_000L;
+        assertEquals(0, bucket.tryAcquire(10, 2, later));
+        assertEquals(0, bucket.tryAcquire(10, 2, later));
+        assertTrue(bucket.tryAcquire(10, 2, later) > 0);
+
+        // 一次取多个令牌：不足时一个也不取，超过 burst 的按 burst 计
+        RateLimitFilter.TokenBucket batch = new RateLimitFilter.TokenBucket(5, 0);
+        assertEquals(0, batch.tryAcquire(7, 10, 5, 0));
+        assertEquals(300_000_000L, batch.tryAcquire(3, 10, 5, 0));
+        assertEquals(100_000_000L, batch.tryAcquire(3, 10, 5, 200_000_000L));
+        assertEquals(0, batch.tryAcquire(3, 10, 5, 300_000_000L));
+    }
+}
@@ -0,0 +1,80 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.model.BatchItemResponse;
+import com.crontools.app.model.CronParseResponse;
+import com.crontools.app.model.NextTimesResponse;
+import com.crontools.app.service.BatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BatchController.class)
+class BatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BatchService batchService;
+
+    @Test
+    void testBatch_StreamsItemsInOrder() throws Exception {
+        BatchItemResponse ok = new BatchItemResponse(0,
+                new CronParseResponse("0 0 4 * * ?", "QUARTZ", "Asia/Shanghai", "每天 04:00 执行", true, ""),
+                new NextTimesResponse(Collections.singletonList("2024-01-01 04:00:00 (Asia/Shanghai)"), true, ""),
+                true, "");
+        BatchItemResponse bad = new BatchItemResponse(1,
+                new CronParseResponse("invalid", "QUARTZ", "Asia/Shanghai", "", false, "无效的 Cron 表达式"),
+                new NextTimesResponse(null, false, "无效的 Cron 表达式"),
+                false, "无效的 Cron 表达式");
+        when(batchService.evaluate(anyList())).thenReturn(Arrays.asList(
+                CompletableFuture.completedFuture(ok), CompletableFuture.completedFuture(bad)));
+
+        MvcResult result = mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"expr\":\"0 0 4 * * ?\"},{\"expr\":\"invalid\"}]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].valid").value(true))
+                .andExpect(jsonPath("$[0].parse.humanReadable").value("每天 04:00 执行"))
+                .andExpect(jsonPath("$[0].nextTimes.nextTimes[0]").value("2024-01-01 04:00:00 (Asia/Shanghai)"))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].valid").value(false))
+                .andExpect(jsonPath("$[1].message").value("无效的 Cron 表达式"));
+    }
+
+    @Test
+    void testBatch_RejectedBatch() throws Exception {
+        when(batchService.evaluate(anyList()))
+                .thenThrow(new IllegalArgumentException("批量请求不能为空"));
+
+        MvcResult result = mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("批量请求不能为空"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.service.CollisionService;
+import com.crontools.app.service.CronService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CollisionController.class)
+@Import({CollisionService.class, CronService.class})
+class CollisionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testCollisions_ReportsPeak() throws Exception {
+        mockMvc.perform(post("/api/collisions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tz\":\"UTC\",\"from\":\"2024-01-01 00:00:00\",\"days\":1,\"threshold\":1,"
+                                + "\"jobs\":[{\"name\":\"a\",\"expr\":\"0 0 * * * ?\"},{\"name\":\"b\",\"expr\":\"0 0 */6 * * ?\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.peakConcurrency").value(2))
+                .andExpect(jsonPath("$.timeline.length()").value(4))
+                .andExpect(jsonPath("$.groups[0].jobs[1]").value("b"))
+                .andExpect(jsonPath("$.groups[0].occurrences").value(4));
+    }
+
+    @Test
+    void testCollisions_EmptyJobs() throws Exception {
+        mockMvc.perform(post("/api/collisions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jobs\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("任务列表不能为空"));
+    }
+}
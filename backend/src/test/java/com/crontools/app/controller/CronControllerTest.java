@@ -1,15 +1,32 @@
 package com.crontools.app.controller;
 
+import com.crontools.app.model.CompactNextTimes;
+import com.crontools.app.model.CompactNextTimesByZone;
+import com.crontools.app.model.CompactParseResult;
+import com.crontools.app.service.CanonicalForm;
 import com.crontools.app.service.CronService;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Arrays;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -24,9 +41,29 @@ class CronControllerTest {
     @MockBean
     private CronService cronService;
 
+    @BeforeEach
+    void setUp() {
+        when(cronService.zone(any())).thenAnswer(invocation -> {
+            String timezone = invocation.getArgument(0);
+            return ZoneId.of(timezone != null ? timezone : "Asia/Shanghai");
+        });
+        when(cronService.canonicalize(anyString(), anyString()))
+                .thenReturn(new CanonicalForm("0 0 4 * * ?", 0x1f2e3d4c5b6a7988L));
+    }
+
+    // 从 2024-01-01 起每天 04:00（Asia/Shanghai）的 epoch 秒
+    private static long[] dailyAtFour(int count) {
+        long first = ZonedDateTime.of(2024, 1, 1, 4, 0, 0, 0, ZoneId.of("Asia/Shanghai")).toEpochSecond();
+        long[] epochSeconds = new long[count];
+        for (int i = 0; i < count; i++) {
+            epochSeconds[i] = first + i * 86_400L;
+        }
+        return epochSeconds;
+    }
+
     @Test
     void testParseCron_ValidExpression() throws Exception {
-        when(cronService.parseCronToHuman("0 0 4 * * ?"))
+        when(cronService.parseCronToHuman("0 0 4 * * ?", "QUARTZ", null))
                 .thenReturn("每天 04:00 执行");
 
         mockMvc.perform(get("/api/parse")
@@ -36,12 +73,14 @@ class CronControllerTest {
                 .andExpect(jsonPath("$.expr").value("0 0 4 * * ?"))
                 .andExpect(jsonPath("$.type").value("QUARTZ"))
                 .andExpect(jsonPath("$.humanReadable").value("每天 04:00 执行"))
+                .andExpect(jsonPath("$.canonical").value("0 0 4 * * ?"))
+                .andExpect(jsonPath("$.fingerprint").value("1f2e3d4c5b6a7988"))
                 .andExpect(jsonPath("$.message").value(""));
     }
 
     @Test
     void testParseCron_InvalidExpression() throws Exception {
-        when(cronService.parseCronToHuman("invalid"))
+        when(cronService.parseCronToHuman("invalid", "QUARTZ", null))
                 .thenThrow(new IllegalArgumentException("无效的 Cron 表达式"));
 
         mockMvc.perform(get("/api/parse")
@@ -50,12 +89,14 @@ class CronControllerTest {
                 .andExpect(jsonPath("$.valid").value(false))
                 .andExpect(jsonPath("$.expr").value("invalid"))
                 .andExpect(jsonPath("$.humanReadable").value(""))
+                .andExpect(jsonPath("$.canonical").doesNotExist())
+                .andExpect(jsonPath("$.fingerprint").doesNotExist())
                 .andExpect(jsonPath("$.message").value("无效的 Cron 表达式"));
     }
 
     @Test
     void testParseCron_WithCustomTimezone() throws Exception {
-        when(cronService.parseCronToHuman("0 0 4 * * ?"))
+        when(cronService.parseCronToHuman("0 0 4 * * ?", "QUARTZ", null))
                 .thenReturn("每天 04:00 执行");
 
         mockMvc.perform(get("/api/parse")
@@ -68,14 +109,8 @@ class CronControllerTest {
 
     @Test
     void testGetNextTimes_ValidExpression() throws Exception {
-        List<String> nextTimes = Arrays.asList(
-                "2024-01-01 04:00:00 (Asia/Shanghai)",
-                "2024-01-02 04:00:00 (Asia/Shanghai)",
-                "2024-01-03 04:00:00 (Asia/Shanghai)"
-        );
-
-        when(cronService.getNextExecutionTimes(eq("0 0 4 * * ?"), anyString(), eq(3)))
-                .thenReturn(nextTimes);
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), anyList(), any(), eq(3), any()))
+                .thenReturn(new long[][]{dailyAtFour(3)});
 
         mockMvc.perform(get("/api/next-times")
                         .param("expr", "0 0 4 * * ?")
@@ -85,12 +120,13 @@ class CronControllerTest {
                 .andExpect(jsonPath("$.nextTimes").isArray())
                 .andExpect(jsonPath("$.nextTimes.length()").value(3))
                 .andExpect(jsonPath("$.nextTimes[0]").value("2024-01-01 04:00:00 (Asia/Shanghai)"))
+                .andExpect(jsonPath("$.epochMillis").doesNotExist())
                 .andExpect(jsonPath("$.message").value(""));
     }
 
     @Test
     void testGetNextTimes_InvalidExpression() throws Exception {
-        when(cronService.getNextExecutionTimes(eq("invalid"), anyString(), anyInt()))
+        when(cronService.nextEpochSeconds(eq("invalid"), anyString(), anyList(), any(), anyInt(), any()))
                 .thenThrow(new IllegalArgumentException("无法计算执行时间"));
 
         mockMvc.perform(get("/api/next-times")
@@ -103,9 +139,10 @@ class CronControllerTest {
 
     @Test
     void testGetNextTimes_CountLimits() throws Exception {
-        List<String> nextTimes = Arrays.asList("2024-01-01 04:00:00 (Asia/Shanghai)");
-        when(cronService.getNextExecutionTimes(anyString(), anyString(), eq(20)))
-                .thenReturn(nextTimes);
+        when(cronService.nextEpochSeconds(anyString(), anyString(), anyList(), any(), eq(20), any()))
+                .thenReturn(new long[][]{dailyAtFour(1)});
+        when(cronService.nextEpochSeconds(anyString(), anyString(), anyList(), any(), eq(1), any()))
+                .thenReturn(new long[][]{dailyAtFour(1)});
 
         // 测试超过最大限制
         mockMvc.perform(get("/api/next-times")
@@ -122,21 +159,337 @@ class CronControllerTest {
 
     @Test
     void testGetNextTimes_DefaultCount() throws Exception {
-        List<String> nextTimes = Arrays.asList(
-                "2024-01-01 04:00:00 (Asia/Shanghai)",
-                "2024-01-02 04:00:00 (Asia/Shanghai)",
-                "2024-01-03 04:00:00 (Asia/Shanghai)",
-                "2024-01-04 04:00:00 (Asia/Shanghai)",
-                "2024-01-05 04:00:00 (Asia/Shanghai)"
-        );
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), anyString(), anyList(), any(), eq(5), any()))
+                .thenReturn(new long[][]{dailyAtFour(5)});
+
+        mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextTimes.length()").value(5))
+                .andExpect(jsonPath("$.nextTimes[4]").value("2024-01-05 04:00:00 (Asia/Shanghai)"));
+    }
+
+    @Test
+    void testGetNextTimes_WithEngine() throws Exception {
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), anyString(), anyList(), any(), eq(5), eq("BITSET")))
+                .thenReturn(new long[][]{dailyAtFour(1)});
+
+        mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("engine", "BITSET"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextTimes[0]").value("2024-01-01 04:00:00 (Asia/Shanghai)"));
+    }
+
+    @Test
+    void testGetNextTimes_IsoAndEpochMillisFormats() throws Exception {
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), anyList(), any(), eq(2), any()))
+                .thenReturn(new long[][]{dailyAtFour(2)});
+
+        mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("count", "2")
+                        .param("format", "iso"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextTimes[0]").value("2024-01-01T04:00:00+08:00"))
+                .andExpect(jsonPath("$.nextTimes[1]").value("2024-01-02T04:00:00+08:00"));
+
+        mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("count", "2")
+                        .param("format", "EPOCH_MILLIS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextTimes").doesNotExist())
+                .andExpect(jsonPath("$.epochMillis[0]").value(1704052800000L))
+                .andExpect(jsonPath("$.epochMillis[1]").value(1704139200000L));
 
-        when(cronService.getNextExecutionTimes(eq("0 0 4 * * ?"), anyString(), eq(5)))
-                .thenReturn(nextTimes);
+        mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("format", "rfc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("不支持的时间格式: rfc"));
+    }
+
+    @Test
+    void testGetNextTimes_FromAnchorPassedThroughAndCachedFully() throws Exception {
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), eq(List.of("UTC")),
+                eq("2024-01-01 00:00:00"), eq(1), any()))
+                .thenReturn(new long[][]{{1704081600L}});
 
         mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("tz", "UTC")
+                        .param("from", "2024-01-01 00:00:00")
+                        .param("count", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextTimes[0]").value("2024-01-01 04:00:00 (UTC)"))
+                .andExpect(header().string("Cache-Control", "max-age=86400, public"));
+    }
+
+    @Test
+    void testGetNextTimesByZone() throws Exception {
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), eq(List.of("Asia/Shanghai", "UTC")),
+                any(), eq(1), any()))
+                .thenReturn(new long[][]{dailyAtFour(1), {1704081600L}});
+
+        mockMvc.perform(get("/api/next-times/zones")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("tz", "Asia/Shanghai, UTC")
+                        .param("count", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].timezone").value("Asia/Shanghai"))
+                .andExpect(jsonPath("$.results[0].nextTimes[0]").value("2024-01-01 04:00:00 (Asia/Shanghai)"))
+                .andExpect(jsonPath("$.results[1].timezone").value("UTC"))
+                .andExpect(jsonPath("$.results[1].nextTimes[0]").value("2024-01-01 04:00:00 (UTC)"))
+                .andExpect(jsonPath("$.results[1].epochMillis").doesNotExist());
+    }
+
+    @Test
+    void testGetNextTimesByZone_Invalid() throws Exception {
+        mockMvc.perform(get("/api/next-times/zones")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("tz", " , "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("时区数量必须在 1 到 50 之间"));
+
+        when(cronService.nextEpochSeconds(eq("invalid"), anyString(), anyList(), any(), anyInt(), any()))
+                .thenThrow(new IllegalArgumentException("无法计算执行时间"));
+        mockMvc.perform(get("/api/next-times/zones")
+                        .param("expr", "invalid")
+                        .param("tz", "UTC"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.results").isEmpty())
+                .andExpect(jsonPath("$.message").value("无法计算执行时间"));
+    }
+
+    @Test
+    void testParseCron_UnixType() throws Exception {
+        when(cronService.parseCronToHuman("30 9 * * *", "UNIX", null))
+                .thenReturn("每天 09:30 执行");
+
+        mockMvc.perform(get("/api/parse")
+                        .param("expr", "30 9 * * *")
+                        .param("type", "UNIX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("UNIX"))
+                .andExpect(jsonPath("$.humanReadable").value("每天 09:30 执行"));
+    }
+
+    @Test
+    void testParseCron_English() throws Exception {
+        when(cronService.parseCronToHuman("0 0 4 * * ?", "QUARTZ", "en"))
+                .thenReturn("Every day at 04:00");
+
+        mockMvc.perform(get("/api/parse")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("lang", "en"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.humanReadable").value("Every day at 04:00"));
+    }
+
+    @Test
+    void testParseCron_ETagAndNotModified() throws Exception {
+        when(cronService.parseCronToHuman("0 0 4 * * ?", "QUARTZ", null))
+                .thenReturn("每天 04:00 执行");
+
+        String etag = mockMvc.perform(get("/api/parse")
                         .param("expr", "0 0 4 * * ?"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.nextTimes.length()").value(5));
+                .andExpect(header().string("Cache-Control", "max-age=86400, public"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/parse")
+                        .param("expr", "0 0 4 * * ?")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // 时区出现在响应中，ETag 随之变化
+        mockMvc.perform(get("/api/parse")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("tz", "UTC")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testParseCron_InvalidNotCached() throws Exception {
+        when(cronService.parseCronToHuman("invalid", "QUARTZ", null))
+                .thenThrow(new IllegalArgumentException("无效的 Cron 表达式"));
+
+        mockMvc.perform(get("/api/parse")
+                        .param("expr", "invalid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Cache-Control"));
+    }
+
+    @Test
+    void testGetNextTimes_MaxAgeUntilFirstFireTime() throws Exception {
+        long first = Instant.now().getEpochSecond() + 600;
+        when(cronService.nextEpochSeconds(eq("0 */10 * * * ?"), eq("QUARTZ"), eq(List.of("UTC")), any(), eq(2), any()))
+                .thenReturn(new long[][]{{first, first + 600}});
+
+        String cacheControl = mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 */10 * * * ?")
+                        .param("tz", "UTC")
+                        .param("count", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("Cache-Control");
+        long maxAge = Long.parseLong(cacheControl.replaceAll("max-age=(\\d+).*", "$1"));
+        assertTrue(maxAge > 590 && maxAge <= 600, cacheControl);
+    }
+
+    @Test
+    void testGetNextTimes_PastFirstFireTimeNotCached() throws Exception {
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), anyList(), any(), eq(1), any()))
+                .thenReturn(new long[][]{dailyAtFour(1)});
+
+        mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("count", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=0, public"));
+    }
+
+    @Test
+    void testGetNextTimes_ETagDependsOnFormat() throws Exception {
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), anyList(), any(), eq(1), any()))
+                .thenReturn(new long[][]{dailyAtFour(1)});
+
+        String text = mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("count", "1"))
+                .andReturn().getResponse().getHeader("ETag");
+        String iso = mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("count", "1")
+                        .param("format", "ISO"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(text, iso);
+    }
+
+    @Test
+    void testParseCron_Cbor() throws Exception {
+        when(cronService.parseCronToHuman("0 0 4 * * ?", "QUARTZ", null))
+                .thenReturn("每天 04:00 执行");
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/parse")
+                        .param("expr", "0 0 4 * * ?")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse();
+
+        CompactParseResult result = new CBORMapper().readValue(response.getContentAsByteArray(), CompactParseResult.class);
+        assertTrue(result.isValid());
+        assertEquals("每天 04:00 执行", result.getHumanReadable());
+        assertEquals("0 0 4 * * ?", result.getCanonical());
+        assertEquals(0x1f2e3d4c5b6a7988L, result.getFingerprint());
+    }
+
+    @Test
+    void testParseCron_CborInvalidExpression() throws Exception {
+        when(cronService.parseCronToHuman("invalid", "QUARTZ", null))
+                .thenThrow(new IllegalArgumentException("无效的 Cron 表达式"));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/parse")
+                        .param("expr", "invalid")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+
+        CompactParseResult result = new CBORMapper().readValue(response.getContentAsByteArray(), CompactParseResult.class);
+        assertFalse(result.isValid());
+        assertEquals("无效的 Cron 表达式", result.getMessage());
+        assertNull(result.getFingerprint());
+    }
+
+    @Test
+    void testGetNextTimes_CborDeltaEncoded() throws Exception {
+        long[] epochSeconds = dailyAtFour(20);
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), anyList(), any(), eq(20), any()))
+                .thenReturn(new long[][]{epochSeconds});
+
+        MockHttpServletResponse cbor = mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("count", "20")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse();
+        MockHttpServletResponse json = mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("count", "20"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        CompactNextTimes result = new CBORMapper().readValue(cbor.getContentAsByteArray(), CompactNextTimes.class);
+        assertTrue(result.isValid());
+        assertEquals("Asia/Shanghai", result.getTimezone());
+        assertEquals(epochSeconds[0], result.getFirst());
+        assertEquals(19, result.getDeltas().length);
+        assertEquals(86_400L, result.getDeltas()[0]);
+        assertArrayEquals(epochSeconds, result.toEpochSeconds());
+        assertTrue(cbor.getContentAsByteArray().length * 4 < json.getContentAsByteArray().length,
+                cbor.getContentAsByteArray().length + " vs " + json.getContentAsByteArray().length);
+        assertNotEquals(json.getHeader("ETag"), cbor.getHeader("ETag"));
+    }
+
+    @Test
+    void testGetNextTimes_JsonStaysDefault() throws Exception {
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), anyList(), any(), eq(1), any()))
+                .thenReturn(new long[][]{dailyAtFour(1)});
+
+        for (String accept : List.of("*/*", "application/json, application/cbor", "application/cbor;q=0.5, */*",
+                "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")) {
+            mockMvc.perform(get("/api/next-times")
+                            .param("expr", "0 0 4 * * ?")
+                            .param("count", "1")
+                            .header("Accept", accept))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                    .andExpect(jsonPath("$.valid").value(true));
+        }
+        mockMvc.perform(get("/api/next-times")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("count", "1")
+                        .header("Accept", "application/cbor, */*;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void testGetNextTimesByZone_Cbor() throws Exception {
+        long[] shanghai = dailyAtFour(3);
+        long[] utc = {shanghai[0] + 8 * 3600, shanghai[1] + 8 * 3600, shanghai[2] + 8 * 3600};
+        when(cronService.nextEpochSeconds(eq("0 0 4 * * ?"), eq("QUARTZ"), eq(List.of("Asia/Shanghai", "UTC")), any(), eq(3), any()))
+                .thenReturn(new long[][]{shanghai, utc});
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/next-times/zones")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("tz", "Asia/Shanghai,UTC")
+                        .param("count", "3")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+
+        CompactNextTimesByZone result = new CBORMapper().readValue(response.getContentAsByteArray(), CompactNextTimesByZone.class);
+        assertTrue(result.isValid());
+        assertEquals(2, result.getResults().size());
+        assertEquals("UTC", result.getResults().get(1).getTimezone());
+        assertArrayEquals(shanghai, result.getResults().get(0).toEpochSeconds());
+        assertArrayEquals(utc, result.getResults().get(1).toEpochSeconds());
     }
 
     @Test
@@ -0,0 +1,58 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.model.DensityBucket;
+import com.crontools.app.model.DensityResponse;
+import com.crontools.app.service.DensityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DensityController.class)
+class DensityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DensityService densityService;
+
+    @Test
+    void testDensity_ValidExpression() throws Exception {
+        DensityResponse response = new DensityResponse("0 0 4 * * ?", "Asia/Shanghai", "DAY",
+                "2024-01-01 00:00:00", "2024-01-03 00:00:00", 2,
+                Arrays.asList(new DensityBucket("2024-01-01", 1), new DensityBucket("2024-01-02", 1)), true, "");
+        when(densityService.density(eq("0 0 4 * * ?"), any(), any(), any(), eq(2), eq("DAY")))
+                .thenReturn(response);
+
+        mockMvc.perform(get("/api/density")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("days", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.buckets[1].key").value("2024-01-02"))
+                .andExpect(jsonPath("$.buckets[1].count").value(1));
+    }
+
+    @Test
+    void testDensity_InvalidBucket() throws Exception {
+        when(densityService.density(anyString(), any(), any(), any(), any(), eq("MINUTE")))
+                .thenThrow(new IllegalArgumentException("不支持的分桶方式: MINUTE"));
+
+        mockMvc.perform(get("/api/density")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("bucket", "MINUTE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("不支持的分桶方式: MINUTE"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.config.ExecutorConfig;
+import com.crontools.app.service.CronService;
+import com.crontools.app.service.ExpressionFileValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FileValidationController.class)
+@Import({ExpressionFileValidator.class, CronService.class, ExecutorConfig.class})
+class FileValidationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testValidateFile_StreamsTsvReport() throws Exception {
+        byte[] content = "# nightly jobs\n0 0 4 * * ? cleanup\n0 0 25 * * ? broken\n".getBytes(StandardCharsets.UTF_8);
+        MvcResult result = mockMvc.perform(post("/api/validate-file")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(content))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/tab-separated-values;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("2\tOK\t每天 04:00 执行", lines[0]);
+        assertTrue(lines[1].startsWith("3\tERROR\t无效的 Cron 表达式: "));
+        assertEquals("# lines=3 expressions=2 valid=1 invalid=1 skipped=1", lines[2]);
+    }
+
+    @Test
+    void testValidateFile_UnsupportedType() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/validate-file")
+                        .param("type", "JENKINS")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("0 0 4 * * ?\n"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("不支持的 Cron 类型: JENKINS"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.model.LookupItemResponse;
+import com.crontools.app.model.MatchResponse;
+import com.crontools.app.model.PreviousTimesResponse;
+import com.crontools.app.service.LookupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LookupController.class)
+class LookupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LookupService lookupService;
+
+    @Test
+    void testMatches() throws Exception {
+        when(lookupService.matches("0 17 3 * * ?", "QUARTZ", "UTC", "2024-05-01 03:17:00"))
+                .thenReturn(new MatchResponse("0 17 3 * * ?", "QUARTZ", "UTC", "2024-05-01 03:17:00 (UTC)", true, true, ""));
+
+        mockMvc.perform(get("/api/matches")
+                        .param("expr", "0 17 3 * * ?")
+                        .param("tz", "UTC")
+                        .param("at", "2024-05-01 03:17:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(true))
+                .andExpect(jsonPath("$.at").value("2024-05-01 03:17:00 (UTC)"));
+    }
+
+    @Test
+    void testMatches_MissingTime() throws Exception {
+        when(lookupService.matches(anyString(), anyString(), any(), isNull()))
+                .thenThrow(new IllegalArgumentException("必须指定查询时间 at"));
+
+        mockMvc.perform(get("/api/matches")
+                        .param("expr", "0 17 3 * * ?"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("必须指定查询时间 at"));
+    }
+
+    @Test
+    void testPreviousTimes() throws Exception {
+        when(lookupService.previous(eq("0 17 3 * * ?"), eq("QUARTZ"), any(), eq("2024-05-01 03:17:00"), eq(2), any()))
+                .thenReturn(new PreviousTimesResponse(
+                        List.of("2024-04-30 03:17:00 (Asia/Shanghai)", "2024-04-29 03:17:00 (Asia/Shanghai)"), true, ""));
+
+        mockMvc.perform(get("/api/previous-times")
+                        .param("expr", "0 17 3 * * ?")
+                        .param("before", "2024-05-01 03:17:00")
+                        .param("count", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.previousTimes.length()").value(2))
+                .andExpect(jsonPath("$.previousTimes[0]").value("2024-04-30 03:17:00 (Asia/Shanghai)"));
+    }
+
+    @Test
+    void testLookup() throws Exception {
+        when(lookupService.lookup(anyList())).thenReturn(List.of(
+                new LookupItemResponse(0, "0 17 3 * * ?", "2024-05-01 03:17:00 (UTC)", true, null, true, "")));
+
+        mockMvc.perform(post("/api/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"expr\":\"0 17 3 * * ?\",\"tz\":\"UTC\",\"at\":\"2024-05-01 03:17:00\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].matches").value(true));
+    }
+
+    @Test
+    void testLookup_Empty() throws Exception {
+        when(lookupService.lookup(anyList())).thenThrow(new IllegalArgumentException("批量请求不能为空"));
+
+        mockMvc.perform(post("/api/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("批量请求不能为空"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.service.CronService;
+import com.crontools.app.service.RangeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RangeController.class)
+@Import({RangeService.class, CronService.class})
+class RangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testRange_StreamsNdjsonWithCursor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/range")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("tz", "Asia/Shanghai")
+                        .param("from", "2024-01-01 00:00:00")
+                        .param("to", "2024-02-01 00:00:00")
+                        .param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("{\"time\":\"2024-01-01T04:00:00+08:00\",\"epochSecond\":1704052800}", lines[0]);
+        assertEquals("{\"time\":\"2024-01-02T04:00:00+08:00\",\"epochSecond\":1704139200}", lines[1]);
+        assertTrue(lines[2].startsWith("{\"count\":2,\"done\":false,\"cursor\":\""));
+    }
+
+    @Test
+    void testRange_InvalidWindow() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/range")
+                        .param("expr", "0 0 4 * * ?")
+                        .param("from", "2024-02-01 00:00:00")
+                        .param("to", "2024-01-01 00:00:00"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("结束时间必须晚于开始时间"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.crontools.app.controller;
+
+import com.crontools.app.model.WatchEvent;
+import com.crontools.app.service.WatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WatchController.class)
+class WatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private WatchService watchService;
+
+    @Test
+    void testWatch_StreamsScheduleAndNextEvents() throws Exception {
+        AtomicReference<WatchService.Listener> listener = new AtomicReference<>();
+        WatchService.Subscription subscription = mock(WatchService.Subscription.class);
+        when(watchService.subscribe(eq(List.of("0 0 9,17 * * ?", "0 * * * * ?")), eq("QUARTZ"), eq("UTC"), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    WatchService.Listener l = invocation.getArgument(4);
+                    l.onEvent(new WatchEvent(0, "0 0 9,17 * * ?", null, "2024-01-01 09:00:00 (UTC)", 1704099600000L));
+                    listener.set(l);
+                    return subscription;
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/watch")
+                        .param("expr", "0 0 9,17 * * ?", "0 * * * * ?")
+                        .param("tz", "UTC"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Accel-Buffering", "no"))
+                .andReturn();
+
+        listener.get().onEvent(new WatchEvent(1, "0 * * * * ?", "2024-01-01 00:01:00 (UTC)",
+                "2024-01-01 00:02:00 (UTC)", 1704067320000L));
+        listener.get().onHeartbeat();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:schedule\ndata:{\"index\":0,\"expr\":\"0 0 9,17 * * ?\","
+                + "\"nextTime\":\"2024-01-01 09:00:00 (UTC)\",\"nextEpochMillis\":1704099600000}"), body);
+        assertTrue(body.contains("event:next\ndata:{\"index\":1,\"expr\":\"0 * * * * ?\","
+                + "\"firedTime\":\"2024-01-01 00:01:00 (UTC)\",\"nextTime\":\"2024-01-01 00:02:00 (UTC)\""), body);
+        assertTrue(body.contains(":heartbeat\n"), body);
+        verify(subscription, never()).close();
+    }
+
+    @Test
+    void testWatch_InvalidExpression() throws Exception {
+        when(watchService.subscribe(eq(List.of("invalid")), anyString(), isNull(), isNull(), any()))
+                .thenThrow(new IllegalArgumentException("无法计算执行时间: invalid"));
+
+        // 事件流规定使用 UTF-8
+        String body = mockMvc.perform(get("/api/watch")
+                        .param("expr", "invalid"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("event:error\ndata:{\"valid\":false,\"message\":\"无法计算执行时间: invalid\"}"), body);
+    }
+}
@@ -0,0 +1,98 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.BatchItemRequest;
+import com.crontools.app.model.BatchItemResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchServiceTest {
+
+    private ExecutorService executor;
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        batchService = new BatchService(new CronService(), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testEvaluate_MixedBatchKeepsInputOrder() {
+        List<BatchItemRequest> items = Arrays.asList(
+                new BatchItemRequest("0 0 4 * * ?", "QUARTZ", "UTC", 3),
+                new BatchItemRequest("invalid", "QUARTZ", null, 3),
+                new BatchItemRequest("0 30 9 ? * MON-FRI", "QUARTZ", null, 50)
+        );
+
+        List<BatchItemResponse> results = join(batchService.evaluate(items));
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+
+        BatchItemResponse first = results.get(0);
+        assertTrue(first.isValid());
+        assertEquals("每天 04:00 执行", first.getParse().getHumanReadable());
+        assertEquals("UTC", first.getParse().getTimezone());
+        assertEquals("0 0 4 * * ?", first.getParse().getCanonical());
+        assertEquals(16, first.getParse().getFingerprint().length());
+        assertEquals(3, first.getNextTimes().getNextTimes().size());
+
+        BatchItemResponse second = results.get(1);
+        assertFalse(second.isValid());
+        assertFalse(second.getParse().isValid());
+        assertFalse(second.getNextTimes().isValid());
+        assertTrue(second.getMessage().contains("无效的 Cron 表达式"));
+        assertEquals("Asia/Shanghai", second.getParse().getTimezone());
+        assertNull(second.getParse().getCanonical());
+
+        // count 超出上限时按单次查询的规则截断为 20
+        BatchItemResponse third = results.get(2);
+        assertTrue(third.isValid());
+        assertEquals(20, third.getNextTimes().getNextTimes().size());
+    }
+
+    @Test
+    void testEvaluate_InvalidTimezoneOnlyFailsItsItem() {
+        List<BatchItemRequest> items = Arrays.asList(
+                new BatchItemRequest("0 0 4 * * ?", "QUARTZ", "Not/AZone", 1),
+                new BatchItemRequest("0 0 4 * * ?", "QUARTZ", "UTC", 1)
+        );
+
+        List<BatchItemResponse> results = join(batchService.evaluate(items));
+
+        assertTrue(results.get(0).getParse().isValid());
+        assertFalse(results.get(0).getNextTimes().isValid());
+        assertFalse(results.get(0).isValid());
+        assertTrue(results.get(1).isValid());
+    }
+
+    @Test
+    void testEvaluate_RejectsEmptyBatch() {
+        assertThrows(IllegalArgumentException.class, () -> batchService.evaluate(new ArrayList<>()));
+    }
+
+    private static List<BatchItemResponse> join(List<CompletableFuture<BatchItemResponse>> futures) {
+        List<BatchItemResponse> results = new ArrayList<>();
+        for (CompletableFuture<BatchItemResponse> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,369 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.Cron;
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitsetScheduleTest {
+
+    private static final CronParser PARSER = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
+
+    // Australia/Lord_Howe 的半小时夏令时不在对比范围内：cron-utils 按瞬时逐小时步进，会漏掉切换当天仍然存在的 02:30-02:59
+    private static final String[] ZONES = {
+            "UTC", "Asia/Shanghai", "America/New_York", "Europe/London", "Europe/Berlin",
+            "America/Sao_Paulo", "America/Santiago", "America/Havana"
+    };
+
+    @Test
+    void testSpecialCharacters() {
+        assertNext("0 0 0 L * ?", "2024-01-15T00:00", "2024-01-31T00:00", "2024-02-29T00:00", "2024-03-31T00:00");
+        assertNext("0 0 0 L-3 * ?", "2024-01-15T00:00", "2024-01-28T00:00", "2024-02-26T00:00", "2024-03-28T00:00");
+        assertNext("0 0 0 1W * ?", "2024-05-15T00:00", "2024-06-03T00:00", "2024-07-01T00:00");
+        assertNext("0 0 0 LW * ?", "2024-05-15T00:00", "2024-05-31T00:00", "2024-06-28T00:00");
+        assertNext("0 0 0 ? * 6L", "2024-01-01T00:00", "2024-01-26T00:00", "2024-02-23T00:00", "2024-03-29T00:00");
+        assertNext("0 0 0 ? * 2#5", "2024-01-01T00:00", "2024-01-29T00:00", "2024-04-29T00:00", "2024-07-29T00:00");
+        assertNext("0 0 0 ? * L", "2024-01-01T00:00", "2024-01-06T00:00", "2024-01-13T00:00");
+        assertNext("0 0 0 29 2 ?", "2024-03-01T00:00", "2028-02-29T00:00", "2032-02-29T00:00");
+    }
+
+    @Test
+    void testExhaustedSchedules() {
+        assertNext("0 0 0 ? * MON-FRI 2025", "2025-12-30T00:00", "2025-12-31T00:00");
+        assertExhaustedAfter("0 0 0 ? * MON-FRI 2025", "2025-12-31T00:00");
+        assertExhaustedAfter("0 0 0 * * ? 2020", "2024-01-01T00:00");
+        assertExhaustedAfter("0 0 0 30 2 ?", "2024-01-01T00:00");
+    }
+
+    @Test
+    void testDaylightSavingTransitions() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        // 春季跳过不存在的 02:xx，秋季重叠的 01:xx 按瞬时顺序各触发一次
+        assertSameAsCronUtils("0 0 * * * ?", LocalDateTime.parse("2024-03-10T00:30").atZone(newYork), 5);
+        assertSameAsCronUtils("0 30 2 * * ?", LocalDateTime.parse("2024-03-09T12:00").atZone(newYork), 3);
+        assertSameAsCronUtils("0 0 * * * ?", LocalDateTime.parse("2024-11-03T00:30").atZone(newYork), 5);
+        assertSameAsCronUtils("0 */20 * * * ?", LocalDateTime.parse("2024-11-03T00:30").atZone(newYork), 10);
+        // 每天一次的任务在重叠时段只触发第一次
+        assertSameAsCronUtils("0 30 1 * * ?", LocalDateTime.parse("2024-11-02T12:00").atZone(newYork), 3);
+    }
+
+    @Test
+    void testMatchesIsConsistentWithNextExecution() {
+        BitsetSchedule schedule = compile("0 15 10 ? * 6L");
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        long fire = LocalDateTime.parse("2024-01-26T10:15").atZone(zone).toEpochSecond();
+
+        assertTrue(schedule.matches(fire, zone.getRules()));
+        assertFalse(schedule.matches(fire + 1, zone.getRules()));
+        assertEquals(fire, schedule.nextExecution(fire - 1, zone));
+    }
+
+    @Test
+    void testDifferentialAgainstCronUtils() {
+        Random random = new Random(20240310L);
+        int compared = 0;
+        for (int i = 0; i < 720; i++) {
+            String expression = randomExpression(random);
+            if (!isValid(expression) || !isSupported(expression)) {
+                continue;
+            }
+            ZoneId zone = ZoneId.of(ZONES[random.nextInt(ZONES.length)]);
+            ZonedDateTime start = randomStart(random, zone);
+            if (assertSameAsCronUtils(expression, start, 25)) {
+                compared++;
+            }
+        }
+        assertTrue(compared > 500, "有效对比次数过少: " + compared);
+    }
+
+    @Test
+    void testUnsupportedShapesAreRejected() {
+        // cron-utils 对这些写法的语义与字面不同（小时 22-2 只在 22 点触发，2,L 只在 2 号触发），交给 cron-utils 计算
+        for (String expression : List.of("0 0 22-2 * * ?", "0 0 22-2/2 * * ?", "0 50-10 * * * ?", "0 0 0 28-3 * ?",
+                "0 0 0 1 11-2 ?", "0 0 0 ? * FRI-MON", "0 0 0 ? * 7-2", "0 0 0 2,L * ?", "0 0 0 L-2,5 * ?", "0 0 0 15W,3 * ?", "0 0 0 LW,3 * ?")) {
+            assertThrows(IllegalArgumentException.class, () -> compile(expression), expression);
+        }
+    }
+
+    @Test
+    void testPreviousExecution() {
+        assertPrevious("0 0 0 L * ?", "2024-03-15T00:00", "2024-02-29T00:00", "2024-01-31T00:00", "2023-12-31T00:00");
+        assertPrevious("0 0 0 ? * 6L", "2024-02-01T00:00", "2024-01-26T00:00", "2023-12-29T00:00");
+        assertPrevious("0 0 0 29 2 ?", "2024-02-28T00:00", "2020-02-29T00:00", "2016-02-29T00:00");
+        assertPrevious("0 17 3 * * ?", "2024-01-01T03:17:00", "2023-12-31T03:17", "2023-12-30T03:17");
+        assertPrevious("0 0 0 ? * MON-FRI 2025", "2026-06-01T00:00", "2025-12-31T00:00", "2025-12-30T00:00");
+        assertTrue(compile("0 0 0 * * ? 2030").previousExecution(0, ZoneId.of("UTC")) == BitsetSchedule.NONE);
+    }
+
+    @Test
+    void testPreviousAndMatchAreConsistentWithNext() {
+        Random random = new Random(20241103L);
+        int compared = 0;
+        for (int i = 0; i < 480; i++) {
+            String expression = randomExpression(random);
+            if (!isValid(expression) || !isSupported(expression)) {
+                continue;
+            }
+            ZoneId zone = ZoneId.of(ZONES[random.nextInt(ZONES.length)]);
+            if (assertBackwardSameAsForward(compile(expression), expression, randomStart(random, zone).toEpochSecond(), zone)) {
+                compared++;
+            }
+        }
+        assertTrue(compared > 300, "有效对比次数过少: " + compared);
+
+        // 回拨重叠时段：每小时任务两次都触发，每天 01:30 的任务只在第一次触发
+        ZoneId newYork = ZoneId.of("America/New_York");
+        long start = LocalDateTime.parse("2024-11-02T12:00").atZone(newYork).toEpochSecond();
+        assertBackwardSameAsForward(compile("0 0 * * * ?"), "0 0 * * * ?", start, newYork);
+        assertBackwardSameAsForward(compile("0 */20 * * * ?"), "0 */20 * * * ?", start, newYork);
+        assertBackwardSameAsForward(compile("0 30 1 * * ?"), "0 30 1 * * ?", start, newYork);
+        long secondOneThirty = LocalDateTime.parse("2024-11-03T01:30").atZone(newYork).withLaterOffsetAtOverlap().toEpochSecond();
+        assertFalse(compile("0 30 1 * * ?").isMatch(secondOneThirty, newYork));
+        assertTrue(compile("0 30 * * * ?").isMatch(secondOneThirty, newYork));
+    }
+
+    // 正向得到的连续触发时间，反向逐个回退必须得到相同序列，且相邻两次之间没有其他命中的时刻
+    private static boolean assertBackwardSameAsForward(BitsetSchedule schedule, String expression, long start, ZoneId zone) {
+        List<Long> forward = new ArrayList<>();
+        long cursor = start;
+        for (int i = 0; i < 25; i++) {
+            cursor = schedule.nextExecution(cursor, zone);
+            if (cursor == BitsetSchedule.NONE) {
+                break;
+            }
+            forward.add(cursor);
+        }
+        if (forward.size() < 2) {
+            return false;
+        }
+        for (int i = forward.size() - 1; i > 0; i--) {
+            long fire = forward.get(i);
+            assertTrue(schedule.isMatch(fire, zone), () -> expression + " 应命中 " + render(List.of(fire), zone));
+            assertFalse(schedule.isMatch(fire - 1, zone) && forward.get(i - 1) != fire - 1, expression);
+            assertEquals(render(List.of(forward.get(i - 1)), zone), render(List.of(schedule.previousExecution(fire, zone)), zone),
+                    () -> expression + " 在 " + render(List.of(fire), zone) + " 之前");
+        }
+        assertTrue(schedule.previousExecution(forward.get(0), zone) <= start, expression);
+        return true;
+    }
+
+    // cron-utils 自身抛出异常的组合不参与对比，返回 false
+    private static boolean assertSameAsCronUtils(String expression, ZonedDateTime start, int count) {
+        Cron cron = PARSER.parse(expression).validate();
+        ExecutionTime executionTime = ExecutionTime.forCron(cron);
+        BitsetSchedule schedule = BitsetSchedule.compile(cron);
+
+        List<Long> expected = new ArrayList<>();
+        try {
+            ZonedDateTime cursor = start;
+            for (int i = 0; i < count; i++) {
+                Optional<ZonedDateTime> next = executionTime.nextExecution(cursor);
+                if (next.isEmpty()) {
+                    break;
+                }
+                cursor = next.get();
+                expected.add(cursor.toEpochSecond());
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+
+        List<Long> actual = new ArrayList<>();
+        long cursor = start.toEpochSecond();
+        for (int i = 0; i < count; i++) {
+            cursor = schedule.nextExecution(cursor, start.getZone());
+            if (cursor == BitsetSchedule.NONE) {
+                break;
+            }
+            actual.add(cursor);
+        }
+
+        assertEquals(render(expected, start.getZone()), render(actual, start.getZone()),
+                () -> expression + " @ " + start);
+        return true;
+    }
+
+    private static void assertNext(String expression, String start, String... expected) {
+        BitsetSchedule schedule = compile(expression);
+        ZoneId utc = ZoneId.of("UTC");
+        List<String> actual = new ArrayList<>();
+        ZonedDateTime cursor = LocalDateTime.parse(start).atZone(utc);
+        for (int i = 0; i < expected.length; i++) {
+            Optional<ZonedDateTime> next = schedule.nextExecution(cursor);
+            if (next.isEmpty()) {
+                break;
+            }
+            cursor = next.get();
+            actual.add(cursor.toLocalDateTime().toString());
+        }
+        assertEquals(List.of(expected), actual, expression);
+        assertSameAsCronUtils(expression, LocalDateTime.parse(start).atZone(utc), expected.length + 1);
+    }
+
+    private static void assertPrevious(String expression, String before, String... expected) {
+        BitsetSchedule schedule = compile(expression);
+        ZoneId utc = ZoneId.of("UTC");
+        List<String> actual = new ArrayList<>();
+        long cursor = LocalDateTime.parse(before).atZone(utc).toEpochSecond();
+        for (int i = 0; i < expected.length; i++) {
+            cursor = schedule.previousExecution(cursor, utc);
+            if (cursor == BitsetSchedule.NONE) {
+                break;
+            }
+            actual.add(LocalDateTime.ofEpochSecond(cursor, 0, java.time.ZoneOffset.UTC).toString());
+        }
+        assertEquals(List.of(expected), actual, expression);
+    }
+
+    private static void assertExhaustedAfter(String expression, String time) {
+        ZonedDateTime cursor = LocalDateTime.parse(time).atZone(ZoneId.of("UTC"));
+        assertTrue(compile(expression).nextExecution(cursor).isEmpty(), expression);
+    }
+
+    private static boolean isValid(String expression) {
+        try {
+            PARSER.parse(expression).validate();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // 首尾回绕的范围与日期列表中的 L/W 不能用位图表示，compile 拒绝，CronService 回退到 cron-utils
+    private static boolean isSupported(String expression) {
+        try {
+            compile(expression);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static BitsetSchedule compile(String expression) {
+        return BitsetSchedule.compile(PARSER.parse(expression).validate());
+    }
+
+    private static List<String> render(List<Long> epochSeconds, ZoneId zone) {
+        List<String> rendered = new ArrayList<>();
+        for (long epochSecond : epochSeconds) {
+            rendered.add(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone).toOffsetDateTime().toString());
+        }
+        return rendered;
+    }
+
+    private static ZonedDateTime randomStart(Random random, ZoneId zone) {
+        int year = 2017 + random.nextInt(12);
+        ZonedDateTime base = ZonedDateTime.of(year, 1 + random.nextInt(12), 1 + random.nextInt(28),
+                random.nextInt(24), random.nextInt(60), random.nextInt(60), 0, zone);
+        if (random.nextBoolean()) {
+            ZoneOffsetTransition transition = zone.getRules().nextTransition(base.toInstant());
+            if (transition != null) {
+                // 从夏令时切换前几个小时开始，覆盖跳过与重叠的时段
+                return ZonedDateTime.ofInstant(transition.getInstant().minusSeconds(random.nextInt(4 * 3600)), zone);
+            }
+        }
+        return base;
+    }
+
+    private static String randomExpression(Random random) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(timeField(random, 0, 59, random.nextInt(3) == 0)).append(' ');
+        sb.append(timeField(random, 0, 59, random.nextInt(3) == 0)).append(' ');
+        sb.append(timeField(random, 0, 23, random.nextInt(2) == 0)).append(' ');
+        if (random.nextBoolean()) {
+            sb.append(dayOfMonthField(random)).append(' ').append(timeField(random, 1, 12, random.nextInt(3) != 0)).append(" ?");
+        } else {
+            sb.append("? ").append(timeField(random, 1, 12, random.nextInt(3) != 0)).append(' ').append(dayOfWeekField(random));
+        }
+        if (random.nextInt(5) == 0) {
+            int from = 2017 + random.nextInt(10);
+            sb.append(' ').append(from).append('-').append(from + random.nextInt(6));
+        }
+        return sb.toString();
+    }
+
+    private static String timeField(Random random, int min, int max, boolean wide) {
+        int span = max - min + 1;
+        if (!wide) {
+            return String.valueOf(min + random.nextInt(span));
+        }
+        int a = min + random.nextInt(span);
+        int b = min + random.nextInt(span);
+        int from = Math.min(a, b);
+        int to = Math.max(a, b);
+        switch (random.nextInt(7)) {
+            case 0:
+                return "*";
+            case 1:
+                return from + "-" + to;
+            case 2:
+                return from + "/" + (1 + random.nextInt(Math.max(1, span / 3)));
+            case 3:
+                return "*/" + (1 + random.nextInt(Math.max(1, span / 3)));
+            case 4:
+                return from + "-" + to + "/" + (1 + random.nextInt(4));
+            case 5:
+                // 首尾回绕的范围（如 22-2）
+                return from == to || random.nextBoolean() ? from + "-" + to : to + "-" + from;
+            default:
+                return from == to ? String.valueOf(from) : from + "," + to;
+        }
+    }
+
+    private static String dayOfMonthField(Random random) {
+        switch (random.nextInt(9)) {
+            case 0:
+                return "L";
+            case 1:
+                return "L-" + random.nextInt(6);
+            case 2:
+                return (1 + random.nextInt(28)) + "W";
+            case 3:
+                return "LW";
+            case 4:
+                // 特殊字符与普通日期混在列表中（如 2,L）
+                String[] specials = {"L", "L-" + random.nextInt(6), (1 + random.nextInt(28)) + "W", "LW"};
+                String special = specials[random.nextInt(specials.length)];
+                String day = String.valueOf(1 + random.nextInt(28));
+                return random.nextBoolean() ? day + "," + special : special + "," + day;
+            default:
+                return timeField(random, 1, 31, random.nextBoolean());
+        }
+    }
+
+    private static String dayOfWeekField(Random random) {
+        switch (random.nextInt(9)) {
+            case 0:
+                return (1 + random.nextInt(7)) + "L";
+            case 1:
+                return (1 + random.nextInt(7)) + "#" + (1 + random.nextInt(5));
+            case 2:
+                return "L";
+            case 3:
+                return "MON-FRI";
+            case 4:
+                return (1 + random.nextInt(7)) + "-" + (1 + random.nextInt(7));
+            case 5:
+                // 特殊字符与普通星期混在列表中
+                return random.nextBoolean()
+                        ? (1 + random.nextInt(7)) + "L," + (1 + random.nextInt(7))
+                        : (1 + random.nextInt(7)) + "#" + (1 + random.nextInt(5)) + "," + (1 + random.nextInt(7));
+            default:
+                return timeField(random, 1, 7, random.nextBoolean());
+        }
+    }
+}
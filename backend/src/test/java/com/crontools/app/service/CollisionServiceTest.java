@@ -0,0 +1,123 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.CollisionGroup;
+import com.crontools.app.model.CollisionJob;
+import com.crontools.app.model.CollisionRequest;
+import com.crontools.app.model.CollisionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollisionServiceTest {
+
+    private CollisionService collisionService;
+
+    @BeforeEach
+    void setUp() {
+        collisionService = new CollisionService(new CronService());
+    }
+
+    @Test
+    void testAnalyze_HourlyJobsCollideOnTheHour() {
+        List<CollisionJob> jobs = Arrays.asList(
+                new CollisionJob("report", "0 0 * * * ?", 120L),
+                new CollisionJob("cleanup", "0 0 */2 * * ?", 90L),
+                new CollisionJob("sync", "0 1 * * * ?", 30L),
+                new CollisionJob("nightly", "0 30 3 * * ?", null));
+        CollisionResponse response = collisionService.analyze(
+                new CollisionRequest(jobs, "UTC", "2024-01-01 00:00:00", null, 1, 1, 10));
+
+        assertTrue(response.isValid());
+        assertEquals(3, response.getPeakConcurrency());
+        assertEquals("2024-01-01T00:01:00Z", response.getPeakTime());
+        assertEquals(Arrays.asList("report", "cleanup", "sync"), response.getPeakJobs());
+
+        // 偶数小时三个任务重叠到 00:01:30，奇数小时 report 与 sync 重叠到 xx:01:30
+        assertEquals(24, response.getTimeline().size());
+        assertEquals("2024-01-01T00:00:00Z", response.getTimeline().get(0).getStart());
+        assertEquals("2024-01-01T00:01:30Z", response.getTimeline().get(0).getEnd());
+        assertEquals(3, response.getTimeline().get(0).getMaxConcurrency());
+        assertEquals("2024-01-01T01:01:00Z", response.getTimeline().get(1).getStart());
+        assertEquals(2, response.getTimeline().get(1).getMaxConcurrency());
+
+        CollisionGroup top = response.getGroups().get(0);
+        assertEquals(Arrays.asList("report", "cleanup", "sync"), top.getJobs());
+        assertEquals(12, top.getOccurrences());
+        assertEquals(12, response.getGroups().get(1).getOccurrences());
+    }
+
+    @Test
+    void testAnalyze_ThousandsOfJobsWithInvalidEntries() {
+        List<CollisionJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            jobs.add(new CollisionJob("job-" + i, "0 " + (i % 60) + " * * * ?", 60L));
+        }
+        jobs.add(new CollisionJob("broken", "invalid", null));
+        CollisionResponse response = collisionService.analyze(
+                new CollisionRequest(jobs, "Asia/Shanghai", "2024-01-01 00:00:00", null, 1, 45, 3));
+
+        assertEquals(3000 * 24, response.getEvents());
+        assertEquals(50, response.getPeakConcurrency());
+        assertEquals(1, response.getInvalidJobs().size());
+        assertTrue(response.getInvalidJobs().containsKey("broken"));
+        assertEquals(3, response.getGroups().size());
+        assertEquals(50, response.getGroups().get(0).getSize());
+    }
+
+    @Test
+    void testAnalyze_SelfOverlappingJobDoesNotCollideWithItself() {
+        // 每分钟触发、每次运行 5 分钟：同一任务的多次执行只算一个正在运行的任务
+        List<CollisionJob> jobs = Arrays.asList(new CollisionJob("minutely", "0 * * * * ?", 300L));
+        CollisionResponse response = collisionService.analyze(
+                new CollisionRequest(jobs, "UTC", "2024-01-01 00:00:00", null, 1, 1, 10));
+
+        assertEquals(24 * 60, response.getEvents());
+        assertEquals(1, response.getPeakConcurrency());
+        assertEquals(Arrays.asList("minutely"), response.getPeakJobs());
+        assertTrue(response.getTimeline().isEmpty());
+        assertTrue(response.getGroups().isEmpty());
+
+        // 与另一个任务重叠时，峰值为 2，组内每个任务只出现一次
+        List<CollisionJob> withOther = Arrays.asList(
+                new CollisionJob("minutely", "0 * * * * ?", 300L),
+                new CollisionJob("hourly", "30 0 * * * ?", 10L));
+        CollisionResponse other = collisionService.analyze(
+                new CollisionRequest(withOther, "UTC", "2024-01-01 00:00:00", null, 1, 1, 10));
+
+        assertEquals(2, other.getPeakConcurrency());
+        assertEquals(Arrays.asList("minutely", "hourly"), other.getPeakJobs());
+        assertEquals(24, other.getTimeline().size());
+        assertEquals("2024-01-01T00:00:30Z", other.getTimeline().get(0).getStart());
+        assertEquals("2024-01-01T00:00:40Z", other.getTimeline().get(0).getEnd());
+        assertEquals(Arrays.asList("minutely", "hourly"), other.getGroups().get(0).getJobs());
+        assertEquals(24, other.getGroups().get(0).getOccurrences());
+    }
+
+    @Test
+    void testAnalyze_DurationLongerThanWindowIsClamped() {
+        List<CollisionJob> jobs = Arrays.asList(
+                new CollisionJob("forever", "0 0 0 * * ?", Long.MAX_VALUE / 2),
+                new CollisionJob("hourly", "0 0 * * * ?", 60L));
+        CollisionResponse response = collisionService.analyze(
+                new CollisionRequest(jobs, "UTC", "2024-01-01 00:00:00", null, 1, 1, 10));
+
+        // forever 从 00:00 一直运行到窗口结束，与每个小时的 hourly 重叠
+        assertEquals(2, response.getPeakConcurrency());
+        assertEquals(24, response.getGroups().get(0).getOccurrences());
+        assertEquals("2024-01-01T23:01:00Z", response.getTimeline().get(23).getEnd());
+    }
+
+    @Test
+    void testAnalyze_RejectsInvalidRequests() {
+        assertThrows(IllegalArgumentException.class,
+                () -> collisionService.analyze(new CollisionRequest(new ArrayList<>(), "UTC", null, null, 1, 1, 10)));
+        List<CollisionJob> jobs = Arrays.asList(new CollisionJob("a", "0 0 * * * ?", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> collisionService.analyze(new CollisionRequest(jobs, "UTC", "2024-01-01 00:00:00", null, 60, 1, 10)));
+    }
+}
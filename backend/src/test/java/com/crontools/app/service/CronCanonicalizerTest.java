@@ -0,0 +1,430 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CronCanonicalizerTest {
+
+    private static final CronParser PARSER = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
+
+    // 与 BitsetScheduleTest 相同：Lord_Howe 的半小时夏令时上 cron-utils 自身不可靠，不参与对比
+    private static final String[] ZONES = {
+            "UTC", "Asia/Shanghai", "America/New_York", "Europe/London", "Europe/Berlin",
+            "America/Sao_Paulo", "America/Santiago", "America/Havana"
+    };
+
+    private static final String[] MONTH_NAMES = {
+            null, "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAY_OF_WEEK_NAMES = {null, "SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    private final CronService cronService = new CronService(10_000);
+
+    @Test
+    void testCommonRespellings() {
+        assertSameCanonical("0 0 12 * * ?", "0 0 12 * * ?", "0 0 12 ? * *", "  0  0\t12 ? * sun-sat ", "0 0 12 1-31 1-12 ? *");
+        assertSameCanonical("0 0 12 ? * MON-FRI", "0 0 12 ? * 2-6", "0 0 12 ? * mon-fri", "0 0 12 ? * FRI,THU,2-4");
+        assertSameCanonical("0 0/15 * * * ?", "0 */15 * * * ?", "0 0,15,30,45 * * * ?", "0 0-59/15 * * * ?");
+        assertSameCanonical("0 30 9 ? JAN-MAR,DEC MON,6L,2#3", "0 30 9 ? 12,1,2,3 2#3,6L,MON");
+        assertSameCanonical("0 0 12 L-3 * ?", "0 0 12 l-3 * ?");
+        // 日期列表中的 L/W 在 cron-utils 中只按普通日期匹配，不做归约，规范形式保留压缩空白后的原写法
+        CanonicalForm literal = cronService.canonicalize("0 0 12  LW,15W,L-3,L,15,1 * ?", null);
+        assertEquals("0 0 12 LW,15W,L-3,L,15,1 * ?", literal.getExpression());
+        assertEquals(CronCanonicalizer.fingerprint("QUARTZ 0 0 12 LW,15W,L-3,L,15,1 * ?"), literal.getFingerprint());
+        assertSameCanonical("0 0 12 ? * SAT", "0 0 12 ? * L", "0 0 12 ? * 7");
+        assertSameCanonical("0 0 12 * * ? 2024/2", "0 0 12 * * ? 2024-2099/2");
+        // 年份覆盖全部可表示范围时与省略相同
+        assertSameCanonical("0 0 12 * * ?", "0 0 12 * * ? 1970-2099");
+
+        assertNotEquals(cronService.canonicalize("0 0 12 ? * MON-FRI", null), cronService.canonicalize("0 0 12 ? * MON-SAT", null));
+        assertNotEquals(cronService.canonicalize("0 0 12 * * ?", null), cronService.canonicalize("0 0 12 * * ? 2024", null));
+    }
+
+    @Test
+    void testFingerprint() {
+        CanonicalForm form = cronService.canonicalize("0 0 12 ? * 2-6", null);
+        assertEquals(CronCanonicalizer.fingerprint("0 0 12 ? * MON-FRI"), form.getFingerprint());
+        assertEquals(16, form.getFingerprintHex().length());
+        assertEquals(form.getFingerprint(), Long.parseUnsignedLong(form.getFingerprintHex(), 16));
+        assertEquals("0000000000000000", new CanonicalForm("", 0).getFingerprintHex());
+        assertNotEquals(CronCanonicalizer.fingerprint("0 0 12 * * ?"), CronCanonicalizer.fingerprint("0 0 13 * * ?"));
+    }
+
+    @Test
+    void testOtherDialectsShareQuartzForm() {
+        CanonicalForm unix = cronService.canonicalize("*/15 9-17 * * 1-5", "UNIX");
+        CanonicalForm quartz = cronService.canonicalize("0 0/15 9-17 ? * MON-FRI", "QUARTZ");
+        assertEquals("0 0/15 9-17 ? * MON-FRI", unix.getExpression());
+        assertEquals(quartz, unix);
+        assertEquals(quartz, cronService.canonicalize("0 */15 9-17 * * MON-FRI", "SPRING"));
+
+        // UNIX 同时限定日期与星期时按“或”匹配，无法映射为 Quartz，不做归约；指纹中区分方言
+        CanonicalForm unixOr = cronService.canonicalize("0  0 1 * 1", "UNIX");
+        assertEquals("0 0 1 * 1", unixOr.getExpression());
+        assertNotEquals(CronCanonicalizer.fingerprint("0 0 1 * 1"), unixOr.getFingerprint());
+    }
+
+    @Test
+    void testWrappingRangesAreNotReduced() {
+        // cron-utils 对 22-2 只取起点，与 22,23,0,1,2 的触发时间不同，不能归为同一形式
+        CanonicalForm wrapping = cronService.canonicalize("0 0  22-2 * * ?", null);
+        assertEquals("0 0 22-2 * * ?", wrapping.getExpression());
+        assertNotEquals(cronService.canonicalize("0 0 0-2,22,23 * * ?", null), wrapping);
+        assertEquals("0 0 0-2,22,23 * * ?", cronService.canonicalize("0 0 22,23,0,1,2 * * ?", null).getExpression());
+        assertNotEquals(fireTimes("0 0 22-2 * * ?", ZoneId.of("UTC"), ZonedDateTime.parse("2024-01-01T00:00Z"), 5),
+                fireTimes("0 0 22,23,0,1,2 * * ?", ZoneId.of("UTC"), ZonedDateTime.parse("2024-01-01T00:00Z"), 5));
+    }
+
+    @Test
+    void testCanonicalFormIsIdempotent() {
+        Random random = new Random(20240612L);
+        for (int i = 0; i < 500; i++) {
+            String expression = spell(random, randomSchedule(random));
+            if (!isValid(expression)) {
+                continue;
+            }
+            String canonical = cronService.canonicalize(expression, null).getExpression();
+            assertTrue(isValid(canonical), () -> expression + " => " + canonical);
+            assertEquals(canonical, cronService.canonicalize(canonical, null).getExpression(), expression);
+        }
+    }
+
+    // 同一取值集合的两种随机写法必须得到同一规范形式，两种写法与规范形式本身由 cron-utils 独立计算的触发时间完全相同
+    @Test
+    void testRespellingsFireIdentically() {
+        Random random = new Random(20241103L);
+        int compared = 0;
+        for (int i = 0; i < 400; i++) {
+            Schedule schedule = randomSchedule(random);
+            String first = spell(random, schedule);
+            String second = spell(random, schedule);
+            if (!isValid(first) || !isValid(second)) {
+                continue;
+            }
+            CanonicalForm form = cronService.canonicalize(first, null);
+            assertEquals(form, cronService.canonicalize(second, null), () -> first + " / " + second);
+
+            ZoneId zone = ZoneId.of(ZONES[random.nextInt(ZONES.length)]);
+            ZonedDateTime start = randomStart(random, zone);
+            List<String> expected = fireTimes(first, zone, start, 15);
+            assertEquals(expected, fireTimes(second, zone, start, 15), () -> first + " / " + second + " @ " + start);
+            assertEquals(expected, fireTimes(form.getExpression(), zone, start, 15), () -> first + " => " + form + " @ " + start);
+            compared++;
+        }
+        assertTrue(compared > 300, "有效对比次数过少: " + compared);
+    }
+
+    // 独立生成的表达式按规范形式分组，组内所有表达式的触发时间相同
+    @Test
+    void testEqualCanonicalFormsImplyIdenticalFireTimes() {
+        Random random = new Random(20240310L);
+        Map<CanonicalForm, List<String>> groups = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String expression = spell(random, randomSmallSchedule(random));
+            if (isValid(expression)) {
+                groups.computeIfAbsent(cronService.canonicalize(expression, null), k -> new ArrayList<>()).add(expression);
+            }
+        }
+        int compared = 0;
+        for (List<String> group : groups.values()) {
+            if (group.size() < 2) {
+                continue;
+            }
+            ZoneId zone = ZoneId.of(ZONES[random.nextInt(ZONES.length)]);
+            ZonedDateTime start = randomStart(random, zone);
+            List<String> expected = fireTimes(group.get(0), zone, start, 10);
+            for (String other : group.subList(1, group.size())) {
+                assertEquals(expected, fireTimes(other, zone, start, 10), () -> group.get(0) + " / " + other + " @ " + start);
+                compared++;
+            }
+        }
+        assertTrue(compared > 300, "有效对比次数过少: " + compared);
+    }
+
+    private void assertSameCanonical(String expected, String... spellings) {
+        for (String spelling : spellings) {
+            CanonicalForm form = cronService.canonicalize(spelling, null);
+            assertEquals(expected, form.getExpression(), spelling);
+            assertEquals(CronCanonicalizer.fingerprint(expected), form.getFingerprint(), spelling);
+        }
+    }
+
+    // 每次重新解析，不经过 CronService 的缓存；cron-utils 抛出异常时记为一个固定的元素参与比较
+    private static List<String> fireTimes(String expression, ZoneId zone, ZonedDateTime start, int count) {
+        ExecutionTime executionTime = ExecutionTime.forCron(PARSER.parse(expression).validate());
+        List<String> times = new ArrayList<>();
+        ZonedDateTime cursor = start.withZoneSameInstant(zone);
+        try {
+            for (int i = 0; i < count; i++) {
+                Optional<ZonedDateTime> next = executionTime.nextExecution(cursor);
+                if (next.isEmpty()) {
+                    break;
+                }
+                cursor = next.get();
+                times.add(cursor.toOffsetDateTime().toString());
+            }
+        } catch (RuntimeException e) {
+            times.add("error");
+        }
+        return times;
+    }
+
+    private static boolean isValid(String expression) {
+        try {
+            PARSER.parse(expression).validate();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static ZonedDateTime randomStart(Random random, ZoneId zone) {
+        ZonedDateTime base = ZonedDateTime.of(2018 + random.nextInt(10), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                random.nextInt(24), random.nextInt(60), random.nextInt(60), 0, zone);
+        if (random.nextBoolean()) {
+            ZoneOffsetTransition transition = zone.getRules().nextTransition(base.toInstant());
+            if (transition != null) {
+                return ZonedDateTime.ofInstant(transition.getInstant().minusSeconds(random.nextInt(4 * 3600)), zone);
+            }
+        }
+        return base;
+    }
+
+    // 按字段的取值集合描述一个调度；daysOfMonth 与 daysOfWeek 至多一个受限，为 null 表示不限
+    private record Schedule(BitSet seconds, BitSet minutes, BitSet hours, BitSet months, BitSet years,
+                            BitSet daysOfMonth, List<String> domSpecials,
+                            BitSet daysOfWeek, List<String> dowSpecials) {}
+
+    private static Schedule randomSchedule(Random random) {
+        return randomSchedule(random, 0);
+    }
+
+    // 取值范围很小的调度，独立生成时容易撞上相同的集合
+    private static Schedule randomSmallSchedule(Random random) {
+        return randomSchedule(random, 1);
+    }
+
+    private static Schedule randomSchedule(Random random, int small) {
+        BitSet seconds = small > 0 ? values(0) : randomValues(random, 0, 59, 4);
+        BitSet minutes = small > 0 ? smallValues(random, 0, 59) : randomValues(random, 0, 59, 3);
+        BitSet hours = small > 0 ? smallValues(random, 0, 23) : randomValues(random, 0, 23, 2);
+        BitSet months = small > 0 ? range(1, 12) : randomValues(random, 1, 12, 1);
+        BitSet years = random.nextInt(5) == 0 ? randomValues(random, 2018, 2040, 1) : null;
+        BitSet daysOfMonth = null;
+        List<String> domSpecials = new ArrayList<>();
+        BitSet daysOfWeek = null;
+        List<String> dowSpecials = new ArrayList<>();
+        switch (random.nextInt(small > 0 ? 3 : 4)) {
+            case 0:
+                break;
+            case 1:
+                daysOfWeek = small > 0 ? smallValues(random, 1, 7) : randomValues(random, 1, 7, 0);
+                break;
+            case 2:
+                daysOfMonth = small > 0 ? smallValues(random, 1, 31) : randomValues(random, 1, 31, 0);
+                break;
+            default:
+                if (random.nextBoolean()) {
+                    // 日期的特殊字符只单独出现：与其他日期组成列表时不做归约
+                    daysOfMonth = new BitSet();
+                    domSpecials = domSpecials(random);
+                } else {
+                    daysOfWeek = random.nextBoolean() ? randomValues(random, 1, 7, 0) : new BitSet();
+                    dowSpecials = dowSpecials(random);
+                }
+                break;
+        }
+        return new Schedule(seconds, minutes, hours, months, years, daysOfMonth, domSpecials, daysOfWeek, dowSpecials);
+    }
+
+    // fixed 越大越倾向于单个取值
+    private static BitSet randomValues(Random random, int min, int max, int fixed) {
+        int span = max - min + 1;
+        int mode = random.nextInt(5 + fixed);
+        switch (mode) {
+            case 0:
+                return range(min, max);
+            case 1: {
+                int step = 2 + random.nextInt(Math.max(1, span / 3));
+                BitSet bits = new BitSet();
+                for (int value = min + random.nextInt(step); value <= max; value += step) {
+                    bits.set(value);
+                }
+                return bits;
+            }
+            case 2: {
+                int from = min + random.nextInt(span);
+                return range(from, Math.min(max, from + random.nextInt(span / 2 + 1)));
+            }
+            case 3: {
+                BitSet bits = new BitSet();
+                for (int i = 1 + random.nextInt(6); i > 0; i--) {
+                    bits.set(min + random.nextInt(span));
+                }
+                return bits;
+            }
+            default:
+                return values(min + random.nextInt(span));
+        }
+    }
+
+    private static BitSet smallValues(Random random, int min, int max) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return range(min, max);
+            case 1:
+                return values(min + random.nextInt(3));
+            default:
+                return range(min, min + random.nextInt(3));
+        }
+    }
+
+    private static List<String> domSpecials(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return List.of("L");
+            case 1:
+                return List.of("L-" + (1 + random.nextInt(5)));
+            case 2:
+                return List.of((1 + random.nextInt(28)) + "W");
+            default:
+                return List.of("LW");
+        }
+    }
+
+    private static List<String> dowSpecials(Random random) {
+        List<String> specials = new ArrayList<>();
+        for (int i = 1 + random.nextInt(2); i > 0; i--) {
+            int dow = 1 + random.nextInt(7);
+            String day = random.nextBoolean() ? String.valueOf(dow) : DAY_OF_WEEK_NAMES[dow];
+            specials.add(random.nextBoolean() ? day + "L" : day + "#" + (1 + random.nextInt(5)));
+        }
+        return specials.stream().distinct().toList();
+    }
+
+    private static BitSet range(int from, int to) {
+        BitSet bits = new BitSet();
+        bits.set(from, to + 1);
+        return bits;
+    }
+
+    private static BitSet values(int value) {
+        BitSet bits = new BitSet();
+        bits.set(value);
+        return bits;
+    }
+
+    // 随机选择空白、* 与 ?、列表顺序、范围与步长、名称与数字及其大小写
+    private static String spell(Random random, Schedule schedule) {
+        List<String> fields = new ArrayList<>();
+        fields.add(spellValues(random, schedule.seconds(), 0, 59, null));
+        fields.add(spellValues(random, schedule.minutes(), 0, 59, null));
+        fields.add(spellValues(random, schedule.hours(), 0, 23, null));
+        boolean domRestricted = schedule.daysOfMonth() != null;
+        boolean dowRestricted = schedule.daysOfWeek() != null;
+        if (domRestricted) {
+            fields.add(spellDays(random, schedule.daysOfMonth(), schedule.domSpecials(), 1, 31, null));
+        } else {
+            fields.add(dowRestricted || random.nextBoolean() ? "?" : random.nextBoolean() ? "*" : "1-31");
+        }
+        fields.add(spellValues(random, schedule.months(), 1, 12, MONTH_NAMES));
+        if (dowRestricted) {
+            fields.add(spellDays(random, schedule.daysOfWeek(), schedule.dowSpecials(), 1, 7, DAY_OF_WEEK_NAMES));
+        } else if (domRestricted || "*".equals(fields.get(3)) || "1-31".equals(fields.get(3))) {
+            fields.add("?");
+        } else {
+            fields.add(random.nextBoolean() ? "*" : "SUN-SAT");
+        }
+        if (schedule.years() != null) {
+            fields.add(spellValues(random, schedule.years(), 1970, 2099, null));
+        } else if (random.nextInt(4) == 0) {
+            fields.add("*");
+        }
+        StringBuilder sb = new StringBuilder(random.nextBoolean() ? " " : "");
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append(i == 0 ? "" : random.nextInt(4) == 0 ? "  " : " ").append(fields.get(i));
+        }
+        return sb.toString();
+    }
+
+    private static String spellDays(Random random, BitSet days, List<String> specials, int min, int max, String[] names) {
+        List<String> tokens = new ArrayList<>(specials);
+        if (!days.isEmpty()) {
+            tokens.add(spellValues(random, days, min, max, names));
+        }
+        Collections.shuffle(tokens, random);
+        return String.join(",", tokens);
+    }
+
+    private static String spellValues(Random random, BitSet values, int min, int max, String[] names) {
+        int count = values.cardinality();
+        int first = values.nextSetBit(0);
+        if (count == max - min + 1) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    return "*";
+                case 1:
+                    return name(random, min, names) + "-" + name(random, max, names);
+                default:
+                    return random.nextBoolean() ? "*/1" : min + "/1";
+            }
+        }
+        if (count >= 2 && random.nextBoolean()) {
+            int step = values.nextSetBit(first + 1) - first;
+            int last = values.previousSetBit(max);
+            if ((last - first) / step + 1 == count && isProgression(values, first, step, last)) {
+                if (last + step > max) {
+                    return first == min && random.nextBoolean() ? "*/" + step : first + "/" + step;
+                }
+                return first + "-" + (last + random.nextInt(step)) + "/" + step;
+            }
+        }
+        List<String> tokens = new ArrayList<>();
+        for (int from = first; from >= 0; ) {
+            int to = values.nextClearBit(from) - 1;
+            if (to > from && random.nextBoolean()) {
+                tokens.add(name(random, from, names) + "-" + name(random, to, names));
+            } else {
+                for (int value = from; value <= to; value++) {
+                    tokens.add(name(random, value, names));
+                }
+            }
+            from = values.nextSetBit(to + 1);
+        }
+        Collections.shuffle(tokens, random);
+        return String.join(",", tokens);
+    }
+
+    private static boolean isProgression(BitSet values, int first, int step, int last) {
+        for (int value = first; value <= last; value += step) {
+            if (!values.get(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String name(Random random, int value, String[] names) {
+        if (names == null || random.nextBoolean()) {
+            return String.valueOf(value);
+        }
+        return random.nextBoolean() ? names[value] : names[value].toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,52 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.Cron;
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.parser.CronParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CronDescriberTest {
+
+    private static final CronParser PARSER = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
+
+    @Test
+    void testTimeFields() {
+        assertDescription("0 * * * * ?", "每分钟执行", "Every minute");
+        assertDescription("*/10 * * * * ?", "每10秒执行", "Every 10 seconds");
+        assertDescription("0 5/10 * * * ?", "从第5分钟起每10分钟执行", "Every 10 minutes starting at minute 5");
+        assertDescription("0 30 * * * ?", "每小时第30分钟执行", "At minute 30, every hour");
+        assertDescription("0 0 8-20 * * ?", "8-20点每小时整点执行", "On the hour, during hours 8-20");
+        assertDescription("0 0 9,18 * * ?", "每天 09:00、18:00 执行", "Every day at 09:00 and 18:00");
+        assertDescription("15 30 9 * * ?", "每天 09:30:15 执行", "Every day at 09:30:15");
+    }
+
+    @Test
+    void testDayOfMonthAndMonth() {
+        assertDescription("0 0 12 LW * ?", "每月最后一个工作日 12:00 执行", "On the last weekday of every month at 12:00");
+        assertDescription("0 0 12 15W * ?", "每月15日最近的工作日 12:00 执行",
+                "On the weekday nearest the 15th of every month at 12:00");
+        assertDescription("0 0 0 L-3 * ?", "每月倒数第4天 00:00 执行", "3 days before the last day of every month at 00:00");
+        assertDescription("0 0 12 1/5 * ?", "每月从1日起每5天 12:00 执行", "Every 5 days starting on the 1st of every month at 12:00");
+        assertDescription("0 0 12 1 JAN,JUL ?", "每年1、7月的1日 12:00 执行", "On the 1st of January and July at 12:00");
+        assertDescription("0 0 0 29 2 ? 2028-2032", "2028-2032年2月29日 00:00 执行", "On the 29th of February in 2028-2032 at 00:00");
+    }
+
+    @Test
+    void testDayOfWeek() {
+        assertDescription("0 0 9,18 ? * SAT,SUN", "周末 09:00、18:00 执行", "On weekends at 09:00 and 18:00");
+        assertDescription("0 0 12 ? * MON,WED,FRI", "每周一、三、五 12:00 执行", "Every Monday, Wednesday and Friday at 12:00");
+        assertDescription("0 0 12 ? * TUE-THU", "每周二至周四 12:00 执行", "Every Tuesday through Thursday at 12:00");
+        assertDescription("0 15 10 ? * 6L", "每月最后一个周五 10:15 执行", "On the last Friday of every month at 10:15");
+        assertDescription("0 0 0 ? 2 2#5", "每年2月的第5个周一 00:00 执行", "On the fifth Monday of February at 00:00");
+        assertDescription("0 */15 9-17 ? * MON-FRI", "工作日 9-17点每15分钟执行", "Every 15 minutes, during hours 9-17, every weekday");
+    }
+
+    private static void assertDescription(String expression, String zh, String en) {
+        Cron cron = PARSER.parse(expression).validate();
+        assertEquals(zh, CronDescriber.describe(cron, expression, DescriptionLanguage.ZH), expression);
+        assertEquals(en, CronDescriber.describe(cron, expression, DescriptionLanguage.EN), expression);
+    }
+}
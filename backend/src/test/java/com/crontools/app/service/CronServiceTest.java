@@ -1,9 +1,15 @@
 package com.crontools.app.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,9 +55,28 @@ class CronServiceTest {
     }
 
     @Test
-    void testParseCronToHuman_CustomExpression() {
+    void testParseCronToHuman_SingleWeekday() {
         String result = cronService.parseCronToHuman("0 15 10 ? * MON");
-        assertEquals("自定义调度: 0 15 10 ? * MON", result);
+        assertEquals("每周一 10:15 执行", result);
+    }
+
+    @Test
+    void testParseCronToHuman_English() {
+        assertEquals("Every weekday at 09:30", cronService.parseCronToHuman("0 30 9 ? * MON-FRI", null, "en"));
+        assertEquals("Every 6 hours", cronService.parseCronToHuman("0 0 0/6 * * ?", "QUARTZ", "en-US"));
+        assertEquals("每天 04:00 执行", cronService.parseCronToHuman("0 0 4 * * ?", "QUARTZ", "zh_CN"));
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> cronService.parseCronToHuman("0 0 4 * * ?", "QUARTZ", "fr"));
+        assertTrue(exception.getMessage().contains("不支持的描述语言"));
+    }
+
+    @Test
+    void testParseCronToHuman_DescriptionIsCached() {
+        String first = cronService.parseCronToHuman("0 0 12 ? * 6L", null, "en");
+        String second = cronService.parseCronToHuman("0  0 12 ? * 6L", null, "en");
+
+        assertSame(first, second);
+        assertEquals("On the last Friday of every month at 12:00", first);
     }
 
     @Test
@@ -130,4 +155,259 @@ class CronServiceTest {
         assertNotNull(result);
         assertEquals(10, result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCompile_SharesEntryAcrossWhitespaceVariants() {
+        CompiledCron first = cronService.compile("0 0 4 * * ?");
+        CompiledCron second = cronService.compile("  0  0 4 *\t* ?  ");
+
+        assertTrue(first.isValid());
+        assertSame(first, second);
+        assertNotNull(first.getExecutionTime());
+        assertEquals("每天 04:00 执行", first.getHumanReadable());
+        assertEquals(1, cronService.getCompiledCache().stats().hitCount());
+    }
+
+    @Test
+    void testCompile_EquivalentSpellingsShareExecutionTime() {
+        CompiledCron names = cronService.compile("0 30 9 ? * MON-FRI");
+        CompiledCron numbers = cronService.compile("0 30 9 ? * 2-6");
+
+        assertNotSame(names, numbers);
+        assertSame(names.getExecutionTime(), numbers.getExecutionTime());
+        assertSame(names.getBitsetSchedule(), numbers.getBitsetSchedule());
+        assertEquals(names.getCanonicalForm(), numbers.getCanonicalForm());
+        assertEquals(1, cronService.getCanonicalCache().stats().hitCount());
+        // 描述仍按各自的写法生成
+        assertEquals("工作日 09:30 执行", names.getHumanReadable());
+
+        // 规范形式相同但方言不同时分别构建，UNIX 仍然没有位图
+        CompiledCron unix = cronService.compile("30 9 * * 1-5", "UNIX");
+        assertEquals(names.getCanonicalForm(), unix.getCanonicalForm());
+        assertNotSame(names.getExecutionTime(), unix.getExecutionTime());
+        assertNull(unix.getBitsetSchedule());
+    }
+
+    @Test
+    void testCanonicalize() {
+        CanonicalForm form = cronService.canonicalize(" 0 0 12 ? * * ", null);
+        assertEquals("0 0 12 * * ?", form.getExpression());
+        assertEquals(form, cronService.canonicalize("0 0 12 * * ?", "quartz"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> cronService.canonicalize("0 0 25 * * ?", null));
+        assertTrue(e.getMessage().startsWith("无效的 Cron 表达式"), e.getMessage());
+    }
+
+    @Test
+    void testCompile_CachesInvalidExpression() {
+        CompiledCron first = cronService.compile("invalid cron");
+        CompiledCron second = cronService.compile("invalid cron");
+
+        assertFalse(first.isValid());
+        assertSame(first, second);
+        assertNotNull(first.getError());
+    }
+
+    @Test
+    void testCompile_EvictsBeyondMaxSize() {
+        CronService small = new CronService(2);
+        for (int hour = 0; hour < 10; hour++) {
+            small.compile("0 0 " + hour + " * * ?");
+        }
+        small.getCompiledCache().cleanUp();
+
+        assertTrue(small.getCompiledCache().estimatedSize() <= 2);
+        assertTrue(small.getCompiledCache().stats().evictionCount() > 0);
+    }
+
+    @Test
+    void testGetNextExecutionTimes_BitsetEngineMatchesCronUtils() {
+        String expression = "0 15 10 ? * 6L";
+        List<String> expected = cronService.getNextExecutionTimes(expression, "America/New_York", 10, "CRON_UTILS");
+        List<String> actual = cronService.getNextExecutionTimes(expression, "America/New_York", 10, "bitset");
+
+        assertEquals(10, actual.size());
+        assertEquals(expected, actual);
+        assertNotNull(cronService.compile(expression).getBitsetSchedule());
+    }
+
+    @Test
+    void testGetNextExecutionTimes_UnknownEngine() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            cronService.getNextExecutionTimes("0 0 4 * * ?", "Asia/Shanghai", 5, "fast");
+        });
+        assertTrue(exception.getMessage().contains("不支持的计算引擎"));
+    }
+
+    @Test
+    void testParseCronToHuman_OtherDialects() {
+        assertEquals("每天 04:00 执行", cronService.parseCronToHuman("0 4 * * *", "UNIX"));
+        assertEquals("每天 09:30 执行", cronService.parseCronToHuman("0 30 9 * * *", "SPRING"));
+        assertEquals("每天 04:00 执行", cronService.parseCronToHuman("0 4 * * *", "cron4j"));
+        assertEquals("自定义调度: 0 0 1 * 1", cronService.parseCronToHuman("0 0 1 * 1", "UNIX"));
+    }
+
+    @Test
+    void testParseCronToHuman_DialectValidation() {
+        // 5 段的 UNIX 表达式不是合法的 Quartz 表达式，反之亦然
+        assertThrows(IllegalArgumentException.class, () -> cronService.parseCronToHuman("0 4 * * *"));
+        assertThrows(IllegalArgumentException.class, () -> cronService.parseCronToHuman("0 0 4 * * ?", "UNIX"));
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> cronService.parseCronToHuman("0 4 * * *", "CRONTAB"));
+        assertTrue(exception.getMessage().contains("不支持的 Cron 类型"));
+    }
+
+    @Test
+    void testGetNextExecutionTimes_UnixDialect() {
+        List<String> unix = cronService.getNextExecutionTimes("30 9 * * 1-5", "UNIX", "Asia/Shanghai", 5, null);
+        List<String> quartz = cronService.getNextExecutionTimes("0 30 9 ? * MON-FRI", "QUARTZ", "Asia/Shanghai", 5, null);
+
+        assertEquals(quartz, unix);
+        assertNull(cronService.compile("30 9 * * 1-5", "UNIX").getBitsetSchedule());
+        assertNotSame(cronService.compile("0 0 4 * * ?", "QUARTZ"), cronService.compile("0 0 4 * * ?", "SPRING"));
+    }
+
+    @Test
+    void testNextEpochSeconds_FromAnchorIsExclusive() {
+        long[] result = cronService.nextEpochSeconds("0 0 4 * * ?", "QUARTZ", List.of("UTC"),
+                "2024-01-01 04:00:00", 2, null)[0];
+
+        assertArrayEquals(new long[]{1704168000L, 1704254400L}, result);
+        assertEquals(List.of("2024-01-02 04:00:00 (UTC)", "2024-01-03 04:00:00 (UTC)"),
+                TimeFormat.TEXT.format(result, ZoneId.of("UTC")));
+        assertEquals(List.of("2024-01-02T04:00:00Z", "2024-01-03T04:00:00Z"),
+                TimeFormat.ISO.format(result, ZoneId.of("UTC")));
+        assertEquals(List.of(1704168000000L, 1704254400000L), TimeFormat.toEpochMillis(result));
+    }
+
+    @Test
+    void testNextEpochSeconds_BitsetFallsBackForUnsupportedShapes() {
+        // 首尾回绕的范围与日期列表中的 L/W：BITSET 回退到 cron-utils，两种引擎结果相同
+        for (String expression : List.of("0 0 22-2 * * ?", "0 0 0 1 11-2 ?", "0 0 0 ? * FRI-MON", "0 0 0 2,L * ?", "0 0 0 15W,3 * ?")) {
+            long[] cronUtils = cronService.nextEpochSeconds(expression, "QUARTZ", List.of("UTC"), "2024-01-01 00:00:00", 12, "CRON_UTILS")[0];
+            long[] bitset = cronService.nextEpochSeconds(expression, "QUARTZ", List.of("UTC"), "2024-01-01 00:00:00", 12, "BITSET")[0];
+            assertArrayEquals(cronUtils, bitset, expression);
+        }
+        ZoneId utc = ZoneId.of("UTC");
+        assertEquals("2024-01-01 22:00:00 (UTC)", TimeFormat.TEXT.format(
+                cronService.nextEpochSeconds("0 0 22-2 * * ?", "QUARTZ", List.of("UTC"), "2024-01-01 00:00:00", 1, "BITSET")[0], utc).get(0));
+        assertTrue(cronService.matches("0 0 22-2 * * ?", "QUARTZ", ZonedDateTime.of(2024, 1, 1, 22, 0, 0, 0, utc)));
+        assertFalse(cronService.matches("0 0 22-2 * * ?", "QUARTZ", ZonedDateTime.of(2024, 1, 2, 1, 0, 0, 0, utc)));
+        assertFalse(cronService.matches("0 0 0 2,L * ?", "QUARTZ", ZonedDateTime.of(2024, 1, 31, 0, 0, 0, 0, utc)));
+    }
+
+    @Test
+    void testNextEpochSeconds_MultipleZonesShareCompiledExpression() {
+        List<String> timezones = List.of("Asia/Shanghai", "America/New_York", "UTC");
+        for (String engine : new String[]{"CRON_UTILS", "BITSET"}) {
+            long[][] result = cronService.nextEpochSeconds("0 30 9 ? * MON-FRI", "QUARTZ", timezones,
+                    "2024-03-08 12:00:00", 3, engine);
+
+            assertEquals(3, result.length);
+            // 本地时间按各自时区解释；纽约在 3 月 10 日切换夏令时
+            assertEquals(List.of("2024-03-11 09:30:00 (Asia/Shanghai)", "2024-03-12 09:30:00 (Asia/Shanghai)",
+                    "2024-03-13 09:30:00 (Asia/Shanghai)"), TimeFormat.TEXT.format(result[0], ZoneId.of("Asia/Shanghai")));
+            assertEquals(List.of("2024-03-11T09:30:00-04:00", "2024-03-12T09:30:00-04:00", "2024-03-13T09:30:00-04:00"),
+                    TimeFormat.ISO.format(result[1], ZoneId.of("America/New_York")));
+            assertEquals("2024-03-11 09:30:00 (UTC)", TimeFormat.TEXT.format(result[2], ZoneId.of("UTC")).get(0));
+        }
+    }
+
+    @Test
+    void testTimeFormat_MatchesDateTimeFormatter() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        ZoneId zone = ZoneId.of("Europe/London");
+        long[] epochSeconds = cronService.nextEpochSeconds("0 0/45 * * * ?", "QUARTZ", List.of(zone.getId()),
+                "1969-12-30 22:00:00", 200, "BITSET")[0];
+        List<String> text = TimeFormat.TEXT.format(epochSeconds, zone);
+        List<String> iso = TimeFormat.ISO.format(epochSeconds, zone);
+
+        for (int i = 0; i < epochSeconds.length; i++) {
+            ZonedDateTime time = Instant.ofEpochSecond(epochSeconds[i]).atZone(zone);
+            assertEquals(time.format(formatter) + " (Europe/London)", text.get(i));
+            assertEquals(time.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME), iso.get(i));
+        }
+    }
+
+    @Test
+    void testTimeFormat_From() {
+        assertEquals(TimeFormat.ISO, TimeFormat.from("iso"));
+        assertEquals(TimeFormat.EPOCH_MILLIS, TimeFormat.from("epoch-millis"));
+        assertEquals(TimeFormat.EPOCH_MILLIS, TimeFormat.from("EPOCH"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> TimeFormat.from("rfc"));
+        assertEquals("不支持的时间格式: rfc", e.getMessage());
+    }
+
+    @Test
+    void testZone_CachedAndValidated() {
+        assertSame(cronService.zone("Europe/Paris"), cronService.zone("Europe/Paris"));
+        assertEquals(ZoneId.of("Asia/Shanghai"), cronService.zone(null));
+        assertThrows(IllegalArgumentException.class, () ->
+                cronService.nextEpochSeconds("0 0 4 * * ?", "QUARTZ", List.of("Mars/Olympus"), null, 1, null));
+    }
+
+    @Test
+    void testMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CronService instrumented = new CronService(100, registry);
+        ReflectionTestUtils.setField(instrumented, "defaultTimezone", "Asia/Shanghai");
+
+        instrumented.getNextExecutionTimes("0 0 4 * * ?", "QUARTZ", null, 5, "BITSET");
+        instrumented.getNextExecutionTimes("0 0 4 * * ?", "QUARTZ", null, 3, "CRON_UTILS");
+        assertThrows(IllegalArgumentException.class, () -> instrumented.parseCronToHuman("0 0 25 * * ?"));
+        assertThrows(IllegalArgumentException.class, () -> instrumented.parseCronToHuman("0 0 25 * * ?"));
+
+        assertEquals(1, registry.get("cron.parse").tags("type", "QUARTZ", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("cron.parse").tags("type", "QUARTZ", "outcome", "failure").timer().count());
+        assertEquals(1, registry.get("cron.describe").tag("type", "QUARTZ").timer().count());
+        assertEquals(1, registry.get("cron.canonicalize").tag("type", "QUARTZ").timer().count());
+        assertEquals(1, registry.get("cron.next.iterate").tags("engine", "BITSET", "outcome", "success").timer().count());
+        assertEquals(8, registry.get("cron.next.iterations").tag("type", "QUARTZ").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount).sum());
+
+        // 记录的是搜索消耗的调用次数而不是返回的个数：最后一次执行之后还要调用一次才知道没有下一次
+        assertEquals(1, instrumented.nextEpochSeconds("0 1 0 1 1 ? 2024", "QUARTZ", ZoneId.of("UTC"),
+                Instant.parse("2024-01-01T00:00:00Z").getEpochSecond(), 5, "BITSET").length);
+        DistributionSummary bitset = registry.get("cron.next.iterations").tags("type", "QUARTZ", "engine", "BITSET").summary();
+        assertEquals(2, bitset.count());
+        assertEquals(5 + 2, bitset.totalAmount());
+        // 无效表达式第二次命中缓存，仍然计数
+        assertEquals(2, registry.get("cron.invalid.expressions").tag("type", "QUARTZ").counter().count());
+    }
+
+    @Test
+    void testComputeBudget_Iterations() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CronService limited = new CronService(100, registry);
+        ReflectionTestUtils.setField(limited, "defaultTimezone", "Asia/Shanghai");
+        ReflectionTestUtils.setField(limited, "budgetMaxIterations", 10L);
+
+        assertEquals(10, limited.getNextExecutionTimes("0 0 4 * * ?", "QUARTZ", null, 10, "CRON_UTILS").size());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                limited.getNextExecutionTimes("0 0 4 * * ?", "QUARTZ", null, 11, "CRON_UTILS"));
+        assertTrue(e.getMessage().contains("计算超出预算"));
+
+        // 多个时区共用一份预算
+        assertThrows(IllegalArgumentException.class, () ->
+                limited.nextEpochSeconds("0 0 4 * * ?", "QUARTZ", List.of("UTC", "Asia/Tokyo", "Europe/Paris"), null, 4, "BITSET"));
+        assertThrows(IllegalArgumentException.class, () ->
+                limited.getPreviousExecutionTimes("0 0 4 * * ?", "QUARTZ", ZonedDateTime.now(ZoneId.of("UTC")), 11, null));
+
+        assertEquals(2, registry.get("cron.budget.exceeded").tags("engine", "CRON_UTILS", "reason", "iterations").counter().count());
+        assertEquals(1, registry.get("cron.budget.exceeded").tags("engine", "BITSET", "reason", "iterations").counter().count());
+    }
+
+    @Test
+    void testComputeBudget_Deadline() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CronService limited = new CronService(100, registry);
+        ReflectionTestUtils.setField(limited, "defaultTimezone", "Asia/Shanghai");
+        ReflectionTestUtils.setField(limited, "budgetMaxIterations", 0L);
+        ReflectionTestUtils.setField(limited, "budgetTimeoutMillis", 1L);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                limited.getNextExecutionTimes("* * * * * ?", "QUARTZ", null, 1_000_000, "CRON_UTILS"));
+        assertTrue(e.getMessage().contains("耗时超过 1 ms"));
+        assertEquals(1, registry.get("cron.budget.exceeded").tag("reason", "deadline").counter().count());
+    }
+}
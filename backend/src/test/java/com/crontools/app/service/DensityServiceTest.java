@@ -0,0 +1,100 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.DensityBucket;
+import com.crontools.app.model.DensityResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DensityServiceTest {
+
+    private CronService cronService;
+    private DensityService densityService;
+
+    @BeforeEach
+    void setUp() {
+        cronService = new CronService();
+        densityService = new DensityService(cronService);
+    }
+
+    @Test
+    void testDensity_WeekdaysByDay() {
+        DensityResponse response = densityService.density("0 30 9 ? * MON-FRI", "Asia/Shanghai",
+                "2024-01-01 00:00:00", null, 7, "DAY");
+
+        assertEquals(5, response.getTotal());
+        assertEquals(7, response.getBuckets().size());
+        assertEquals("2024-01-01", response.getBuckets().get(0).getKey());
+        assertEquals(1, response.getBuckets().get(0).getCount());
+        assertEquals(0, response.getBuckets().get(5).getCount());
+    }
+
+    @Test
+    void testDensity_PerSecondJobOverAYear() {
+        DensityResponse response = densityService.density("* * * * * ?", "UTC",
+                "2024-01-01 00:00:00", "2025-01-01 00:00:00", null, "WEEKDAY");
+
+        assertEquals(366L * 86_400, response.getTotal());
+        assertEquals(7, response.getBuckets().size());
+        // 2024 年有 53 个周一和周二
+        assertEquals(53L * 86_400, response.getBuckets().get(0).getCount());
+        assertEquals(52L * 86_400, response.getBuckets().get(6).getCount());
+    }
+
+    @Test
+    void testDensity_MatchesEnumerationAcrossDaylightSaving() {
+        String[] expressions = {"0 */7 * * * ?", "*/15 30 1,2 * * ?", "0 30 1 * * ?", "0 0 0,2 ? * SUN", "0 0/20 1-3 L * ?"};
+        String[][] windows = {
+                {"America/New_York", "2024-03-09 17:23:05", "2024-03-11 04:00:00"},
+                {"America/New_York", "2024-11-02 00:00:00", "2024-11-04 13:41:10"},
+                {"America/Havana", "2024-10-31 22:00:00", "2024-11-02 00:00:00"},
+                {"Europe/London", "2024-10-26 00:00:00", "2024-11-01 00:00:00"}
+        };
+        for (String expression : expressions) {
+            for (String[] window : windows) {
+                DensityResponse response = densityService.density(expression, window[0], window[1], window[2], null, "HOUR");
+                Map<String, Long> expected = enumerate(expression, window[0], window[1], window[2]);
+                Map<String, Long> actual = new LinkedHashMap<>();
+                for (DensityBucket bucket : response.getBuckets()) {
+                    if (bucket.getCount() > 0) {
+                        actual.put(bucket.getKey(), bucket.getCount());
+                    }
+                }
+                assertEquals(expected, actual, expression + " @ " + String.join(" ", window));
+            }
+        }
+    }
+
+    @Test
+    void testDensity_RejectsInvalidRequests() {
+        assertThrows(IllegalArgumentException.class,
+                () -> densityService.density("0 0 4 * * ?", "UTC", "2024-01-01 00:00:00", null, 0, "DAY"));
+        assertThrows(IllegalArgumentException.class,
+                () -> densityService.density("0 0 4 * * ?", "UTC", "2024-01-01 00:00:00", "2026-01-01 00:00:00", null, "DAY"));
+        assertThrows(IllegalArgumentException.class,
+                () -> densityService.density("0 0 4 * * ?", "UTC", "2024-01-01 00:00:00", null, 7, "MINUTE"));
+        assertThrows(IllegalArgumentException.class,
+                () -> densityService.density("invalid", "UTC", "2024-01-01 00:00:00", null, 7, "DAY"));
+    }
+
+    // 用 cron-utils 逐次枚举作为对照
+    private Map<String, Long> enumerate(String expression, String timezone, String from, String to) {
+        ZoneId zoneId = ZoneId.of(timezone);
+        Iterator<ZonedDateTime> times = cronService.fireTimes(expression,
+                CronService.parseTime(from, zoneId), CronService.parseTime(to, zoneId), "CRON_UTILS");
+        DateTimeFormatter hourFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00");
+        Map<String, Long> counts = new LinkedHashMap<>();
+        while (times.hasNext()) {
+            counts.merge(times.next().format(hourFormatter), 1L, Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,178 @@
+package com.crontools.app.service;
+
+import com.cronutils.model.CronType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionFileValidatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CronService cronService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        cronService = new CronService();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "cron", ".txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String run(ExpressionFileValidator validator, Path file, String type, boolean errorsOnly) throws IOException {
+        StringWriter out = new StringWriter();
+        validator.validate(file, type, null, errorsOnly, out);
+        return out.toString();
+    }
+
+    @Test
+    void testValidate_CrontabWithCommentsAndCommands() throws IOException {
+        Path file = write("﻿# 备份任务\r\n"
+                + "MAILTO=ops@example.com\r\n"
+                + "\r\n"
+                + "*/5 * * * * /usr/bin/backup --full\r\n"
+                + "   # 缩进的注释\n"
+                + "0 25 * * * /usr/bin/broken\n"
+                + "30 9 * * 1-5 report.sh");
+        ExpressionFileValidator validator = new ExpressionFileValidator(cronService, executor);
+
+        String report = run(validator, file, "UNIX", false);
+
+        String[] lines = report.split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("4\tOK\t" + cronService.parseCronToHuman("*/5 * * * *", "UNIX"), lines[0]);
+        assertTrue(lines[1].startsWith("6\tERROR\t无效的 Cron 表达式: "), lines[1]);
+        assertEquals("7\tOK\t" + cronService.parseCronToHuman("30 9 * * 1-5", "UNIX"), lines[2]);
+        // 汇总行在报告最后
+        assertTrue(report.endsWith("# lines=7 expressions=3 valid=2 invalid=1 skipped=4\n"));
+    }
+
+    @Test
+    void testValidate_QuartzYearAndJobName() throws IOException {
+        Path file = write("0 0 4 * * ? nightly-cleanup\n"
+                + "0 0 4 * * ? 2030 yearly-report\n"
+                + "0 0 4 * * ? 2030\n"
+                + "@daily\n");
+        ExpressionFileValidator validator = new ExpressionFileValidator(cronService, executor);
+
+        String[] lines = run(validator, file, "QUARTZ", false).split("\n");
+
+        assertEquals("1\tOK\t" + cronService.parseCronToHuman("0 0 4 * * ?"), lines[0]);
+        assertEquals("2\tOK\t" + cronService.parseCronToHuman("0 0 4 * * ? 2030"), lines[1]);
+        assertEquals("3\tOK\t" + cronService.parseCronToHuman("0 0 4 * * ? 2030"), lines[2]);
+        // 昵称按在线接口的规则处理
+        assertTrue(lines[3].startsWith("4\tERROR\t"), lines[3]);
+        assertEquals("# lines=4 expressions=4 valid=3 invalid=1 skipped=0", lines[4]);
+    }
+
+    @Test
+    void testValidate_ChunksMatchSequentialReport() throws IOException {
+        Random random = new Random(42);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            switch (random.nextInt(6)) {
+                case 0 -> lines.add("# comment " + i);
+                case 1 -> lines.add("");
+                case 2 -> lines.add("0 " + random.nextInt(60) + " " + random.nextInt(30) + " * * ? job-" + i);
+                default -> lines.add("0 " + random.nextInt(60) + " " + random.nextInt(24) + " ? * MON-FRI job-" + i);
+            }
+        }
+        Path file = write(String.join("\n", lines) + "\n");
+
+        // 小窗口与小块迫使行跨越窗口和块的边界
+        ExpressionFileValidator chunked = new ExpressionFileValidator(cronService, executor, 4096, 256, 8);
+        ExpressionFileValidator sequential = new ExpressionFileValidator(cronService, Runnable::run, 1 << 26, 1 << 26, 1);
+
+        String expected = run(sequential, file, "QUARTZ", false);
+        assertEquals(expected, run(chunked, file, "QUARTZ", false));
+
+        // 小时为 24-29 的行无效，行号与输入一一对应
+        String[] reportLines = expected.split("\n");
+        for (int i = 0; i < reportLines.length - 1; i++) {
+            String[] columns = reportLines[i].split("\t");
+            String source = lines.get(Integer.parseInt(columns[0]) - 1);
+            assertEquals(!source.contains(" ? * MON-FRI") && Integer.parseInt(source.split(" ")[2]) >= 24, columns[1].equals("ERROR"), source);
+        }
+    }
+
+    @Test
+    void testValidate_ErrorsOnly() throws IOException {
+        Path file = write("0 0 4 * * ?\n0 0 25 * * ?\n0 0 5 * * ?\n");
+        ExpressionFileValidator validator = new ExpressionFileValidator(cronService, executor);
+
+        String[] lines = run(validator, file, "QUARTZ", true).split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("2\tERROR\t"));
+        assertEquals("# lines=3 expressions=3 valid=2 invalid=1 skipped=0", lines[1]);
+    }
+
+    @Test
+    void testValidate_LineLongerThanWindow() throws IOException {
+        Path file = write("0 0 4 * * ? " + "x".repeat(200) + "\n0 0 5 * * ?\n");
+        ExpressionFileValidator validator = new ExpressionFileValidator(cronService, executor, 64, 16, 4);
+
+        assertThrows(IOException.class, () -> run(validator, file, "QUARTZ", false));
+    }
+
+    @Test
+    void testValidate_UnsupportedOptions() throws IOException {
+        Path file = write("0 0 4 * * ?\n");
+        ExpressionFileValidator validator = new ExpressionFileValidator(cronService, executor);
+
+        assertThrows(IllegalArgumentException.class, () -> run(validator, file, "JENKINS", false));
+        assertThrows(IllegalArgumentException.class, () -> validator.checkOptions("QUARTZ", "fr"));
+    }
+
+    @Test
+    void testSpool() throws IOException {
+        ExpressionFileValidator validator = new ExpressionFileValidator(cronService, executor);
+        byte[] content = "0 0 4 * * ?\n".getBytes(StandardCharsets.UTF_8);
+
+        Path spooled = validator.spool(new ByteArrayInputStream(content), 1024);
+        try {
+            assertArrayEquals(content, Files.readAllBytes(spooled));
+        } finally {
+            Files.delete(spooled);
+        }
+        assertThrows(IllegalArgumentException.class, () -> validator.spool(new ByteArrayInputStream(content), 4));
+    }
+
+    @Test
+    void testExtractExpression() {
+        assertNull(ExpressionFileValidator.extractExpression("   ", CronType.UNIX));
+        assertNull(ExpressionFileValidator.extractExpression("# 0 0 * * *", CronType.UNIX));
+        assertNull(ExpressionFileValidator.extractExpression("SHELL=/bin/bash", CronType.UNIX));
+        assertEquals("*/5 * * * *", ExpressionFileValidator.extractExpression("*/5  *\t* * *  /usr/bin/run -x", CronType.UNIX));
+        assertEquals("0 0 4 * * ?", ExpressionFileValidator.extractExpression("0 0 4 * * ? job", CronType.QUARTZ));
+        assertEquals("0 0 4 * * ? 2025-2030", ExpressionFileValidator.extractExpression("0 0 4 * * ? 2025-2030 job", CronType.QUARTZ));
+        assertEquals("0 0 4 * * *", ExpressionFileValidator.extractExpression("0 0 4 * * * 2030", CronType.SPRING));
+        assertEquals("@daily", ExpressionFileValidator.extractExpression("@daily /usr/bin/run", CronType.UNIX));
+    }
+}
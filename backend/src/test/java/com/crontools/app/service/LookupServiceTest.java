@@ -0,0 +1,86 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.LookupItemRequest;
+import com.crontools.app.model.LookupItemResponse;
+import com.crontools.app.model.MatchResponse;
+import com.crontools.app.model.PreviousTimesResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupServiceTest {
+
+    private LookupService lookupService;
+
+    @BeforeEach
+    void setUp() {
+        lookupService = new LookupService(new CronService());
+    }
+
+    @Test
+    void testMatches_ExactSecond() {
+        MatchResponse hit = lookupService.matches("0 17 3 * * ?", "QUARTZ", "UTC", "2024-05-01 03:17:00");
+        assertTrue(hit.isMatches());
+        assertEquals("2024-05-01 03:17:00 (UTC)", hit.getAt());
+
+        assertFalse(lookupService.matches("0 17 3 * * ?", "QUARTZ", "UTC", "2024-05-01 03:17:01").isMatches());
+        // 带偏移量的时间换算到 tz 后再判断
+        assertTrue(lookupService.matches("0 17 3 * * ?", "QUARTZ", "Asia/Shanghai", "2024-04-30T19:17:00Z").isMatches());
+    }
+
+    @Test
+    void testMatches_UnixFiresAtSecondZero() {
+        assertTrue(lookupService.matches("17 3 * * *", "UNIX", "UTC", "2024-05-01 03:17:00").isMatches());
+        assertFalse(lookupService.matches("17 3 * * *", "UNIX", "UTC", "2024-05-01 03:17:30").isMatches());
+    }
+
+    @Test
+    void testPrevious_BothEnginesAgree() {
+        PreviousTimesResponse bitset = lookupService.previous("0 0 0 L * ?", null, "UTC", "2024-03-15 00:00:00", 3, "BITSET");
+        PreviousTimesResponse cronUtils = lookupService.previous("0 0 0 L * ?", null, "UTC", "2024-03-15 00:00:00", 3, "CRON_UTILS");
+
+        assertEquals(Arrays.asList(
+                "2024-02-29 00:00:00 (UTC)",
+                "2024-01-31 00:00:00 (UTC)",
+                "2023-12-31 00:00:00 (UTC)"), bitset.getPreviousTimes());
+        assertEquals(bitset.getPreviousTimes(), cronUtils.getPreviousTimes());
+    }
+
+    @Test
+    void testPrevious_StrictlyBefore() {
+        PreviousTimesResponse response = lookupService.previous("0 17 3 * * ?", null, "UTC", "2024-05-01 03:17:00", 1, "BITSET");
+        assertEquals(List.of("2024-04-30 03:17:00 (UTC)"), response.getPreviousTimes());
+    }
+
+    @Test
+    void testLookup_Batch() {
+        List<LookupItemResponse> responses = lookupService.lookup(Arrays.asList(
+                new LookupItemRequest("0 17 3 * * ?", null, "UTC", "2024-05-01 03:17:00", 2),
+                new LookupItemRequest("*/10 * * * *", "UNIX", "UTC", "2024-05-01 03:15:00", 0),
+                new LookupItemRequest("invalid", null, "UTC", "2024-05-01 03:17:00", 0),
+                new LookupItemRequest("0 17 3 * * ?", null, "UTC", null, 0),
+                null));
+
+        assertEquals(5, responses.size());
+        assertTrue(responses.get(0).isMatches());
+        assertEquals(Arrays.asList("2024-04-30 03:17:00 (UTC)", "2024-04-29 03:17:00 (UTC)"), responses.get(0).getPreviousTimes());
+        assertTrue(responses.get(1).isValid());
+        assertFalse(responses.get(1).isMatches());
+        assertNull(responses.get(1).getPreviousTimes());
+        assertFalse(responses.get(2).isValid());
+        assertFalse(responses.get(3).isValid());
+        assertEquals("必须指定查询时间 at", responses.get(3).getMessage());
+        assertFalse(responses.get(4).isValid());
+        assertEquals(4, responses.get(4).getIndex());
+    }
+
+    @Test
+    void testLookup_Empty() {
+        assertThrows(IllegalArgumentException.class, () -> lookupService.lookup(Collections.emptyList()));
+    }
+}
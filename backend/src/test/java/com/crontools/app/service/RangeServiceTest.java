@@ -0,0 +1,118 @@
+package com.crontools.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeServiceTest {
+
+    private RangeService rangeService;
+
+    @BeforeEach
+    void setUp() {
+        rangeService = new RangeService(new CronService());
+    }
+
+    @Test
+    void testOpen_WindowIsHalfOpen() {
+        FireTimePage page = rangeService.open("0 0 4 * * ?", "Asia/Shanghai",
+                "2024-01-01 04:00:00", "2024-01-04 04:00:00", null, null, null);
+
+        assertEquals(List.of("2024-01-01T04:00+08:00[Asia/Shanghai]", "2024-01-02T04:00+08:00[Asia/Shanghai]",
+                "2024-01-03T04:00+08:00[Asia/Shanghai]"), drain(page.getTimes(), 10));
+    }
+
+    @Test
+    void testOpen_CursorResumesAfterLastTime() {
+        String expr = "*/10 * * * * ?";
+        FireTimePage first = rangeService.open(expr, "UTC", "2024-01-01T00:00:00", "2024-01-01T00:01:00", null, 2, "BITSET");
+        List<String> firstPage = drain(first.getTimes(), first.getLimit());
+        String cursor = first.cursorAfter(ZonedDateTime.parse(firstPage.get(firstPage.size() - 1)));
+
+        FireTimePage second = rangeService.open(expr, "UTC", "2024-01-01T00:00:00", "2024-01-01T00:01:00", cursor, 10, "BITSET");
+
+        assertEquals(List.of("2024-01-01T00:00Z[UTC]", "2024-01-01T00:00:10Z[UTC]"), firstPage);
+        assertEquals(List.of("2024-01-01T00:00:20Z[UTC]", "2024-01-01T00:00:30Z[UTC]", "2024-01-01T00:00:40Z[UTC]",
+                "2024-01-01T00:00:50Z[UTC]"), drain(second.getTimes(), 10));
+    }
+
+    @Test
+    void testOpen_EnginesEnumerateTheSameTimes() {
+        String expr = "0 */20 1-2 * * ?";
+        String from = "2024-11-02 12:00:00";
+        String to = "2024-11-04 12:00:00";
+        List<String> cronUtils = drain(rangeService.open(expr, "America/New_York", from, to, null, null, "CRON_UTILS").getTimes(), 100);
+        List<String> bitset = drain(rangeService.open(expr, "America/New_York", from, to, null, null, "BITSET").getTimes(), 100);
+
+        assertFalse(cronUtils.isEmpty());
+        assertEquals(cronUtils, bitset);
+    }
+
+    @Test
+    void testOpen_RejectsInvalidRequests() {
+        assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open("0 0 4 * * ?", "UTC", "2024-01-02 00:00:00", "2024-01-01 00:00:00", null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open("0 0 4 * * ?", "UTC", "2024-01-01 00:00:00", null, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open("invalid", "UTC", "2024-01-01 00:00:00", "2024-01-02 00:00:00", null, null, null));
+
+        String cursor = rangeService.open("0 0 4 * * ?", "UTC", "2024-01-01 00:00:00", "2024-01-09 00:00:00", null, 1, null)
+                .cursorAfter(ZonedDateTime.parse("2024-01-01T04:00Z[UTC]"));
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open("0 0 5 * * ?", "UTC", "2024-01-01 00:00:00", "2024-01-09 00:00:00", cursor, null, null));
+        assertTrue(exception.getMessage().contains("游标"));
+    }
+
+    @Test
+    void testOpen_CursorBoundToWindow() {
+        String expr = "0 0 4 * * ?";
+        String cursor = rangeService.open(expr, "UTC", "2024-01-01 00:00:00", "2024-01-09 00:00:00", null, 1, null)
+                .cursorAfter(ZonedDateTime.parse("2024-01-01T04:00Z[UTC]"));
+
+        // 等价写法共用规范形式的指纹，可以续传
+        assertEquals(List.of("2024-01-02T04:00Z[UTC]"), drain(rangeService.open("0 0 4 ? * *", "UTC",
+                "2024-01-01 00:00:00", "2024-01-09 00:00:00", cursor, 1, null).getTimes(), 1));
+
+        // 换了窗口或时区的游标不能重放
+        Exception window = assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open(expr, "UTC", "2024-01-01 00:00:00", "2024-02-01 00:00:00", cursor, null, null));
+        assertEquals("游标与当前表达式、时区或时间窗口不匹配", window.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open(expr, "UTC", "2023-12-01 00:00:00", "2024-01-09 00:00:00", cursor, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open(expr, "Asia/Shanghai", "2024-01-01 00:00:00", "2024-01-09 00:00:00", cursor, null, null));
+
+        // 指纹匹配但位置落在 [from, to) 之外
+        String fingerprint = fingerprintOf(cursor);
+        String before = RangeService.encodeCursor(fingerprint, ZonedDateTime.parse("2023-12-31T04:00Z").toEpochSecond());
+        String after = RangeService.encodeCursor(fingerprint, ZonedDateTime.parse("2024-01-09T00:00Z").toEpochSecond());
+        Exception outside = assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open(expr, "UTC", "2024-01-01 00:00:00", "2024-01-09 00:00:00", before, null, null));
+        assertEquals("游标不在 [from, to) 窗口内", outside.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> rangeService.open(expr, "UTC", "2024-01-01 00:00:00", "2024-01-09 00:00:00", after, null, null));
+    }
+
+    // 去掉版本号与末尾的时间点
+    private static String fingerprintOf(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        return raw.substring(raw.indexOf(':') + 1, raw.lastIndexOf(':'));
+    }
+
+    private static List<String> drain(Iterator<ZonedDateTime> times, int max) {
+        List<String> result = new ArrayList<>();
+        while (result.size() < max && times.hasNext()) {
+            result.add(times.next().toString());
+        }
+        return result;
+    }
+}
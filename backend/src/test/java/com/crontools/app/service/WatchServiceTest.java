@@ -0,0 +1,433 @@
+package com.crontools.app.service;
+
+import com.crontools.app.model.WatchEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchServiceTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
+    private CronService cronService;
+    private WatchService watchService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:30Z"));
+        registry = new SimpleMeterRegistry();
+        cronService = new CronService(100, registry);
+        ReflectionTestUtils.setField(cronService, "defaultTimezone", "Asia/Shanghai");
+        // 定时线程为空：由测试推进时钟并调用 fireDue，推送在调用线程上同步完成
+        watchService = new WatchService(cronService, clock, Runnable::run, null, registry);
+    }
+
+    @Test
+    void testSubscribe_InitialThenRollover() {
+        RecordingListener listener = new RecordingListener();
+        watchService.subscribe(List.of("0 * * * * ?", "0 0 4 * * ?"), "QUARTZ", "UTC", null, listener);
+
+        assertEquals(2, listener.events.size());
+        WatchEvent first = listener.events.get(0);
+        assertEquals(0, first.getIndex());
+        assertEquals("0 * * * * ?", first.getExpr());
+        assertNull(first.getFiredTime());
+        assertEquals("2024-01-01 00:01:00 (UTC)", first.getNextTime());
+        assertEquals(Instant.parse("2024-01-01T00:01:00Z").toEpochMilli(), first.getNextEpochMillis());
+        assertEquals("2024-01-01 04:00:00 (UTC)", listener.events.get(1).getNextTime());
+
+        // 未到期不推送
+        clock.set(Instant.parse("2024-01-01T00:00:59Z"));
+        assertEquals(0, watchService.fireDue());
+        assertEquals(2, listener.events.size());
+
+        clock.set(Instant.parse("2024-01-01T00:01:00Z"));
+        assertEquals(1, watchService.fireDue());
+        WatchEvent rollover = listener.events.get(2);
+        assertEquals(0, rollover.getIndex());
+        assertEquals("2024-01-01 00:01:00 (UTC)", rollover.getFiredTime());
+        assertEquals("2024-01-01 00:02:00 (UTC)", rollover.getNextTime());
+        assertEquals(3, listener.events.size());
+    }
+
+    @Test
+    void testFireDue_SkipsMissedFireTimes() {
+        RecordingListener listener = new RecordingListener();
+        watchService.subscribe(List.of("0 * * * * ?"), "QUARTZ", "UTC", null, listener);
+
+        // 定时线程迟到了几分钟：只推送一次，下一次执行时间晚于当前时间
+        clock.set(Instant.parse("2024-01-01T00:05:10Z"));
+        assertEquals(1, watchService.fireDue());
+        WatchEvent rollover = listener.events.get(1);
+        assertEquals("2024-01-01 00:01:00 (UTC)", rollover.getFiredTime());
+        assertEquals("2024-01-01 00:06:00 (UTC)", rollover.getNextTime());
+    }
+
+    @Test
+    void testSubscribe_SharesScheduleAcrossConnections() {
+        RecordingListener a = new RecordingListener();
+        RecordingListener b = new RecordingListener();
+        watchService.subscribe(List.of("0 * * * * ?"), null, "UTC", null, a);
+        watchService.subscribe(List.of("0  *  * * * ?", "0 0 4 * * ?"), "quartz", "UTC", null, b);
+        // 不同时区是不同的调度项
+        watchService.subscribe(List.of("0 * * * * ?"), null, "Asia/Shanghai", null, new RecordingListener());
+
+        assertEquals(3, registry.get("cron.watch.connections").gauge().value());
+        assertEquals(4, registry.get("cron.watch.subscriptions").gauge().value());
+        assertEquals(3, registry.get("cron.watch.schedules").gauge().value());
+
+        clock.set(Instant.parse("2024-01-01T00:01:00Z"));
+        assertEquals(2, watchService.fireDue());
+        assertEquals("2024-01-01 00:02:00 (UTC)", a.events.get(1).getNextTime());
+        assertEquals(0, b.events.get(2).getIndex());
+        assertEquals("0  *  * * * ?", b.events.get(2).getExpr());
+        assertEquals("2024-01-01 00:02:00 (UTC)", b.events.get(2).getNextTime());
+    }
+
+    @Test
+    void testSubscribe_EquivalentSpellingsShareSchedule() {
+        RecordingListener a = new RecordingListener();
+        RecordingListener b = new RecordingListener();
+        watchService.subscribe(List.of("0 0 12 ? * MON-FRI"), null, "UTC", null, a);
+        watchService.subscribe(List.of("0 0 12 ? * 2-6", "0 0 12 ? * mon,tue,wed,thu,fri"), null, "UTC", null, b);
+
+        assertEquals(3, registry.get("cron.watch.subscriptions").gauge().value());
+        assertEquals(1, registry.get("cron.watch.schedules").gauge().value());
+
+        clock.set(Instant.parse("2024-01-01T12:00:00Z"));
+        assertEquals(1, watchService.fireDue());
+        // 每个订阅者收到的仍是自己的写法
+        assertEquals("0 0 12 ? * MON-FRI", a.events.get(1).getExpr());
+        assertEquals(List.of("0 0 12 ? * 2-6", "0 0 12 ? * mon,tue,wed,thu,fri"),
+                b.events.subList(2, 4).stream().map(WatchEvent::getExpr).sorted().toList());
+        assertEquals("2024-01-02 12:00:00 (UTC)", b.events.get(3).getNextTime());
+    }
+
+    @Test
+    void testClose_StopsEventsAndDropsUnusedSchedules() {
+        RecordingListener a = new RecordingListener();
+        RecordingListener b = new RecordingListener();
+        WatchService.Subscription first = watchService.subscribe(List.of("0 * * * * ?"), null, "UTC", null, a);
+        WatchService.Subscription second = watchService.subscribe(List.of("0 * * * * ?"), null, "UTC", null, b);
+
+        first.close();
+        first.close();
+        assertTrue(first.isClosed());
+        assertEquals(1, registry.get("cron.watch.schedules").gauge().value());
+        clock.set(Instant.parse("2024-01-01T00:01:00Z"));
+        watchService.fireDue();
+        assertEquals(1, a.events.size());
+        assertEquals(2, b.events.size());
+
+        second.close();
+        assertEquals(0, registry.get("cron.watch.schedules").gauge().value());
+        assertEquals(0, registry.get("cron.watch.subscriptions").gauge().value());
+        clock.set(Instant.parse("2024-01-01T00:02:00Z"));
+        assertEquals(0, watchService.fireDue());
+    }
+
+    @Test
+    void testListenerFailureClosesSubscription() {
+        RecordingListener listener = new RecordingListener();
+        WatchService.Subscription subscription = watchService.subscribe(List.of("0 * * * * ?"), null, "UTC", null, listener);
+
+        listener.failing = true;
+        clock.set(Instant.parse("2024-01-01T00:01:00Z"));
+        watchService.fireDue();
+        assertTrue(subscription.isClosed());
+        assertEquals("Broken pipe", listener.failure.getMessage());
+        assertEquals(0, registry.get("cron.watch.connections").gauge().value());
+
+        RecordingListener other = new RecordingListener();
+        WatchService.Subscription alive = watchService.subscribe(List.of("0 * * * * ?"), null, "UTC", null, other);
+        other.failing = true;
+        watchService.heartbeat();
+        assertTrue(alive.isClosed());
+    }
+
+    @Test
+    void testRejectedDrainClosesOnlyThatSubscriber() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        WatchService full = new WatchService(cronService, clock, task -> {
+            throw new RejectedExecutionException("full");
+        }, null, meters);
+        RecordingListener listener = new RecordingListener();
+        WatchService.Subscription subscription = full.subscribe(List.of("0 * * * * ?"), null, "UTC", null, listener);
+        RecordingListener idle = new RecordingListener();
+        WatchService.Subscription untouched = full.subscribe(List.of("0 0 4 * * ?"), null, "UTC", null, idle);
+
+        // 写入任务被拒绝时不在定时线程上执行，错过翻转的订阅者被关闭以便重连
+        clock.set(Instant.parse("2024-01-01T00:01:00Z"));
+        assertEquals(1, full.fireDue());
+        assertEquals(1, listener.events.size());
+        assertTrue(subscription.isClosed());
+        assertEquals("推送队列已满，请重新连接", listener.failure.getMessage());
+        assertEquals(1, meters.get("cron.watch.rejected").counter().count());
+        assertFalse(untouched.isClosed());
+        assertNull(idle.failure);
+    }
+
+    @Test
+    void testBlockedSubscriberDoesNotDelayOthers() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            WatchService service = new WatchService(cronService, clock, pool, null, new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(service, "outboxCapacity", 2);
+            CountDownLatch release = new CountDownLatch(1);
+            BlockingListener stuck = new BlockingListener(release);
+            WatchService.Subscription blocked = service.subscribe(List.of("0 * * * * ?"), null, "UTC", null, stuck);
+            List<CountingListener> others = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                CountingListener listener = new CountingListener(3);
+                others.add(listener);
+                service.subscribe(List.of("0 * * * * ?"), null, "UTC", null, listener);
+            }
+
+            // 第一个连接停止接收后，其余连接照常收到之后的每次翻转
+            for (int minute = 1; minute <= 3; minute++) {
+                clock.set(Instant.parse("2024-01-01T00:0" + minute + ":00Z"));
+                assertEquals(1, service.fireDue());
+            }
+            for (CountingListener listener : others) {
+                assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+            }
+            assertTrue(stuck.writing.await(5, TimeUnit.SECONDS));
+            assertFalse(blocked.isClosed());
+
+            // 积压超过 表达式数 + outbox-capacity 后只关闭这一个连接，写入返回后才通知接收方
+            for (int minute = 4; minute <= 6; minute++) {
+                clock.set(Instant.parse("2024-01-01T00:0" + minute + ":00Z"));
+                service.fireDue();
+            }
+            assertTrue(blocked.isClosed());
+            assertNull(stuck.failure);
+            assertTrue(others.stream().allMatch(listener -> listener.failure == null));
+            release.countDown();
+            assertTrue(stuck.failed.await(5, TimeUnit.SECONDS));
+            assertEquals("客户端接收过慢", stuck.failure.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHeartbeatDropsWriteExceedingTimeout() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            WatchService service = new WatchService(cronService, clock, pool, null, new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(service, "writeTimeoutMillis", 0L);
+            CountDownLatch release = new CountDownLatch(1);
+            BlockingListener stuck = new BlockingListener(release);
+            WatchService.Subscription subscription = service.subscribe(List.of("0 * * * * ?"), null, "UTC", null, stuck);
+
+            clock.set(Instant.parse("2024-01-01T00:01:00Z"));
+            service.fireDue();
+            assertTrue(stuck.writing.await(5, TimeUnit.SECONDS));
+            // 定时线程不等待阻塞中的写入：立即注销，写入返回后才通知接收方
+            service.heartbeat();
+            assertTrue(subscription.isClosed());
+            assertNull(stuck.failure);
+
+            release.countDown();
+            assertTrue(stuck.failed.await(5, TimeUnit.SECONDS));
+            assertEquals("客户端接收过慢", stuck.failure.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSubscribe_Validation() {
+        RecordingListener listener = new RecordingListener();
+        IllegalArgumentException invalid = assertThrows(IllegalArgumentException.class, () ->
+                watchService.subscribe(List.of("0 * * * * ?", "invalid"), null, "UTC", null, listener));
+        assertTrue(invalid.getMessage().startsWith("无法计算执行时间"), invalid.getMessage());
+        assertTrue(listener.events.isEmpty());
+        assertEquals(0, registry.get("cron.watch.subscriptions").gauge().value());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                watchService.subscribe(List.of(), null, "UTC", null, listener));
+        assertThrows(IllegalArgumentException.class, () ->
+                watchService.subscribe(List.of("0 * * * * ?"), null, "UTC", "fast", listener));
+
+        ReflectionTestUtils.setField(watchService, "maxExpressions", 2);
+        IllegalArgumentException tooMany = assertThrows(IllegalArgumentException.class, () ->
+                watchService.subscribe(List.of("0 * * * * ?", "0 0 * * * ?", "0 0 4 * * ?"), null, "UTC", null, listener));
+        assertEquals("单个连接最多订阅 2 个表达式，实际 3 个", tooMany.getMessage());
+
+        ReflectionTestUtils.setField(watchService, "maxSubscriptions", 3);
+        watchService.subscribe(List.of("0 * * * * ?", "0 0 * * * ?"), null, "UTC", null, listener);
+        IllegalArgumentException full = assertThrows(IllegalArgumentException.class, () ->
+                watchService.subscribe(List.of("0 * * * * ?", "0 0 * * * ?"), null, "UTC", null, listener));
+        assertEquals("订阅数已达上限 3", full.getMessage());
+    }
+
+    @Test
+    void testExpressionWithoutFurtherFireTimes() {
+        RecordingListener listener = new RecordingListener();
+        watchService.subscribe(List.of("0 1 0 1 1 ? 2024"), null, "UTC", null, listener);
+
+        clock.set(Instant.parse("2024-01-01T00:01:00Z"));
+        assertEquals(1, watchService.fireDue());
+        WatchEvent last = listener.events.get(1);
+        assertEquals("2024-01-01 00:01:00 (UTC)", last.getFiredTime());
+        assertNull(last.getNextTime());
+        assertNull(last.getNextEpochMillis());
+
+        clock.set(Instant.parse("2025-01-01T00:01:00Z"));
+        assertEquals(0, watchService.fireDue());
+    }
+
+    @Test
+    void testManyConnectionsComputeOncePerSchedule() {
+        List<RecordingListener> listeners = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            RecordingListener listener = new RecordingListener();
+            listeners.add(listener);
+            watchService.subscribe(List.of("0 " + (i % 60) + " * * * ?", "0 * * * * ?"), null, "UTC", null, listener);
+        }
+        assertEquals(20_000, registry.get("cron.watch.subscriptions").gauge().value());
+        assertEquals(61, registry.get("cron.watch.schedules").gauge().value());
+        long computedAtSubscribe = nextIterations();
+        assertEquals(61, computedAtSubscribe);
+
+        clock.set(Instant.parse("2024-01-01T00:01:00Z"));
+        assertEquals(2, watchService.fireDue());
+        assertEquals(computedAtSubscribe + 2, nextIterations());
+        // 每分钟一次的表达式推给所有连接，"0 1 * * * ?" 推给订阅它的 167 个连接
+        assertEquals(20_000 + 10_000 + 167, registry.get("cron.watch.events").counter().count());
+        assertEquals(3, listeners.get(9_999).events.size());
+        assertEquals("2024-01-01 00:02:00 (UTC)", listeners.get(9_999).events.get(2).getNextTime());
+        assertEquals(List.of("2024-01-01 00:02:00 (UTC)", "2024-01-01 01:01:00 (UTC)"),
+                listeners.get(1).events.subList(2, 4).stream().map(WatchEvent::getNextTime).sorted().toList());
+    }
+
+    private long nextIterations() {
+        return registry.get("cron.next.iterate").timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    // 首批事件正常写出，第一次翻转时阻塞到 release
+    private static final class BlockingListener implements WatchService.Listener {
+        private final CountDownLatch release;
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch failed = new CountDownLatch(1);
+        private volatile Exception failure;
+
+        private BlockingListener(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onEvent(WatchEvent event) throws InterruptedException {
+            if (event.getFiredTime() != null) {
+                writing.countDown();
+                release.await();
+            }
+        }
+
+        @Override
+        public void onHeartbeat() {
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            failure = e;
+            failed.countDown();
+        }
+    }
+
+    private static final class CountingListener implements WatchService.Listener {
+        private final CountDownLatch received;
+        private volatile Exception failure;
+
+        private CountingListener(int rollovers) {
+            this.received = new CountDownLatch(rollovers);
+        }
+
+        @Override
+        public void onEvent(WatchEvent event) {
+            if (event.getFiredTime() != null) {
+                received.countDown();
+            }
+        }
+
+        @Override
+        public void onHeartbeat() {
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            failure = e;
+        }
+    }
+
+    private static final class RecordingListener implements WatchService.Listener {
+        private final List<WatchEvent> events = new ArrayList<>();
+        private boolean failing;
+        private volatile Exception failure;
+
+        @Override
+        public void onEvent(WatchEvent event) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void onHeartbeat() throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            failure = e;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}